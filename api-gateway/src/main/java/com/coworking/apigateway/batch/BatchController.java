@@ -0,0 +1,29 @@
+package com.coworking.apigateway.batch;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code POST /api/batch}: several API calls in one round trip. Handler
+ * mappings run before the gateway routes, so no route is needed.
+ */
+@RestController
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    public BatchController(BatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    @PostMapping(path = "/api/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BatchResponse> batch(@RequestBody BatchRequest request, @RequestHeader HttpHeaders headers) {
+        return batchExecutor.execute(request, headers);
+    }
+}
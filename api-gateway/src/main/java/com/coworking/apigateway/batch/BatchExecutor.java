@@ -0,0 +1,218 @@
+package com.coworking.apigateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the sub-requests of a batch concurrently, at most {@code concurrency}
+ * at a time, under one deadline for the whole batch. Each sub-request is
+ * sent back through this gateway, so it takes the same lb:// route,
+ * filters and blocked paths as a direct call.
+ */
+public class BatchExecutor {
+
+    private static final Set<HttpMethod> METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE, HttpHeaders.ACCEPT_LANGUAGE);
+    // Per sub-request headers; credentials and routing headers only come from the batch itself
+    private static final Set<String> ITEM_HEADERS = caseInsensitive(
+            HttpHeaders.ACCEPT, HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH,
+            HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_UNMODIFIED_SINCE);
+    private static final List<String> RETURNED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.LOCATION, HttpHeaders.CACHE_CONTROL);
+    private static final String BATCH_PATH = "/api/batch";
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final int concurrency;
+    private final Duration deadline;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private volatile String baseUrl;
+
+    public BatchExecutor(WebClient webClient, ObjectMapper objectMapper, int maxRequests, int concurrency,
+                         Duration deadline, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.concurrency = concurrency;
+        this.deadline = deadline;
+        this.batchTimer = Timer.builder("gateway.batch")
+                .description("Time to answer a whole batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("gateway.batch.size")
+                .description("Sub-requests per batch")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onWebServerInitialized(ReactiveWebServerInitializedEvent event) {
+        // The management server publishes the same event from its child context
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            return;
+        }
+        baseUrl = "http://127.0.0.1:" + event.getWebServer().getPort();
+    }
+
+    public Mono<BatchResponse> execute(BatchRequest request, HttpHeaders headers) {
+        validate(request);
+        Duration timeout = request.timeoutMs() != null && request.timeoutMs() > 0
+                && Duration.ofMillis(request.timeoutMs()).compareTo(deadline) < 0
+                ? Duration.ofMillis(request.timeoutMs()) : deadline;
+
+        HttpHeaders forwarded = new HttpHeaders();
+        FORWARDED_HEADERS.forEach(name -> {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                forwarded.addAll(name, values);
+            }
+        });
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long deadlineNanos = start + timeout.toNanos();
+            return Flux.fromIterable(request.requests())
+                    .flatMapSequential(item -> Mono.defer(() -> execute(item, forwarded, deadlineNanos)), concurrency)
+                    .collectList()
+                    .map(items -> {
+                        long elapsed = System.nanoTime() - start;
+                        batchTimer.record(Duration.ofNanos(elapsed));
+                        batchSize.record(items.size());
+                        return new BatchResponse(items, elapsed / 1_000_000);
+                    });
+        });
+    }
+
+    private Mono<BatchResponse.Item> execute(BatchRequest.Item item, HttpHeaders forwarded, long deadlineNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            return Mono.just(failure(item, HttpStatus.GATEWAY_TIMEOUT));
+        }
+
+        WebClient.RequestBodySpec spec = webClient.method(HttpMethod.valueOf(item.method().toUpperCase()))
+                .uri(URI.create(baseUrl + item.path()))
+                .headers(target -> {
+                    target.addAll(forwarded);
+                    if (item.headers() != null) {
+                        item.headers().forEach(target::set);
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> exchange = item.body() != null && !item.body().isNull()
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue(item.body())
+                : spec;
+
+        return exchange.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .map(bytes -> body(bytes, response.headers().contentType().orElse(null)))
+                        .defaultIfEmpty(objectMapper.nullNode())
+                        .map(body -> new BatchResponse.Item(item.id(), response.statusCode().value(),
+                                returnedHeaders(response.headers().asHttpHeaders()), body)))
+                .timeout(Duration.ofNanos(remaining))
+                .onErrorResume(TimeoutException.class, e -> Mono.just(failure(item, HttpStatus.GATEWAY_TIMEOUT)))
+                // Connection failures and oversized bodies
+                .onErrorResume(e -> Mono.just(failure(item, HttpStatus.BAD_GATEWAY)));
+    }
+
+    private void validate(BatchRequest request) {
+        if (request == null || request.requests() == null || request.requests().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch needs at least one request");
+        }
+        if (request.requests().size() > maxRequests) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch can hold at most " + maxRequests + " requests");
+        }
+        if (baseUrl == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Gateway is not ready");
+        }
+        // Responses are matched to requests by id
+        Set<String> ids = new HashSet<>();
+        for (BatchRequest.Item item : request.requests()) {
+            if (item.id() == null || !ids.add(item.id())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing or duplicate request id " + item.id());
+            }
+            if (item.path() == null || !item.path().startsWith("/") || !isTargetPath(item.path())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path in request " + item.id());
+            }
+            if (item.method() == null || !METHODS.contains(HttpMethod.valueOf(item.method().toUpperCase()))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid method in request " + item.id());
+            }
+            if (item.headers() != null) {
+                for (String name : item.headers().keySet()) {
+                    if (!ITEM_HEADERS.contains(name)) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Header " + name + " is not allowed in request " + item.id());
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isTargetPath(String path) {
+        try {
+            // Parsed as execute() will, so a malformed path fails the batch here rather than mid-flight
+            String normalized = URI.create(baseUrl + path).normalize().getPath();
+            return normalized != null && !normalized.startsWith(BATCH_PATH);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private JsonNode body(byte[] bytes, MediaType contentType) {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException e) {
+                // Fall through and return it as text
+            }
+        }
+        return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> returnedHeaders(HttpHeaders headers) {
+        Map<String, String> returned = new LinkedHashMap<>();
+        RETURNED_HEADERS.forEach(name -> {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                returned.put(name, value);
+            }
+        });
+        return returned;
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return set;
+    }
+
+    private static BatchResponse.Item failure(BatchRequest.Item item, HttpStatus status) {
+        return new BatchResponse.Item(item.id(), status.value(), Map.of(), null);
+    }
+}
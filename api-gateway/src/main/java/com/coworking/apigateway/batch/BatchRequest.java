@@ -0,0 +1,16 @@
+package com.coworking.apigateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sub-requests to run in one round trip. {@code timeoutMs} may shorten the
+ * configured deadline, never extend it.
+ */
+public record BatchRequest(List<Item> requests, Long timeoutMs) {
+
+    public record Item(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+    }
+}
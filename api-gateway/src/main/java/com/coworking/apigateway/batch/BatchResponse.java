@@ -0,0 +1,16 @@
+package com.coworking.apigateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One result per sub-request, in request order. Sub-requests that did not
+ * finish before the deadline have status 504, unreachable services 502.
+ */
+public record BatchResponse(List<Item> responses, long durationMs) {
+
+    public record Item(String id, int status, Map<String, String> headers, JsonNode body) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.coworking.apigateway.config;
+
+import com.coworking.apigateway.batch.BatchExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+@Configuration
+public class BatchConfig {
+    
+    @Bean
+    public BatchExecutor batchExecutor(
+            WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${coworking.batch.max-requests:50}") int maxRequests,
+            @Value("${coworking.batch.concurrency:8}") int concurrency,
+            @Value("${coworking.batch.deadline:5s}") Duration deadline,
+            @Value("${coworking.batch.max-response-size:1MB}") DataSize maxResponseSize,
+            MeterRegistry meterRegistry) {
+        WebClient webClient = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes()))
+                .build();
+        return new BatchExecutor(webClient, objectMapper, maxRequests, concurrency, deadline, meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.coworking.apigateway.config;
+
+import com.coworking.apigateway.discovery.EvictedInstances;
+import com.coworking.apigateway.discovery.RegistryChangesEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = EvictionAwareLoadBalancerConfiguration.class)
+public class DiscoveryConfig {
+    
+    @Bean
+    public EvictedInstances evictedInstances(
+            @Value("${coworking.discovery.eviction-max-age:5m}") Duration maxAge,
+            MeterRegistry meterRegistry) {
+        return new EvictedInstances(maxAge, meterRegistry);
+    }
+    
+    @Bean
+    public RegistryChangesEndpoint registryChangesEndpoint(EvictedInstances evictedInstances,
+                                                           ApplicationEventPublisher eventPublisher,
+                                                           @Value("${coworking.discovery.push-token:}") String token) {
+        return new RegistryChangesEndpoint(evictedInstances, eventPublisher, token);
+    }
+}
@@ -0,0 +1,26 @@
+package com.coworking.apigateway.config;
+
+import com.coworking.apigateway.discovery.EvictedInstances;
+import com.coworking.apigateway.discovery.EvictionAwareServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Per-service load balancer configuration, registered through
+ * {@link DiscoveryConfig}. Not a {@code @Configuration} so component
+ * scanning does not apply it to the application context.
+ */
+public class EvictionAwareLoadBalancerConfiguration {
+    
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(
+            ConfigurableApplicationContext context,
+            EvictedInstances evictedInstances) {
+        ServiceInstanceListSupplier cached = ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .build(context);
+        return new EvictionAwareServiceInstanceListSupplier(cached, evictedInstances);
+    }
+}
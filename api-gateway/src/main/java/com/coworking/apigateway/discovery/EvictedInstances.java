@@ -0,0 +1,89 @@
+package com.coworking.apigateway.discovery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instances the registry reported as gone before the local Eureka client
+ * has fetched the change. They are filtered out of load balancing until
+ * the discovery client no longer returns them.
+ * <p>
+ * Records the propagation time from deregistration on the server until
+ * the gateway stops routing to the instance, once for the push
+ * notification and once for the regular registry fetch.
+ */
+public class EvictedInstances {
+
+    private final Map<String, Long> canceledAt = new ConcurrentHashMap<>();
+    private final Duration maxAge;
+    private final Timer pushPropagation;
+    private final Timer fetchPropagation;
+
+    public EvictedInstances(Duration maxAge, MeterRegistry meterRegistry) {
+        this.maxAge = maxAge;
+        this.pushPropagation = Timer.builder("gateway.discovery.propagation")
+                .description("Time from deregistration until the gateway stops routing to the instance")
+                .tag("path", "push")
+                .register(meterRegistry);
+        this.fetchPropagation = Timer.builder("gateway.discovery.propagation")
+                .description("Time from deregistration until the gateway stops routing to the instance")
+                .tag("path", "fetch")
+                .register(meterRegistry);
+    }
+
+    public void evict(String serviceId, String instanceId, long canceledAtMillis) {
+        // A timestamp from the future would keep the eviction from ever aging out
+        canceledAtMillis = Math.min(canceledAtMillis, System.currentTimeMillis());
+        if (canceledAt.putIfAbsent(key(serviceId, instanceId), canceledAtMillis) == null) {
+            pushPropagation.record(elapsedSince(canceledAtMillis));
+        }
+    }
+
+    public void restore(String serviceId, String instanceId) {
+        canceledAt.remove(key(serviceId, instanceId));
+    }
+
+    public List<ServiceInstance> filter(String serviceId, List<ServiceInstance> instances) {
+        if (canceledAt.isEmpty()) {
+            return instances;
+        }
+
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        List<String> present = new ArrayList<>();
+        for (ServiceInstance instance : instances) {
+            String key = key(serviceId, instance.getInstanceId());
+            if (canceledAt.containsKey(key)) {
+                present.add(key);
+            } else {
+                available.add(instance);
+            }
+        }
+
+        // Evictions the discovery client has caught up with are no longer needed
+        String prefix = serviceId.toLowerCase(Locale.ROOT) + "/";
+        canceledAt.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix) || present.contains(entry.getKey())) {
+                return elapsedSince(entry.getValue()).compareTo(maxAge) > 0;
+            }
+            fetchPropagation.record(elapsedSince(entry.getValue()));
+            return true;
+        });
+        return available;
+    }
+
+    private static String key(String serviceId, String instanceId) {
+        return serviceId.toLowerCase(Locale.ROOT) + "/" + instanceId;
+    }
+
+    private static Duration elapsedSince(long epochMillis) {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - epochMillis));
+    }
+}
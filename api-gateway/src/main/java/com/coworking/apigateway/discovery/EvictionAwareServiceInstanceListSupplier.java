@@ -0,0 +1,29 @@
+package com.coworking.apigateway.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Drops instances that were pushed as deregistered from the cached
+ * instance list, so requests stop going to them without waiting for the
+ * next registry fetch and cache expiry.
+ */
+public class EvictionAwareServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final EvictedInstances evictedInstances;
+
+    public EvictionAwareServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                    EvictedInstances evictedInstances) {
+        super(delegate);
+        this.evictedInstances = evictedInstances;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(instances -> evictedInstances.filter(getServiceId(), instances));
+    }
+}
@@ -0,0 +1,46 @@
+package com.coworking.apigateway.discovery;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Receives instance changes pushed by the Eureka servers. Served on the
+ * management port only; when a push token is configured, pushes must carry
+ * the same token.
+ */
+@Endpoint(id = "registrychanges")
+public class RegistryChangesEndpoint {
+
+    private final EvictedInstances evictedInstances;
+    private final ApplicationEventPublisher eventPublisher;
+    private final byte[] token;
+
+    public RegistryChangesEndpoint(EvictedInstances evictedInstances, ApplicationEventPublisher eventPublisher,
+                                   String token) {
+        this.evictedInstances = evictedInstances;
+        this.eventPublisher = eventPublisher;
+        this.token = token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @WriteOperation
+    public void change(String action, String appName, String instanceId, long timestamp, @Nullable String token) {
+        if (this.token != null && (token == null
+                || !MessageDigest.isEqual(this.token, token.getBytes(StandardCharsets.UTF_8)))) {
+            throw new InvalidEndpointRequestException("Invalid push token", "Invalid push token");
+        }
+        switch (action) {
+            case "CANCELED" -> evictedInstances.evict(appName, instanceId, timestamp);
+            case "REGISTERED" -> evictedInstances.restore(appName, instanceId);
+            default -> throw new InvalidEndpointRequestException("Unknown action " + action, "Unknown action");
+        }
+        // Discovery locator routes follow the set of registered applications
+        eventPublisher.publishEvent(new RefreshRoutesEvent(this));
+    }
+}
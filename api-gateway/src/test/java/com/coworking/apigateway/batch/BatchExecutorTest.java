@@ -0,0 +1,205 @@
+package com.coworking.apigateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BatchExecutorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ClientRequest> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void execute_WithInvalidItems_ShouldRejectTheWholeBatch() {
+        // Arrange
+        BatchExecutor executor = started(respondAfter(Map.of()), 4, Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertBadRequest(executor, batch());
+        assertBadRequest(executor, batch(item(null, "GET", "/api/spaces")));
+        assertBadRequest(executor, batch(item("a", "GET", "/api/spaces"), item("a", "GET", "/api/users")));
+        assertBadRequest(executor, batch(item("a", "GET", "api/spaces")));
+        assertBadRequest(executor, batch(item("a", "GET", "/api/spaces?q=a b")));
+        assertBadRequest(executor, batch(item("a", "TRACE", "/api/spaces")));
+        assertBadRequest(executor, batch(item("a", null, "/api/spaces")));
+        assertBadRequest(executor, batch(new BatchRequest.Item("a", "GET", "/api/spaces", Map.of("X-Forwarded-For", "1.2.3.4"), null)));
+        assertBadRequest(executor, batch(new BatchRequest.Item("a", "GET", "/api/spaces", Map.of("authorization", "Bearer other"), null)));
+        assertBadRequest(executor, batch(item("a", "GET", "/1"), item("b", "GET", "/2"), item("c", "GET", "/3"),
+                item("d", "GET", "/4"), item("e", "GET", "/5"), item("f", "GET", "/6")));
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void execute_WithNestedBatch_ShouldReject() {
+        // Arrange
+        BatchExecutor executor = started(respondAfter(Map.of()), 4, Duration.ofSeconds(5));
+
+        // Act & Assert: also when the path only reaches it after normalization
+        assertBadRequest(executor, batch(item("a", "POST", "/api/batch")));
+        assertBadRequest(executor, batch(item("a", "POST", "/api/spaces/../batch")));
+        assertBadRequest(executor, batch(item("a", "POST", "/api/./batch/")));
+    }
+
+    @Test
+    void execute_BeforeTheWebServerStarted_ShouldBeUnavailable() {
+        // Arrange
+        BatchExecutor executor = executor(respondAfter(Map.of()), 4, Duration.ofSeconds(5));
+
+        // Act
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> executor.execute(batch(item("a", "GET", "/api/spaces")), new HttpHeaders()));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatusCode());
+    }
+
+    @Test
+    void execute_WithItemsFinishingOutOfOrder_ShouldAnswerInRequestOrder() {
+        // Arrange: the first sub-request is the slowest
+        BatchExecutor executor = started(respondAfter(Map.of("/slow", 200L, "/medium", 100L)), 4, Duration.ofSeconds(5));
+
+        // Act
+        BatchResponse response = executor.execute(batch(
+                item("slow", "GET", "/slow"), item("medium", "GET", "/medium"), item("fast", "GET", "/fast")),
+                new HttpHeaders()).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(List.of("slow", "medium", "fast"), response.responses().stream().map(BatchResponse.Item::id).toList());
+        response.responses().forEach(item -> assertEquals(200, item.status()));
+        assertEquals("/fast", response.responses().get(2).body().get("path").asText());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.responses().get(2).headers().get(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void execute_WhenDeadlinePasses_ShouldAnswerGatewayTimeoutForTheLateItems() {
+        // Arrange
+        BatchExecutor executor = started(respondAfter(Map.of("/slow", 2_000L)), 4, Duration.ofSeconds(5));
+
+        // Act: the batch asks for less than the configured deadline
+        BatchResponse response = executor.execute(new BatchRequest(List.of(
+                item("slow", "GET", "/slow"), item("fast", "GET", "/fast")), 200L),
+                new HttpHeaders()).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(504, response.responses().get(0).status());
+        assertNull(response.responses().get(0).body());
+        assertEquals(200, response.responses().get(1).status());
+        assertTrue(response.durationMs() < 2_000);
+    }
+
+    @Test
+    void execute_ShouldKeepAtMostConcurrencyItemsInFlight() {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExchangeFunction exchange = request -> Mono.defer(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(50));
+                })
+                .doOnTerminate(inFlight::decrementAndGet)
+                .map(ignored -> json(request));
+        BatchExecutor executor = started(exchange, 2, Duration.ofSeconds(5));
+        List<BatchRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(item("r" + i, "GET", "/api/spaces/" + i));
+        }
+
+        // Act
+        BatchResponse response = executor.execute(new BatchRequest(items, null), new HttpHeaders())
+                .block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(5, response.responses().size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void execute_ShouldForwardBatchCredentialsAndAllowedItemHeaders() {
+        // Arrange
+        BatchExecutor executor = started(respondAfter(Map.of()), 4, Duration.ofSeconds(5));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        headers.set("X-Internal", "secret");
+
+        // Act
+        executor.execute(batch(new BatchRequest.Item("a", "GET", "/api/spaces/1",
+                Map.of("if-none-match", "\"v1\""), null)), headers).block(Duration.ofSeconds(5));
+
+        // Assert
+        HttpHeaders forwarded = sent.get(0).headers();
+        assertEquals("Bearer token", forwarded.getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("\"v1\"", forwarded.getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertNull(forwarded.getFirst("X-Internal"));
+        assertEquals("http://127.0.0.1:8080/api/spaces/1", sent.get(0).url().toString());
+    }
+
+    private BatchExecutor started(ExchangeFunction exchange, int concurrency, Duration deadline) {
+        BatchExecutor executor = executor(exchange, concurrency, deadline);
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.getPort()).thenReturn(8080);
+        executor.onWebServerInitialized(new ReactiveWebServerInitializedEvent(webServer,
+                mock(ReactiveWebServerApplicationContext.class)));
+        return executor;
+    }
+
+    private BatchExecutor executor(ExchangeFunction exchange, int concurrency, Duration deadline) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sent.add(request);
+                    return exchange.exchange(request);
+                })
+                .build();
+        return new BatchExecutor(webClient, objectMapper, 5, concurrency, deadline, new SimpleMeterRegistry());
+    }
+
+    // Answers with the requested path as JSON, after the given delay per path
+    private static ExchangeFunction respondAfter(Map<String, Long> delays) {
+        return request -> Mono.delay(Duration.ofMillis(delays.getOrDefault(request.url().getPath(), 0L)))
+                .map(ignored -> json(request));
+    }
+
+    private static ClientResponse json(ClientRequest request) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"path\":\"" + request.url().getPath() + "\"}")
+                .build();
+    }
+
+    private static void assertBadRequest(BatchExecutor executor, BatchRequest request) {
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> executor.execute(request, new HttpHeaders()));
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+    }
+
+    private static BatchRequest batch(BatchRequest.Item... items) {
+        return new BatchRequest(Arrays.asList(items), null);
+    }
+
+    private static BatchRequest.Item item(String id, String method, String path) {
+        return new BatchRequest.Item(id, method, path, null, null);
+    }
+}
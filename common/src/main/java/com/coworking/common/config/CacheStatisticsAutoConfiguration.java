@@ -0,0 +1,27 @@
+package com.coworking.common.config;
+
+import com.coworking.common.observability.CacheStatisticsEndpoint;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Publishes {@code /actuator/cachestats} in the services that turn on
+ * Hibernate's second-level cache.
+ */
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass(SessionFactory.class)
+@ConditionalOnBean(EntityManagerFactory.class)
+@ConditionalOnProperty("spring.jpa.properties.hibernate.cache.use_second_level_cache")
+public class CacheStatisticsAutoConfiguration {
+    
+    @Bean
+    public CacheStatisticsEndpoint cacheStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new CacheStatisticsEndpoint(entityManagerFactory);
+    }
+}
@@ -0,0 +1,68 @@
+package com.coworking.common.config;
+
+import com.coworking.common.observability.NPlusOneDetector;
+import com.coworking.common.observability.QueryStatisticsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({SessionFactory.class, HibernateQueryMetrics.class})
+@ConditionalOnBean(EntityManagerFactory.class)
+public class QueryStatisticsAutoConfiguration {
+    
+    @Bean
+    public NPlusOneDetector nPlusOneDetector(
+            @Value("${coworking.jpa.n-plus-one-threshold:10}") int threshold,
+            MeterRegistry meterRegistry) {
+        return new NPlusOneDetector(threshold, meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(NPlusOneDetector nPlusOneDetector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, nPlusOneDetector);
+    }
+    
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", Tags.empty());
+    }
+    
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                                           NPlusOneDetector nPlusOneDetector) {
+        return new QueryStatisticsEndpoint(entityManagerFactory, nPlusOneDetector);
+    }
+    
+    // Requests are only tracked on the servlet stack
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class RequestTrackingConfiguration {
+        
+        @Bean
+        public WebMvcConfigurer nPlusOneDetectorInterceptor(NPlusOneDetector nPlusOneDetector) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(nPlusOneDetector);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.coworking.common.config;
+
+import brave.handler.SpanHandler;
+import com.coworking.common.observability.LocalSpanExporter;
+import com.coworking.common.observability.TracesEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@AutoConfiguration
+@ConditionalOnClass(SpanHandler.class)
+public class TracingAutoConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalSpanExporter localSpanExporter(
+            @Value("${coworking.tracing.local-exporter.capacity:2000}") int capacity,
+            @Value("${coworking.tracing.local-exporter.file:}") String file,
+            ObjectMapper objectMapper) throws IOException {
+        return new LocalSpanExporter(capacity, file.isBlank() ? null : Path.of(file), objectMapper);
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public TracesEndpoint tracesEndpoint(LocalSpanExporter localSpanExporter) {
+        return new TracesEndpoint(localSpanExporter);
+    }
+}
@@ -0,0 +1,50 @@
+package com.coworking.common.config;
+
+import com.coworking.common.observability.PinningEndpoint;
+import com.coworking.common.observability.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Pinning diagnostics for the "virtual-threads" profile. Request handling,
+ * Feign calls made from it and {@code @Async} work move to virtual threads
+ * through {@code spring.threads.virtual.enabled}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsAutoConfiguration {
+    
+    public VirtualThreadsAutoConfiguration() {
+        requireVirtualThreads(Runtime.version());
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${coworking.virtual-threads.pinning-threshold:20ms}") Duration threshold,
+            @Value("${coworking.virtual-threads.pinning-stack-depth:8}") int stackDepth,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, stackDepth, meterRegistry);
+    }
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor virtualThreadPinningMonitor) {
+        return new PinningEndpoint(virtualThreadPinningMonitor);
+    }
+    
+    // Below Java 21 Boot silently keeps platform threads, and a run meant to
+    // measure virtual threads would measure the default setup instead
+    static void requireVirtualThreads(Runtime.Version version) {
+        if (version.feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled needs a Java 21+ runtime, running on "
+                    + version + "; set RUNTIME_JDK=21 or drop the virtual-threads profile");
+        }
+    }
+}
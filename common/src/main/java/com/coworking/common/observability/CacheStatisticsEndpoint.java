@@ -0,0 +1,62 @@
+package com.coworking.common.observability;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+    
+    private final Statistics statistics;
+    
+    public CacheStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("secondLevelCache", new CacheStats(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                null));
+        result.put("queryCache", new CacheStats(
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                null));
+        result.put("regions", regions());
+        return result;
+    }
+    
+    private Map<String, CacheStats> regions() {
+        Map<String, CacheStats> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .forEach(region -> {
+                    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+                    if (Objects.nonNull(stats)) {
+                        regions.put(region, new CacheStats(stats.getHitCount(), stats.getMissCount(),
+                                stats.getPutCount(), stats.getElementCountInMemory()));
+                    }
+                });
+        return regions;
+    }
+    
+    public record CacheStats(long hits, long misses, long puts, Long elementsInMemory) {
+        
+        public double getHitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
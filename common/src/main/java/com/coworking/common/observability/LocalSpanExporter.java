@@ -0,0 +1,104 @@
+package com.coworking.common.observability;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory and optionally appends them
+ * as JSON lines to a file, so traces can be inspected without a collector.
+ * Only sampled spans reach this handler.
+ */
+@Slf4j
+public class LocalSpanExporter extends SpanHandler implements DisposableBean {
+
+    private final int capacity;
+    private final Deque<SpanRecord> spans;
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public LocalSpanExporter(int capacity, Path file, ObjectMapper objectMapper) throws IOException {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+        this.objectMapper = objectMapper;
+        if (file != null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } else {
+            this.writer = null;
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+
+        SpanRecord record = SpanRecord.from(context, span);
+        synchronized (spans) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(record);
+        }
+
+        if (writer != null) {
+            write(record);
+        }
+        return true;
+    }
+
+    public List<SpanRecord> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    public List<SpanRecord> getTrace(String traceId) {
+        synchronized (spans) {
+            return spans.stream()
+                    .filter(span -> span.traceId().equals(traceId))
+                    .toList();
+        }
+    }
+
+    private void write(SpanRecord record) {
+        try {
+            String line = objectMapper.writeValueAsString(record);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Could not write span {} to trace file: {}", record.spanId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (writer != null) {
+            synchronized (writer) {
+                writer.close();
+            }
+        }
+    }
+}
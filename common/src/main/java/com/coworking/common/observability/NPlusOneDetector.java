@@ -0,0 +1,83 @@
+package com.coworking.common.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts identical SQL queries issued while serving a single request. A
+ * statement repeated at least {@code threshold} times is reported as a likely
+ * N+1 access pattern. Statements outside of a web request are not tracked.
+ */
+@Slf4j
+public class NPlusOneDetector implements StatementInspector, HandlerInterceptor {
+    
+    private static final ThreadLocal<Map<String, Integer>> STATEMENTS = new ThreadLocal<>();
+    
+    private final int threshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LongAdder> suspects = new ConcurrentHashMap<>();
+    
+    public NPlusOneDetector(int threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> statements = STATEMENTS.get();
+        // Only reads can be N+1; batched writes legitimately repeat a statement
+        if (statements != null && sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.set(new HashMap<>());
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Map<String, Integer> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        if (statements == null) {
+            return;
+        }
+        
+        statements.forEach((sql, count) -> {
+            if (count >= threshold) {
+                log.warn("Possible N+1 query on {} {}: statement executed {} times: {}",
+                        request.getMethod(), request.getRequestURI(), count, sql);
+                suspects.computeIfAbsent(sql, key -> new LongAdder()).increment();
+                meterRegistry.counter("hibernate.n_plus_one.suspected", "uri", handlerPattern(request)).increment();
+            }
+        });
+    }
+    
+    public Map<String, Long> getSuspects() {
+        Map<String, Long> result = new HashMap<>();
+        suspects.forEach((sql, count) -> result.put(sql, count.sum()));
+        return result;
+    }
+    
+    public void reset() {
+        suspects.clear();
+    }
+    
+    private String handlerPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
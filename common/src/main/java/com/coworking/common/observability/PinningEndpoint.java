@@ -0,0 +1,27 @@
+package com.coworking.common.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+    
+    private final VirtualThreadPinningMonitor monitor;
+    
+    public PinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+    
+    @ReadOperation
+    public List<VirtualThreadPinningMonitor.PinnedSite> pinnedSites() {
+        return monitor.getSites();
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
@@ -0,0 +1,76 @@
+package com.coworking.common.observability;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+    
+    private final Statistics statistics;
+    private final NPlusOneDetector nPlusOneDetector;
+    
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory, NPlusOneDetector nPlusOneDetector) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.nPlusOneDetector = nPlusOneDetector;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> queryStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("slowestQueryTimeMs", statistics.getQueryExecutionMaxTime());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("collectionFetches", statistics.getCollectionFetchCount());
+        result.put("queries", queries());
+        result.put("nPlusOneSuspects", nPlusOneDetector.getSuspects());
+        return result;
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+        nPlusOneDetector.reset();
+    }
+    
+    private List<QueryStats> queries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> QueryStats.from(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryStats::totalTimeMs).reversed())
+                .toList();
+    }
+    
+    public record QueryStats(
+            String query,
+            long executions,
+            long rowsReturned,
+            long maxTimeMs,
+            double meanTimeMs,
+            long totalTimeMs) {
+        
+        static QueryStats from(String query, QueryStatistics stats) {
+            return new QueryStats(
+                    query,
+                    stats.getExecutionCount(),
+                    stats.getExecutionRowCount(),
+                    stats.getExecutionMaxTime(),
+                    stats.getExecutionAvgTimeAsDouble(),
+                    stats.getExecutionTotalTime()
+            );
+        }
+    }
+}
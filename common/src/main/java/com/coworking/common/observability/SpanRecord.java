@@ -0,0 +1,36 @@
+package com.coworking.common.observability;
+
+import brave.handler.MutableSpan;
+import brave.propagation.TraceContext;
+
+import java.util.Map;
+
+public record SpanRecord(
+        String traceId,
+        String parentId,
+        String spanId,
+        String name,
+        String kind,
+        String localService,
+        String remoteService,
+        long timestampMicros,
+        long durationMicros,
+        String error,
+        Map<String, String> tags) {
+
+    public static SpanRecord from(TraceContext context, MutableSpan span) {
+        return new SpanRecord(
+                context.traceIdString(),
+                context.parentIdString(),
+                context.spanIdString(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                span.localServiceName(),
+                span.remoteServiceName(),
+                span.startTimestamp(),
+                span.finishTimestamp() - span.startTimestamp(),
+                span.error() != null ? span.error().getClass().getSimpleName() : span.tag("error"),
+                Map.copyOf(span.tags())
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.coworking.common.observability;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+    
+    private final LocalSpanExporter localSpanExporter;
+    
+    @ReadOperation
+    public List<SpanRecord> recentSpans() {
+        return localSpanExporter.getSpans();
+    }
+    
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return localSpanExporter.getTrace(traceId);
+    }
+}
@@ -0,0 +1,130 @@
+package com.coworking.common.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event (Java 21+) and
+ * groups pinning by the application frames that held the carrier thread,
+ * typically a synchronized block in the JDBC driver or the connection pool.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 200;
+    
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinned;
+    private final Counter untracked;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    
+    private RecordingStream stream;
+    
+    public VirtualThreadPinningMonitor(Duration threshold, int stackDepth, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        this.untracked = meterRegistry.counter("jvm.threads.virtual.pinned.untracked");
+    }
+    
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+    
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+    
+    public List<PinnedSite> getSites() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinnedSite::totalMs).reversed())
+                .toList();
+    }
+    
+    public void reset() {
+        sites.clear();
+    }
+    
+    private void record(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinned.record(duration);
+        
+        String stack = applicationFrames(event.getStackTrace());
+        Site site = sites.size() < MAX_SITES ? sites.computeIfAbsent(stack, key -> new Site()) : sites.get(stack);
+        if (site == null) {
+            untracked.increment();
+            return;
+        }
+        site.record(duration);
+    }
+    
+    // The innermost frames are always the JDK parking machinery; the
+    // interesting part is the application or library code below it
+    private String applicationFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .limit(stackDepth)
+                .collect(Collectors.joining(" <- "));
+    }
+    
+    public record PinnedSite(String stack, long count, double totalMs, double maxMs) {
+    }
+    
+    private static final class Site {
+        
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        
+        private void record(Duration duration) {
+            count.increment();
+            totalNanos.add(duration.toNanos());
+            maxNanos.accumulate(duration.toNanos());
+        }
+        
+        private PinnedSite snapshot(String stack) {
+            return new PinnedSite(stack, count.sum(), totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.coworking.common.rpc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Minimal protocol buffers wire-format decoder, the counterpart of
+ * {@link ProtoWriter}. Unknown fields are skipped so messages can grow.
+ */
+public class ProtoReader {
+    
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+    
+    private final byte[] data;
+    private final int limit;
+    private int position;
+    private int wireType;
+    
+    public ProtoReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+    
+    private ProtoReader(byte[] data, int offset, int limit) {
+        this.data = data;
+        this.position = offset;
+        this.limit = limit;
+    }
+    
+    public boolean hasNext() {
+        return position < limit;
+    }
+    
+    public int nextField() {
+        long tag = readVarint();
+        wireType = (int) (tag & 0x7);
+        return (int) (tag >>> 3);
+    }
+    
+    public long readInt64() {
+        expect(VARINT);
+        return readVarint();
+    }
+    
+    public String readString() {
+        expect(LENGTH_DELIMITED);
+        int length = readLength();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+    
+    public ProtoReader readMessage() {
+        expect(LENGTH_DELIMITED);
+        int length = readLength();
+        ProtoReader message = new ProtoReader(data, position, position + length);
+        position += length;
+        return message;
+    }
+    
+    // Accepts both the packed and the one-value-per-field encoding
+    public void readInt64s(List<Long> values) {
+        if (wireType == VARINT) {
+            values.add(readVarint());
+            return;
+        }
+        ProtoReader packed = readMessage();
+        while (packed.hasNext()) {
+            values.add(packed.readVarint());
+        }
+    }
+    
+    public void skip() {
+        switch (wireType) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case LENGTH_DELIMITED -> advance(readLength());
+            case FIXED32 -> advance(4);
+            default -> throw new IllegalArgumentException("Unsupported wire type " + wireType);
+        }
+    }
+    
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated message");
+            }
+            byte b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+    
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        return (int) length;
+    }
+    
+    private void advance(int bytes) {
+        if (bytes > limit - position) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        position += bytes;
+    }
+    
+    private void expect(int expectedWireType) {
+        if (wireType != expectedWireType) {
+            throw new IllegalArgumentException("Unexpected wire type " + wireType);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.coworking.common.rpc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Minimal protocol buffers wire-format encoder for the internal RPC messages.
+ * Fields holding their default value are omitted, as protobuf does.
+ */
+public class ProtoWriter {
+    
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+    
+    private byte[] buffer;
+    private int size;
+    
+    public ProtoWriter() {
+        this(64);
+    }
+    
+    public ProtoWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+    
+    public ProtoWriter writeInt64(int field, long value) {
+        if (value != 0) {
+            writeTag(field, VARINT);
+            writeVarint(value);
+        }
+        return this;
+    }
+    
+    public ProtoWriter writeString(int field, String value) {
+        if (value != null && !value.isEmpty()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeBytes(field, bytes, bytes.length);
+        }
+        return this;
+    }
+    
+    public ProtoWriter writeMessage(int field, ProtoWriter message) {
+        writeBytes(field, message.buffer, message.size);
+        return this;
+    }
+    
+    public ProtoWriter writePackedInt64(int field, Collection<Long> values) {
+        if (values.isEmpty()) {
+            return this;
+        }
+        ProtoWriter packed = new ProtoWriter(values.size() * 3);
+        values.forEach(packed::writeVarint);
+        return writeMessage(field, packed);
+    }
+    
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+    
+    private void writeBytes(int field, byte[] bytes, int length) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(length);
+        ensureCapacity(length);
+        System.arraycopy(bytes, 0, buffer, size, length);
+        size += length;
+    }
+    
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+    
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+    
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.coworking.common.web;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The response fields a client asked for with {@code ?fields=id,name}.
+ * Services use it to skip columns and lookups nobody reads; controllers use
+ * it to trim the serialized response. No parameter selects every field.
+ */
+public final class FieldSelection {
+    
+    public static final FieldSelection ALL = new FieldSelection(null);
+    
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+    
+    // null selects every field
+    private final Set<String> fields;
+    
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+    
+    public static FieldSelection parse(String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = PROPERTIES.computeIfAbsent(type, FieldSelection::propertiesOf);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + known);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(selected);
+    }
+    
+    public boolean isAll() {
+        return fields == null;
+    }
+    
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+    
+    public boolean includesAny(Collection<String> candidates) {
+        return candidates.stream().anyMatch(this::includes);
+    }
+    
+    /**
+     * The selected names in the order they were asked for; empty when
+     * every field is selected.
+     */
+    public Set<String> getFields() {
+        return fields == null ? Set.of() : Collections.unmodifiableSet(fields);
+    }
+    
+    /**
+     * Returns the body itself when every field is selected, otherwise its
+     * JSON tree without the fields that were not asked for.
+     */
+    public Object apply(Object body, ObjectMapper objectMapper) {
+        if (fields == null) {
+            return body;
+        }
+        JsonNode node = objectMapper.valueToTree(body);
+        if (node.isArray()) {
+            node.forEach(this::retain);
+        } else {
+            retain(node);
+        }
+        return node;
+    }
+    
+    private void retain(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.retain(fields);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+    
+    private static Set<String> propertiesOf(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .filter(field -> !field.isAnnotationPresent(JsonIgnore.class))
+                .map(Field::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
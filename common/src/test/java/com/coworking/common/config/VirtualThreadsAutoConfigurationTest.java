@@ -0,0 +1,56 @@
+package com.coworking.common.config;
+
+import com.coworking.common.observability.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(VirtualThreadsAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void requireVirtualThreads_BelowJava21_ShouldFailStartup() {
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsAutoConfiguration.requireVirtualThreads(Runtime.Version.parse("17.0.10")));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("17.0.10"));
+    }
+
+    @Test
+    void requireVirtualThreads_OnJava21OrLater_ShouldPass() {
+        // Act & Assert
+        assertDoesNotThrow(() -> VirtualThreadsAutoConfiguration.requireVirtualThreads(Runtime.Version.parse("21")));
+        assertDoesNotThrow(() -> VirtualThreadsAutoConfiguration.requireVirtualThreads(Runtime.Version.parse("22.0.1")));
+    }
+
+    @Test
+    void autoConfiguration_WithoutVirtualThreads_ShouldStayOff() {
+        // Act & Assert
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertTrue(context.getBeansOfType(VirtualThreadPinningMonitor.class).isEmpty());
+        });
+    }
+
+    @Test
+    void autoConfiguration_WithVirtualThreads_ShouldMatchTheRuntime() {
+        // Act & Assert
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            if (Runtime.version().feature() < 21) {
+                assertNotNull(context.getStartupFailure());
+            } else {
+                assertNull(context.getStartupFailure());
+                assertEquals(1, context.getBeansOfType(VirtualThreadPinningMonitor.class).size());
+            }
+        });
+    }
+}
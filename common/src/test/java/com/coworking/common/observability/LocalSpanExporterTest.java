@@ -0,0 +1,99 @@
+package com.coworking.common.observability;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void end_WhenFull_ShouldDropTheOldestSpan() throws IOException {
+        // Arrange
+        LocalSpanExporter exporter = new LocalSpanExporter(2, null, objectMapper);
+
+        // Act
+        finish(exporter, 1, 1, "first");
+        finish(exporter, 1, 2, "second");
+        finish(exporter, 1, 3, "third");
+
+        // Assert
+        assertEquals(List.of("second", "third"), exporter.getSpans().stream().map(SpanRecord::name).toList());
+    }
+
+    @Test
+    void end_WhenNotFinished_ShouldNotKeepTheSpan() throws IOException {
+        // Arrange
+        LocalSpanExporter exporter = new LocalSpanExporter(2, null, objectMapper);
+        TraceContext context = TraceContext.newBuilder().traceId(1).spanId(1).build();
+
+        // Act
+        boolean keep = exporter.end(context, span(context, "abandoned"), SpanHandler.Cause.ABANDONED);
+
+        // Assert
+        assertTrue(keep);
+        assertTrue(exporter.getSpans().isEmpty());
+    }
+
+    @Test
+    void getTrace_ShouldReturnOnlyTheSpansOfThatTrace() throws IOException {
+        // Arrange
+        LocalSpanExporter exporter = new LocalSpanExporter(10, null, objectMapper);
+        finish(exporter, 1, 1, "a");
+        finish(exporter, 2, 2, "b");
+        finish(exporter, 1, 3, "c");
+
+        // Act
+        List<SpanRecord> trace = exporter.getTrace(TraceContext.newBuilder().traceId(1).spanId(1).build().traceIdString());
+
+        // Assert
+        assertEquals(List.of("a", "c"), trace.stream().map(SpanRecord::name).toList());
+    }
+
+    @Test
+    void end_WithFile_ShouldAppendOneJsonLinePerSpan() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("traces/spans.jsonl");
+        LocalSpanExporter exporter = new LocalSpanExporter(1, file, objectMapper);
+
+        // Act
+        finish(exporter, 1, 1, "first");
+        finish(exporter, 1, 2, "second");
+        exporter.destroy();
+
+        // Assert: the file keeps what the ring buffer dropped
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals("second", second.get("name").asText());
+        assertEquals(500, second.get("durationMicros").asLong());
+    }
+
+    private static void finish(LocalSpanExporter exporter, long traceId, long spanId, String name) {
+        TraceContext context = TraceContext.newBuilder().traceId(traceId).spanId(spanId).build();
+        exporter.end(context, span(context, name), SpanHandler.Cause.FINISHED);
+    }
+
+    private static MutableSpan span(TraceContext context, String name) {
+        MutableSpan span = new MutableSpan(context, null);
+        span.name(name);
+        span.startTimestamp(1_000);
+        span.finishTimestamp(1_500);
+        return span;
+    }
+}
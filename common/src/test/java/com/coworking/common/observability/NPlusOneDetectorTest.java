@@ -0,0 +1,105 @@
+package com.coworking.common.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NPlusOneDetectorTest {
+
+    private static final String SELECT = "select s1_0.id from space_amenities s1_0 where s1_0.space_id=?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private NPlusOneDetector detector;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new NPlusOneDetector(3, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/spaces");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/spaces");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void afterCompletion_WhenSelectRepeatsUpToThreshold_ShouldReportIt() {
+        // Arrange
+        detector.preHandle(request, response, null);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            detector.inspect(SELECT);
+        }
+        detector.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(Map.of(SELECT, 1L), detector.getSuspects());
+        assertEquals(1.0, meterRegistry.counter("hibernate.n_plus_one.suspected", "uri", "/api/spaces").count());
+    }
+
+    @Test
+    void afterCompletion_WhenBelowThreshold_ShouldNotReport() {
+        // Arrange
+        detector.preHandle(request, response, null);
+
+        // Act
+        detector.inspect(SELECT);
+        detector.inspect(SELECT);
+        detector.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertTrue(detector.getSuspects().isEmpty());
+    }
+
+    @Test
+    void inspect_ShouldOnlyCountReads() {
+        // Arrange
+        detector.preHandle(request, response, null);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            detector.inspect("insert into spaces (name,id) values (?,?)");
+            detector.inspect("  SELECT count(*) from spaces");
+        }
+        detector.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(Map.of("  SELECT count(*) from spaces", 1L), detector.getSuspects());
+    }
+
+    @Test
+    void inspect_OutsideRequest_ShouldNotTrack() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(SELECT, detector.inspect(SELECT));
+        }
+        detector.preHandle(request, response, null);
+        detector.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertTrue(detector.getSuspects().isEmpty());
+    }
+
+    @Test
+    void preHandle_ShouldStartEachRequestFromZero() {
+        // Act: two requests just under the threshold each
+        for (int r = 0; r < 2; r++) {
+            detector.preHandle(request, response, null);
+            detector.inspect(SELECT);
+            detector.inspect(SELECT);
+            detector.afterCompletion(request, response, null, null);
+        }
+
+        // Assert
+        assertTrue(detector.getSuspects().isEmpty());
+        assertEquals(0.0, meterRegistry.counter("hibernate.n_plus_one.suspected", "uri", "/api/spaces").count());
+    }
+}
@@ -0,0 +1,144 @@
+package com.coworking.common.rpc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProtoReaderTest {
+
+    @Test
+    void readInt64_ShouldRoundTripAcrossVarintLengths() {
+        // Arrange
+        long[] values = {1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        ProtoWriter writer = new ProtoWriter(1);
+        for (int i = 0; i < values.length; i++) {
+            writer.writeInt64(i + 1, values[i]);
+        }
+
+        // Act
+        ProtoReader reader = new ProtoReader(writer.toByteArray());
+
+        // Assert
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i + 1, reader.nextField());
+            assertEquals(values[i], reader.readInt64());
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void writeInt64_WithDefaultValue_ShouldOmitTheField() {
+        // Act & Assert
+        assertEquals(0, new ProtoWriter().writeInt64(1, 0).writeString(2, "").writeString(3, null).toByteArray().length);
+    }
+
+    @Test
+    void readString_ShouldRoundTripUtf8() {
+        // Arrange
+        byte[] data = new ProtoWriter().writeString(2, "Salle de réunion ☕").toByteArray();
+
+        // Act
+        ProtoReader reader = new ProtoReader(data);
+
+        // Assert
+        assertEquals(2, reader.nextField());
+        assertEquals("Salle de réunion ☕", reader.readString());
+    }
+
+    @Test
+    void readMessage_ShouldOnlyReadTheNestedBytes() {
+        // Arrange
+        byte[] data = new ProtoWriter()
+                .writeMessage(1, new ProtoWriter().writeInt64(1, 7).writeString(2, "Room 7"))
+                .writeInt64(2, 9)
+                .toByteArray();
+        ProtoReader reader = new ProtoReader(data);
+
+        // Act
+        reader.nextField();
+        ProtoReader nested = reader.readMessage();
+
+        // Assert
+        assertEquals(1, nested.nextField());
+        assertEquals(7, nested.readInt64());
+        assertEquals(2, nested.nextField());
+        assertEquals("Room 7", nested.readString());
+        assertFalse(nested.hasNext());
+        assertEquals(2, reader.nextField());
+        assertEquals(9, reader.readInt64());
+    }
+
+    @Test
+    void readInt64s_ShouldAcceptPackedAndUnpackedEncodings() {
+        // Arrange: a packed run followed by two single values of the same field
+        byte[] data = new ProtoWriter()
+                .writePackedInt64(1, List.of(1L, 300L, 70_000L))
+                .writeInt64(1, 4)
+                .writeInt64(1, 5)
+                .toByteArray();
+        List<Long> values = new ArrayList<>();
+
+        // Act
+        ProtoReader reader = new ProtoReader(data);
+        while (reader.hasNext()) {
+            assertEquals(1, reader.nextField());
+            reader.readInt64s(values);
+        }
+
+        // Assert
+        assertEquals(List.of(1L, 300L, 70_000L, 4L, 5L), values);
+    }
+
+    @Test
+    void skip_ShouldPassOverUnknownFields() {
+        // Arrange: a newer writer added fields 8 and 9
+        byte[] data = new ProtoWriter()
+                .writeInt64(8, 123_456)
+                .writeString(9, "unknown")
+                .writeInt64(1, 7)
+                .toByteArray();
+        ProtoReader reader = new ProtoReader(data);
+
+        // Act
+        reader.nextField();
+        reader.skip();
+        reader.nextField();
+        reader.skip();
+
+        // Assert
+        assertEquals(1, reader.nextField());
+        assertEquals(7, reader.readInt64());
+    }
+
+    @Test
+    void read_WithTruncatedInput_ShouldThrowIllegalArgument() {
+        // Arrange
+        byte[] data = new ProtoWriter().writeString(1, "Room 7").writeInt64(2, 300).toByteArray();
+
+        // Act & Assert: cut inside a tag, a length, a string and a varint
+        for (int length : new int[] {1, 2, 5, 9, 10}) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThrows(IllegalArgumentException.class, () -> {
+                ProtoReader reader = new ProtoReader(truncated);
+                while (reader.hasNext()) {
+                    reader.nextField();
+                    reader.skip();
+                }
+            }, "truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void readInt64_WithWrongWireType_ShouldThrowIllegalArgument() {
+        // Arrange
+        ProtoReader reader = new ProtoReader(new ProtoWriter().writeString(1, "7").toByteArray());
+        reader.nextField();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, reader::readInt64);
+    }
+}
@@ -0,0 +1,52 @@
+package com.coworking.common.web;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_WithoutFields_ShouldSelectEverything() {
+        // Act
+        FieldSelection selection = FieldSelection.parse(" , ", Item.class);
+
+        // Assert
+        assertSame(FieldSelection.ALL, selection);
+        assertTrue(selection.includes("secret"));
+        assertEquals(Set.of(), selection.getFields());
+    }
+
+    @Test
+    void parse_WithUnknownOrIgnoredField_ShouldReject() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("id,price", Item.class));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("secret", Item.class));
+    }
+
+    @Test
+    void apply_ShouldKeepOnlyTheSelectedFieldsOfEachElement() {
+        // Arrange
+        FieldSelection selection = FieldSelection.parse("name, id", Item.class);
+
+        // Act
+        JsonNode body = (JsonNode) selection.apply(List.of(new Item(1L, "Desk", "a"), new Item(2L, "Room", "b")),
+                objectMapper);
+
+        // Assert
+        assertEquals("[{\"id\":1,\"name\":\"Desk\"},{\"id\":2,\"name\":\"Room\"}]", body.toString());
+        assertEquals(List.of("name", "id"), List.copyOf(selection.getFields()));
+        assertFalse(selection.includes("secret"));
+    }
+
+    public record Item(Long id, String name, @JsonIgnore String secret) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.coworking.eurekaserver.config;
+
+import com.coworking.eurekaserver.push.RegistryChangePusher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "coworking.registry.push.enabled", havingValue = "true", matchIfMissing = true)
+public class RegistryPushConfig {
+
+    @Bean
+    public RegistryChangePusher registryChangePusher(
+            PeerAwareInstanceRegistry registry,
+            @Value("${coworking.registry.push.subscribers:api-gateway}") List<String> subscribers,
+            @Value("${coworking.registry.push.path:/actuator/registrychanges}") String path,
+            @Value("${coworking.registry.push.timeout:2s}") Duration timeout,
+            @Value("${coworking.registry.push.token:}") String token,
+            ObjectMapper objectMapper) {
+        return new RegistryChangePusher(registry, subscribers, path, timeout, token, objectMapper);
+    }
+}
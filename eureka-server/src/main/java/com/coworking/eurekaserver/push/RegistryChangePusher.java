@@ -0,0 +1,114 @@
+package com.coworking.eurekaserver.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes instance cancellations and registrations to subscribed
+ * applications (the gateway), so they stop routing to a removed instance
+ * without waiting for their next registry fetch. Only the node that
+ * received the change pushes it; replicated copies are ignored.
+ */
+public class RegistryChangePusher {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryChangePusher.class);
+
+    private final PeerAwareInstanceRegistry registry;
+    private final List<String> subscribers;
+    private final String path;
+    private final Duration timeout;
+    private final String token;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public RegistryChangePusher(PeerAwareInstanceRegistry registry, List<String> subscribers, String path,
+                                Duration timeout, String token, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.subscribers = subscribers;
+        this.path = path;
+        this.timeout = timeout;
+        this.token = token;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        if (!event.isReplication()) {
+            push("CANCELED", event.getAppName(), event.getServerId(), event.getTimestamp());
+        }
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        if (!event.isReplication()) {
+            InstanceInfo instance = event.getInstanceInfo();
+            push("REGISTERED", instance.getAppName(), instance.getInstanceId(), event.getTimestamp());
+        }
+    }
+
+    private void push(String action, String appName, String instanceId, long timestamp) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("action", action);
+        change.put("appName", appName);
+        change.put("instanceId", instanceId);
+        change.put("timestamp", timestamp);
+        if (token != null && !token.isEmpty()) {
+            change.put("token", token);
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (String subscriber : subscribers) {
+            Application application = registry.getApplication(subscriber.toUpperCase());
+            if (application == null) {
+                continue;
+            }
+            for (InstanceInfo target : application.getInstances()) {
+                if (target.getStatus() != InstanceInfo.InstanceStatus.UP) {
+                    continue;
+                }
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://" + target.getHostName() + ":" + managementPort(target) + path))
+                        .header("Content-Type", "application/json")
+                        .timeout(timeout)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            if (failure != null || response.statusCode() >= 300) {
+                                log.debug("Could not push {} of {} to {}: {}", action, instanceId,
+                                        target.getInstanceId(), failure != null ? failure.toString() : response.statusCode());
+                            }
+                        });
+            }
+        }
+    }
+
+    // The endpoint lives on the subscriber's management port, which its
+    // Eureka client advertises when it differs from the server port
+    private static String managementPort(InstanceInfo target) {
+        return target.getMetadata().getOrDefault("management.port", Integer.toString(target.getPort()));
+    }
+}
@@ -0,0 +1,63 @@
+#!/bin/bash
+
+# Mide el tiempo hasta la primera petición atendida de cada servicio con la
+# imagen normal (Dockerfile) y con la de arranque rápido (Dockerfile.fast).
+# Uso: ./measure-startup.sh [servicio...]
+
+SERVICES=${@:-eureka-server api-gateway user-service space-service reservation-service}
+
+declare -A PORTS=(
+    [eureka-server]=8761
+    [api-gateway]=8080
+    [user-service]=8081
+    [space-service]=8082
+    [reservation-service]=8083
+)
+
+# El gateway y los servicios sirven /actuator en un puerto de gestión aparte
+declare -A HEALTH_PORTS=(
+    [api-gateway]=9080
+    [user-service]=9081
+    [space-service]=9082
+    [reservation-service]=9083
+)
+
+# Segundos (con milisegundos) hasta que /actuator/health responde
+measure() {
+    local image=$1 port=$2 health_port=$3
+    local start end container
+    start=$(date +%s%N)
+    local publish=(-p "$port:$port")
+    [ "$health_port" != "$port" ] && publish+=(-p "$health_port:$health_port")
+    container=$(docker run -d --rm "${publish[@]}" "$image")
+    until curl -sf "http://localhost:$health_port/actuator/health" > /dev/null; do
+        if ! docker ps -q --no-trunc | grep -q "$container"; then
+            echo "fallo"
+            return
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    docker stop "$container" > /dev/null
+    echo "$(( (end - start) / 1000000 )) ms"
+}
+
+RESULTS=()
+for service in $SERVICES; do
+    port=${PORTS[$service]}
+    health_port=${HEALTH_PORTS[$service]:-$port}
+    echo "Construyendo $service..."
+    # Todos menos Eureka se construyen desde la raíz para incluir common
+    context=.
+    [ "$service" = eureka-server ] && context=$service
+    docker build -q -t "coworking/$service:standard" -f "$service/Dockerfile" "$context" > /dev/null || exit 1
+    docker build -q -t "coworking/$service:fast" -f "$service/Dockerfile.fast" "$context" > /dev/null || exit 1
+
+    standard=$(measure "coworking/$service:standard" "$port" "$health_port")
+    fast=$(measure "coworking/$service:fast" "$port" "$health_port")
+    RESULTS+=("$(printf '%-22s %12s %12s' "$service" "$standard" "$fast")")
+done
+
+echo
+printf '%-22s %12s %12s\n' "Servicio" "Normal" "Rápido"
+printf '%s\n' "${RESULTS[@]}"
@@ -0,0 +1,308 @@
+package com.coworking.reservationservice.availability;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.exception.StreamCapacityException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pushes availability deltas of a space to its server-sent event
+ * subscribers. Each delta is serialized once and offered to a bounded
+ * queue per subscriber; a small sender pool drains the queues, so a change
+ * never waits for a client. A subscriber whose queue is full is too slow
+ * to keep up and is disconnected; the client reconnects and gets a fresh
+ * snapshot.
+ * <p>
+ * A write blocks while the client's socket buffer is full. A subscriber
+ * whose write has not returned within the write timeout is disconnected
+ * too, and the pool gets an extra sender until that write returns or fails,
+ * so stuck clients never hold up the others.
+ * <p>
+ * Periodic heartbeats go through the same queues and find dead
+ * connections.
+ */
+public class AvailabilityBroadcaster implements DisposableBean {
+    
+    private static final Message HEARTBEAT = new Message(null, null, null);
+    
+    private final Map<Long, Set<Subscriber>> subscribersBySpace = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final Function<Duration, SseEmitter> emitters;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+    private final int senderThreads;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final long writeTimeoutNanos;
+    private final Counter deltasSent;
+    private final Counter slowEvictions;
+    private final Counter blockedEvictions;
+    private final Counter errorEvictions;
+    private int blockedSenders;
+    
+    public AvailabilityBroadcaster(ObjectMapper objectMapper, int senderThreads, int maxSubscribers, int bufferSize,
+                                   Duration timeout, Duration writeTimeout, Duration heartbeatInterval,
+                                   MeterRegistry meterRegistry) {
+        this(objectMapper, t -> new SseEmitter(t.toMillis()), senderThreads, maxSubscribers, bufferSize,
+                timeout, writeTimeout, heartbeatInterval, meterRegistry);
+    }
+    
+    AvailabilityBroadcaster(ObjectMapper objectMapper, Function<Duration, SseEmitter> emitters, int senderThreads,
+                            int maxSubscribers, int bufferSize, Duration timeout, Duration writeTimeout,
+                            Duration heartbeatInterval, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.emitters = emitters;
+        // Grows only through the core size, see resizeSenders
+        this.senders = new ThreadPoolExecutor(senderThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor();
+        this.senderThreads = senderThreads;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.deltasSent = Counter.builder("availability.deltas.sent")
+                .description("Availability events written to subscribers")
+                .register(meterRegistry);
+        this.slowEvictions = meterRegistry.counter("availability.evictions", "reason", "slow");
+        this.blockedEvictions = meterRegistry.counter("availability.evictions", "reason", "blocked");
+        this.errorEvictions = meterRegistry.counter("availability.evictions", "reason", "error");
+        Gauge.builder("availability.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open availability streams")
+                .register(meterRegistry);
+        
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(writeTimeout.toMillis() / 2, 1);
+        heartbeats.scheduleWithFixedDelay(this::evictBlocked, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Registers the subscriber before reading the snapshot, so no change
+     * committed in between is lost; the snapshot is sent before any delta.
+     */
+    public SseEmitter subscribe(Long spaceId, Supplier<List<AvailabilityDelta>> snapshot) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamCapacityException("Too many availability streams on this instance, retry later");
+        }
+        
+        SseEmitter emitter = emitters.apply(timeout);
+        Subscriber subscriber = new Subscriber(spaceId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // Added inside compute, so a concurrent remove cannot drop the set it goes into
+        subscribersBySpace.compute(spaceId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        
+        try {
+            subscriber.snapshot = message("snapshot", snapshot.get());
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        subscriber.started = true;
+        schedule(subscriber);
+        return emitter;
+    }
+    
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        for (AvailabilityDelta delta : AvailabilityDelta.of(event)) {
+            Set<Subscriber> subscribers = subscribersBySpace.get(delta.spaceId());
+            if (subscribers == null || subscribers.isEmpty()) {
+                continue;
+            }
+            Message message = message("delta", delta);
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, message);
+            }
+        }
+    }
+    
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+    
+    private void heartbeat() {
+        subscribersBySpace.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+    
+    private void offer(Subscriber subscriber, Message message) {
+        if (subscriber.queue.offer(message)) {
+            schedule(subscriber);
+        } else if (evict(subscriber)) {
+            slowEvictions.increment();
+        }
+    }
+    
+    // Completing the emitter would wait for the blocked write, so it is
+    // completed by whichever of this check and the sender sees the write end
+    private void evictBlocked() {
+        long now = System.nanoTime();
+        subscribersBySpace.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long since = subscriber.writingSince;
+            if (since != 0 && now - since > writeTimeoutNanos && remove(subscriber)) {
+                blockedEvictions.increment();
+                resizeSenders(1);
+                subscriber.blocked = true;
+                if (subscriber.writingSince == 0) {
+                    releaseBlocked(subscriber);
+                }
+            }
+        }));
+    }
+    
+    private void releaseBlocked(Subscriber subscriber) {
+        if (subscriber.released.compareAndSet(false, true)) {
+            resizeSenders(-1);
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+    
+    private synchronized void resizeSenders(int delta) {
+        blockedSenders += delta;
+        senders.setCorePoolSize(senderThreads + blockedSenders);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.started && !subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.snapshot != null) {
+                send(subscriber, subscriber.snapshot);
+                subscriber.snapshot = null;
+            }
+            Message message;
+            while (!subscriber.closed.get() && (message = subscriber.queue.poll()) != null) {
+                send(subscriber, message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the servlet container reports it as a failed write
+            if (evict(subscriber)) {
+                errorEvictions.increment();
+            }
+            return;
+        } finally {
+            subscriber.draining.set(false);
+            if (subscriber.blocked) {
+                releaseBlocked(subscriber);
+            }
+        }
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+    
+    private void send(Subscriber subscriber, Message message) throws IOException {
+        subscriber.writingSince = System.nanoTime();
+        try {
+            if (message == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            subscriber.emitter.send(SseEmitter.event().id(message.id()).name(message.name()).data(message.json()));
+            deltasSent.increment();
+        } finally {
+            subscriber.writingSince = 0;
+        }
+    }
+    
+    private boolean evict(Subscriber subscriber) {
+        if (!remove(subscriber)) {
+            return false;
+        }
+        senders.execute(subscriber.emitter::complete);
+        return true;
+    }
+    
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        subscribersBySpace.computeIfPresent(subscriber.spaceId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return true;
+    }
+    
+    private Message message(String name, Object payload) {
+        try {
+            return new Message(Long.toString(sequence.incrementAndGet()), name, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize availability " + name, e);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribersBySpace.values().forEach(subscribers -> subscribers.forEach(this::evict));
+        senders.shutdown();
+    }
+    
+    private record Message(String id, String name, String json) {
+    }
+    
+    private static final class Subscriber {
+        
+        private final Long spaceId;
+        private final SseEmitter emitter;
+        private final Queue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Message snapshot;
+        private volatile boolean started;
+        private volatile long writingSince;
+        private volatile boolean blocked;
+        
+        Subscriber(Long spaceId, SseEmitter emitter, Queue<Message> queue) {
+            this.spaceId = spaceId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.coworking.reservationservice.availability;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One interval of a space becoming booked or free again. Deltas are
+ * idempotent per reservation id, so a client can apply one that is already
+ * reflected in its snapshot.
+ */
+public record AvailabilityDelta(
+        Long spaceId,
+        Long reservationId,
+        Change change,
+        LocalDateTime startTime,
+        LocalDateTime endTime) {
+    
+    private static final Set<String> INACTIVE = Set.of("CANCELLED", "EXPIRED");
+    
+    public enum Change {
+        BOOKED,
+        RELEASED
+    }
+    
+    public static AvailabilityDelta booked(ReservationSnapshot reservation) {
+        return new AvailabilityDelta(reservation.spaceId(), reservation.id(), Change.BOOKED,
+                reservation.startTime(), reservation.endTime());
+    }
+    
+    /**
+     * Status changes that keep the slot booked, such as a confirmation,
+     * produce no delta.
+     */
+    public static List<AvailabilityDelta> of(ReservationChangedEvent event) {
+        ReservationSnapshot before = isActive(event.before()) ? event.before() : null;
+        ReservationSnapshot after = isActive(event.after()) ? event.after() : null;
+        if (before != null && after != null && sameSlot(before, after)) {
+            return List.of();
+        }
+        
+        List<AvailabilityDelta> deltas = new ArrayList<>(2);
+        if (before != null) {
+            deltas.add(new AvailabilityDelta(before.spaceId(), before.id(), Change.RELEASED,
+                    before.startTime(), before.endTime()));
+        }
+        if (after != null) {
+            deltas.add(booked(after));
+        }
+        return deltas;
+    }
+    
+    private static boolean isActive(ReservationSnapshot reservation) {
+        return reservation != null && !INACTIVE.contains(reservation.status());
+    }
+    
+    private static boolean sameSlot(ReservationSnapshot before, ReservationSnapshot after) {
+        return before.spaceId().equals(after.spaceId())
+                && before.startTime().equals(after.startTime())
+                && before.endTime().equals(after.endTime());
+    }
+}
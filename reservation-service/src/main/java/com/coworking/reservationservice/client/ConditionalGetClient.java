@@ -0,0 +1,156 @@
+package com.coworking.reservationservice.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feign client decorator that remembers the body and ETag of successful GET
+ * responses and revalidates them with If-None-Match. A 304 from the remote
+ * service is answered from the cached body, so neither side re-serializes it.
+ * The cache holds at most {@code maxBytes} of responses, least recently used
+ * first out; a response larger than that is passed through uncached.
+ */
+public class ConditionalGetClient implements Client {
+    
+    private final Client delegate;
+    private final long maxBytes;
+    // Access-ordered; both guarded by cache
+    private final LinkedHashMap<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final Counter notModified;
+    private final Counter modified;
+    
+    public ConditionalGetClient(Client delegate, long maxBytes, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.notModified = meterRegistry.counter("feign.conditional.requests", "result", "not_modified");
+        this.modified = meterRegistry.counter("feign.conditional.requests", "result", "modified");
+    }
+    
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+        
+        String key = request.url();
+        CachedResponse cached = get(key);
+        Response response = delegate.execute(cached != null ? withIfNoneMatch(request, cached.eTag()) : request, options);
+        
+        if (response.status() == 304 && cached != null) {
+            response.close();
+            notModified.increment();
+            return Response.builder()
+                    .status(200)
+                    .reason("OK")
+                    .headers(cached.headers())
+                    .body(cached.body())
+                    .request(request)
+                    .build();
+        }
+        
+        if (response.status() == 200 && response.body() != null) {
+            String eTag = firstHeader(response, "ETag");
+            if (eTag != null) {
+                byte[] body;
+                try (response) {
+                    body = Util.toByteArray(response.body().asInputStream());
+                }
+                put(key, new CachedResponse(eTag, response.headers(), body));
+                if (cached != null) {
+                    modified.increment();
+                }
+                return response.toBuilder().body(body).build();
+            }
+        }
+        
+        if (response.status() == 404) {
+            remove(key);
+        }
+        return response;
+    }
+    
+    long cachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+    
+    private CachedResponse get(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+    
+    private void put(String key, CachedResponse response) {
+        long size = key.length() + response.size();
+        synchronized (cache) {
+            CachedResponse previous = cache.remove(key);
+            if (previous != null) {
+                cachedBytes -= key.length() + previous.size();
+            }
+            if (size > maxBytes) {
+                return;
+            }
+            cache.put(key, response);
+            cachedBytes += size;
+            Iterator<Map.Entry<String, CachedResponse>> eldest = cache.entrySet().iterator();
+            while (cachedBytes > maxBytes) {
+                Map.Entry<String, CachedResponse> entry = eldest.next();
+                eldest.remove();
+                cachedBytes -= entry.getKey().length() + entry.getValue().size();
+            }
+        }
+    }
+    
+    private void remove(String key) {
+        synchronized (cache) {
+            CachedResponse removed = cache.remove(key);
+            if (removed != null) {
+                cachedBytes -= key.length() + removed.size();
+            }
+        }
+    }
+    
+    private Request withIfNoneMatch(Request request, String eTag) {
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.put("If-None-Match", List.of(eTag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                request.charset(), request.requestTemplate());
+    }
+    
+    private String firstHeader(Response response, String name) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+    
+    private record CachedResponse(String eTag, Map<String, Collection<String>> headers, byte[] body) {
+        
+        // Approximate heap footprint: body plus header text, one byte per char
+        long size() {
+            long size = body.length;
+            for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+                size += header.getKey().length();
+                for (String value : header.getValue()) {
+                    size += value.length();
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.coworking.reservationservice.client;
+
+import com.coworking.reservationservice.rpc.DirectoryRpcCodec;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Calls the binary {@code /internal/rpc} endpoints of instances that
+ * advertise them in their Eureka metadata. Uses one HTTP/2 client, so
+ * lookups to the same instance are multiplexed over a single connection
+ * where the server accepts the h2c upgrade.
+ * <p>
+ * Each call runs in a "directory.rpc" observation, which times it and
+ * injects the trace context headers into the request. The Feign
+ * customizations (conditional GETs, the pooled connection manager and its
+ * metrics) do not apply to this channel.
+ */
+public class DirectoryRpcClient {
+    
+    static final String PROTOCOL_KEY = "rpc-protocol";
+    static final String PATH_KEY = "rpc-path";
+    static final String PROTOCOL = "protobuf";
+    
+    private final LoadBalancerClient loadBalancerClient;
+    private final ObservationRegistry observationRegistry;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    
+    public DirectoryRpcClient(LoadBalancerClient loadBalancerClient, ObservationRegistry observationRegistry,
+                              Duration connectTimeout, Duration timeout) {
+        this.loadBalancerClient = loadBalancerClient;
+        this.observationRegistry = observationRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.timeout = timeout;
+    }
+    
+    /**
+     * Picks an instance of the service that serves the binary protocol, or
+     * returns empty if the chosen instance does not.
+     */
+    public Optional<ServiceInstance> choose(String serviceId) {
+        ServiceInstance instance = loadBalancerClient.choose(serviceId);
+        if (instance == null || !PROTOCOL.equals(instance.getMetadata().get(PROTOCOL_KEY))) {
+            return Optional.empty();
+        }
+        return Optional.of(instance);
+    }
+    
+    /**
+     * Returns the response body, or empty if the resource does not exist.
+     */
+    public Optional<byte[]> get(ServiceInstance instance, String path) throws IOException {
+        return send(instance, "GET", path, HttpRequest.newBuilder(uri(instance, path)).GET());
+    }
+    
+    public Optional<byte[]> post(ServiceInstance instance, String path, byte[] body) throws IOException {
+        return send(instance, "POST", path, HttpRequest.newBuilder(uri(instance, path))
+                .header("Content-Type", DirectoryRpcCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+    }
+    
+    private Optional<byte[]> send(ServiceInstance instance, String method, String path, HttpRequest.Builder request)
+            throws IOException {
+        // The tracing handler writes the propagation headers into the request on start
+        RequestReplySenderContext<HttpRequest.Builder, HttpResponse<byte[]>> context =
+                new RequestReplySenderContext<>(HttpRequest.Builder::header);
+        context.setCarrier(request);
+        context.setRemoteServiceName(instance.getServiceId());
+        context.setRemoteServiceAddress(instance.getUri().toString());
+        Observation observation = Observation.createNotStarted("directory.rpc", () -> context, observationRegistry)
+                .contextualName(method + " " + instance.getServiceId())
+                .lowCardinalityKeyValue("service", instance.getServiceId())
+                .lowCardinalityKeyValue("method", method)
+                .highCardinalityKeyValue("path", path)
+                .start();
+        
+        HttpResponse<byte[]> response;
+        try (Observation.Scope scope = observation.openScope()) {
+            response = httpClient.send(request
+                    .header("Accept", DirectoryRpcCodec.MEDIA_TYPE)
+                    .timeout(timeout)
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            context.setResponse(response);
+            observation.lowCardinalityKeyValue("status", Integer.toString(response.statusCode()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted calling " + instance.getServiceId());
+            observation.error(interrupted);
+            throw interrupted;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+        
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(instance.getServiceId() + " answered " + response.statusCode());
+        }
+        return Optional.of(response.body());
+    }
+    
+    private URI uri(ServiceInstance instance, String path) {
+        String basePath = instance.getMetadata().getOrDefault(PATH_KEY, "/internal/rpc");
+        return URI.create(instance.getUri() + basePath + path);
+    }
+}
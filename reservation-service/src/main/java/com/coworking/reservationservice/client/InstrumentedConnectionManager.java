@@ -0,0 +1,159 @@
+package com.coworking.reservationservice.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Connection manager for the Feign clients. Delegates to a pool and records
+ * how long each lease waited and whether it got an open keep-alive
+ * connection or had to connect. Per-route limits are resolved the first
+ * time a route is leased, since routes are only known once the load
+ * balancer has picked an instance, and dropped again once the pool has no
+ * connections left for the route.
+ */
+public class InstrumentedConnectionManager implements HttpClientConnectionManager {
+    
+    private final PoolingHttpClientConnectionManager pool;
+    private final Function<HttpRoute, Integer> maxPerRoute;
+    private final Map<HttpRoute, Boolean> configuredRoutes = new ConcurrentHashMap<>();
+    private final Timer reusedLeases;
+    private final Timer newLeases;
+    private final Timer failedLeases;
+    private final LongAdder connects = new LongAdder();
+    
+    public InstrumentedConnectionManager(PoolingHttpClientConnectionManager pool,
+                                         Function<HttpRoute, Integer> maxPerRoute,
+                                         MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.maxPerRoute = maxPerRoute;
+        this.reusedLeases = Timer.builder("feign.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("reused", "true")
+                .register(meterRegistry);
+        this.newLeases = Timer.builder("feign.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("reused", "false")
+                .register(meterRegistry);
+        this.failedLeases = Timer.builder("feign.pool.lease.failed")
+                .description("Time spent waiting for a pooled connection that was not granted")
+                .register(meterRegistry);
+        FunctionCounter.builder("feign.pool.connects", connects, LongAdder::doubleValue)
+                .description("TCP connections opened by the Feign pool")
+                .register(meterRegistry);
+        Gauge.builder("feign.pool.reuse.ratio", this, InstrumentedConnectionManager::reuseRatio)
+                .description("Share of leases served by an already open connection")
+                .register(meterRegistry);
+    }
+    
+    public PoolingHttpClientConnectionManager getPool() {
+        return pool;
+    }
+    
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        if (!configuredRoutes.containsKey(route)) {
+            forgetDepartedRoutes();
+            configuredRoutes.computeIfAbsent(route, this::configure);
+        }
+        long start = System.nanoTime();
+        LeaseRequest lease = pool.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                ConnectionEndpoint endpoint;
+                try {
+                    endpoint = lease.get(timeout);
+                } catch (InterruptedException | ExecutionException | TimeoutException | RuntimeException e) {
+                    failedLeases.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+                Timer timer = endpoint.isConnected() ? reusedLeases : newLeases;
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return endpoint;
+            }
+            
+            @Override
+            public boolean cancel() {
+                return lease.cancel();
+            }
+        };
+    }
+    
+    @Override
+    public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+        pool.release(endpoint, newState, validDuration);
+    }
+    
+    @Override
+    public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context) throws IOException {
+        connects.increment();
+        pool.connect(endpoint, connectTimeout, context);
+    }
+    
+    @Override
+    public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+        pool.upgrade(endpoint, context);
+    }
+    
+    @Override
+    public void close(CloseMode closeMode) {
+        pool.close(closeMode);
+    }
+    
+    @Override
+    public void close() {
+        pool.close();
+    }
+    
+    // Every instance the load balancer picks is a new route, so routes come
+    // and go with deployments. New routes are rare, which makes one the
+    // moment to forget those whose connections have all expired; a route
+    // forgotten while a lease is starting is configured again on the next.
+    private void forgetDepartedRoutes() {
+        pool.closeExpired();
+        Set<HttpRoute> pooled = pool.getRoutes();
+        configuredRoutes.keySet().removeIf(known -> {
+            if (pooled.contains(known)) {
+                return false;
+            }
+            pool.setMaxPerRoute(known, -1);
+            return true;
+        });
+    }
+    
+    private Boolean configure(HttpRoute route) {
+        Integer max = maxPerRoute.apply(route);
+        if (max != null) {
+            pool.setMaxPerRoute(route, max);
+        }
+        return Boolean.TRUE;
+    }
+    
+    private double reuseRatio() {
+        long reused = reusedLeases.count();
+        long total = reused + newLeases.count();
+        return total == 0 ? Double.NaN : (double) reused / total;
+    }
+}
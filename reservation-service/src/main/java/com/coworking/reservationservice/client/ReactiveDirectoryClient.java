@@ -0,0 +1,40 @@
+package com.coworking.reservationservice.client;
+
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserClient} and {@link SpaceClient}.
+ * A missing user or space completes empty instead of failing.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveDirectoryClient {
+    
+    private final WebClient webClient;
+    
+    public ReactiveDirectoryClient(WebClient.Builder loadBalancedWebClientBuilder) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+    
+    public Mono<UserDto> getUserById(Long id) {
+        return webClient.get()
+                .uri("http://user-service/api/users/{id}", id)
+                .retrieve()
+                .bodyToMono(UserDto.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
+    }
+    
+    public Mono<SpaceDto> getSpaceById(Long id) {
+        return webClient.get()
+                .uri("http://space-service/api/spaces/{id}", id)
+                .retrieve()
+                .bodyToMono(SpaceDto.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty());
+    }
+}
@@ -0,0 +1,30 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.service.ReservationArchiver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "coworking.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ArchiveConfig {
+    
+    @Bean
+    public ReservationArchiver reservationArchiver(
+            ReservationRepository reservationRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${coworking.archive.retention:P30D}") Duration retention,
+            @Value("${coworking.archive.chunk-size:500}") int chunkSize,
+            @Value("${coworking.archive.max-chunks-per-run:200}") int maxChunksPerRun,
+            MeterRegistry meterRegistry) {
+        return new ReservationArchiver(reservationRepository, new TransactionTemplate(transactionManager),
+                retention, chunkSize, maxChunksPerRun, meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.availability.AvailabilityBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("!reactive")
+public class AvailabilityConfig {
+    
+    @Bean
+    public AvailabilityBroadcaster availabilityBroadcaster(
+            ObjectMapper objectMapper,
+            @Value("${coworking.availability.sender-threads:4}") int senderThreads,
+            @Value("${coworking.availability.max-subscribers:10000}") int maxSubscribers,
+            @Value("${coworking.availability.buffer-size:64}") int bufferSize,
+            @Value("${coworking.availability.timeout:PT30M}") Duration timeout,
+            @Value("${coworking.availability.write-timeout:PT5S}") Duration writeTimeout,
+            @Value("${coworking.availability.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+            MeterRegistry meterRegistry) {
+        return new AvailabilityBroadcaster(objectMapper, senderThreads, maxSubscribers, bufferSize,
+                timeout, writeTimeout, heartbeatInterval, meterRegistry);
+    }
+}
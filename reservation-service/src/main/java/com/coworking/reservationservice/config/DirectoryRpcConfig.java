@@ -0,0 +1,37 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.client.SpaceClient;
+import com.coworking.reservationservice.client.UserClient;
+import com.coworking.reservationservice.service.DirectoryLookup;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class DirectoryRpcConfig {
+    
+    @Bean
+    public DirectoryRpcClient directoryRpcClient(
+            LoadBalancerClient loadBalancerClient,
+            ObservationRegistry observationRegistry,
+            @Value("${coworking.rpc.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${coworking.rpc.timeout:2s}") Duration timeout) {
+        return new DirectoryRpcClient(loadBalancerClient, observationRegistry, connectTimeout, timeout);
+    }
+    
+    @Bean
+    public DirectoryLookup directoryLookup(
+            DirectoryRpcClient directoryRpcClient,
+            UserClient userClient,
+            SpaceClient spaceClient,
+            @Value("${coworking.rpc.enabled:true}") boolean rpcEnabled,
+            MeterRegistry meterRegistry) {
+        return new DirectoryLookup(directoryRpcClient, userClient, spaceClient, rpcEnabled, meterRegistry);
+    }
+}
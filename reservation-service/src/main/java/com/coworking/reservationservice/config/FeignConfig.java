@@ -0,0 +1,26 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.client.ConditionalGetClient;
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class FeignConfig {
+    
+    @Bean
+    public Capability conditionalGetCapability(
+            @Value("${coworking.feign.etag-cache.max-size:16MB}") DataSize maxSize,
+            MeterRegistry meterRegistry) {
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new ConditionalGetClient(client, maxSize.toBytes(), meterRegistry);
+            }
+        };
+    }
+}
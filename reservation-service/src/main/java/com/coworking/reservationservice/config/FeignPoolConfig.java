@@ -0,0 +1,76 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.client.InstrumentedConnectionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive connection pool for the Feign clients. Replaces the connection
+ * manager of Spring Cloud OpenFeign's Apache HttpClient 5 support, so the
+ * usual {@code spring.cloud.openfeign.httpclient.*} limits still apply;
+ * {@code coworking.feign.pool.max-per-service} overrides the per-route limit
+ * for the instances of a service.
+ */
+@Configuration
+public class FeignPoolConfig {
+    
+    @Bean
+    public InstrumentedConnectionManager feignConnectionManager(
+            FeignHttpClientProperties properties,
+            @Value("${coworking.feign.pool.socket-timeout:5s}") Duration socketTimeout,
+            DiscoveryClient discoveryClient,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(properties.getConnectionTimeout(), TimeUnit.MILLISECONDS)
+                        .setSocketTimeout((int) socketTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .setTimeToLive(properties.getTimeToLive(), properties.getTimeToLiveUnit())
+                        .build())
+                .build();
+        Map<String, Integer> maxPerService = Binder.get(environment)
+                .bind("coworking.feign.pool.max-per-service", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new InstrumentedConnectionManager(pool,
+                route -> maxPerRoute(route, maxPerService, discoveryClient), meterRegistry);
+    }
+    
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(InstrumentedConnectionManager feignConnectionManager) {
+        // Pending leases, leased and available connections
+        return new PoolingHttpClientConnectionManagerMetricsBinder(feignConnectionManager.getPool(), "feign");
+    }
+    
+    private static Integer maxPerRoute(HttpRoute route, Map<String, Integer> maxPerService,
+                                       DiscoveryClient discoveryClient) {
+        for (Map.Entry<String, Integer> entry : maxPerService.entrySet()) {
+            for (ServiceInstance instance : discoveryClient.getInstances(entry.getKey())) {
+                if (instance.getHost().equals(route.getTargetHost().getHostName())
+                        && instance.getPort() == route.getTargetHost().getPort()) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.service.ReservationHoldExpirer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "coworking.reservations.hold.enabled", havingValue = "true")
+public class HoldExpiryConfig {
+    
+    @Bean
+    public ReservationHoldExpirer reservationHoldExpirer(
+            ReservationRepository reservationRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${coworking.reservations.hold.ttl:PT15M}") Duration ttl,
+            @Value("${coworking.reservations.hold.chunk-size:500}") int chunkSize,
+            @Value("${coworking.reservations.hold.max-chunks-per-run:100}") int maxChunksPerRun,
+            MeterRegistry meterRegistry) {
+        return new ReservationHoldExpirer(reservationRepository, new TransactionTemplate(transactionManager),
+                eventPublisher, ttl, chunkSize, maxChunksPerRun, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.observability.WarmupHealthIndicator;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.service.ReservationArchiver;
+import com.coworking.reservationservice.service.ReservationHoldExpirer;
+import com.coworking.reservationservice.service.SpaceUsageRebuilder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager under the "lazy" profile: the warmup health check
+ * waits for them, startup jobs only run for beans that exist, and so do
+ * scheduled jobs.
+ */
+@Configuration
+public class LazyInitializationConfig {
+    
+    @Bean
+    public static LazyInitializationExcludeFilter warmupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(WarmupHealthIndicator.class,
+                ReservationPartitions.class, SpaceUsageRebuilder.class,
+                ReservationArchiver.class, ReservationHoldExpirer.class);
+    }
+}
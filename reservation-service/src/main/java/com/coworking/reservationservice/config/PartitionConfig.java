@@ -0,0 +1,31 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.repository.PartitionLayoutRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.WaitlistRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Configuration
+public class PartitionConfig {
+    
+    @Bean
+    public ReservationPartitions reservationPartitions(
+            ReservationRepository reservationRepository,
+            WaitlistRepository waitlistRepository,
+            PartitionLayoutRepository partitionLayoutRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${coworking.reservations.partition.unit:MONTHS}") ChronoUnit unit,
+            @Value("${coworking.reservations.partition.size:1}") int size,
+            @Value("${coworking.reservations.max-duration:P31D}") Duration maxDuration) {
+        return new ReservationPartitions(reservationRepository, waitlistRepository, partitionLayoutRepository,
+                new TransactionTemplate(transactionManager), unit, size, maxDuration);
+    }
+}
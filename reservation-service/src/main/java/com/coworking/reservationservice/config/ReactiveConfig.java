@@ -0,0 +1,90 @@
+package com.coworking.reservationservice.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+    
+    // Tomcat is on the classpath for the servlet mode and would otherwise be picked
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    // Only auto-configured for servlet apps, but Feign on the write path needs them
+    @Bean
+    public HttpMessageConverters feignHttpMessageConverters() {
+        return new HttpMessageConverters();
+    }
+    
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool r2dbcConnectionFactory(
+            @Value("${coworking.reactive.r2dbc.url:}") String r2dbcUrl,
+            @Value("${coworking.reactive.r2dbc.pool-max-size:20}") int maxSize,
+            DataSourceProperties dataSourceProperties) {
+        ConnectionFactory connectionFactory;
+        if (!r2dbcUrl.isBlank()) {
+            connectionFactory = ConnectionFactories.get(r2dbcUrl);
+        } else if (dataSourceProperties.getUrl() != null && dataSourceProperties.getUrl().startsWith(H2_JDBC_PREFIX)) {
+            connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                    .url(dataSourceProperties.getUrl().substring(H2_JDBC_PREFIX.length()))
+                    .username(dataSourceProperties.getUsername())
+                    .password(dataSourceProperties.getPassword())
+                    .build());
+        } else {
+            throw new IllegalStateException("R2DBC_URL must be set for non-H2 databases");
+        }
+        
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reservation-r2dbc-pool")
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofSeconds(3))
+                .build());
+    }
+    
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+    
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(
+            @Value("${coworking.reactive.http.max-connections:500}") int maxConnections,
+            ObjectProvider<WebClientCustomizer> customizers) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("directory")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(5))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
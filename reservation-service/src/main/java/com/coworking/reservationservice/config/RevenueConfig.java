@@ -0,0 +1,18 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.service.RevenueCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RevenueConfig {
+    
+    @Bean
+    public RevenueCalculator revenueCalculator(
+            @Value("${coworking.revenue.parallelism:4}") int parallelism,
+            @Value("${coworking.revenue.chunk-size:8192}") int chunkSize,
+            @Value("${coworking.revenue.max-chunks-in-flight:8}") int maxChunksInFlight) {
+        return new RevenueCalculator(parallelism, chunkSize, maxChunksInFlight);
+    }
+}
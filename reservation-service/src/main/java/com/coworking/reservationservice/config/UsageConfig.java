@@ -0,0 +1,28 @@
+package com.coworking.reservationservice.config;
+
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import com.coworking.reservationservice.service.SpaceUsageRebuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class UsageConfig {
+    
+    @Bean
+    public SpaceUsageRebuilder spaceUsageRebuilder(
+            ReservationRepository reservationRepository,
+            ArchivedReservationRepository archivedReservationRepository,
+            SpaceHourlyUsageRepository hourlyUsageRepository,
+            SpaceDailyUsageRepository dailyUsageRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${coworking.usage.rebuild.parallelism:4}") int parallelism) {
+        return new SpaceUsageRebuilder(reservationRepository, archivedReservationRepository,
+                hourlyUsageRepository, dailyUsageRepository, new TransactionTemplate(transactionManager), parallelism);
+    }
+}
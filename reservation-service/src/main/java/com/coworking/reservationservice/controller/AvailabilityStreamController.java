@@ -0,0 +1,38 @@
+package com.coworking.reservationservice.controller;
+
+import com.coworking.reservationservice.availability.AvailabilityBroadcaster;
+import com.coworking.reservationservice.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-sent availability of a space: a "snapshot" event with the booked
+ * intervals of the window (the next day by default), then a "delta" event
+ * per change. Replaces polling {@code GET /api/reservations/space/{spaceId}}.
+ */
+@RestController
+@RequestMapping("/api/reservations")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class AvailabilityStreamController {
+    
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final ReservationService reservationService;
+    
+    @GetMapping(path = "/space/{spaceId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @PathVariable Long spaceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(1);
+        return availabilityBroadcaster.subscribe(spaceId,
+                () -> reservationService.getAvailabilitySnapshot(spaceId, start, end));
+    }
+}
@@ -0,0 +1,78 @@
+package com.coworking.reservationservice.controller;
+
+import com.coworking.reservationservice.dto.CreateReservationRequest;
+import com.coworking.reservationservice.dto.ReservationDto;
+import com.coworking.reservationservice.service.ReactiveReservationService;
+import com.coworking.reservationservice.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Same API as {@link ReservationController} on the reactive stack. Lists are
+ * streamed; request them as application/x-ndjson to get one reservation per
+ * line as soon as it is enriched. Writes still go through the transactional
+ * JPA service, off the event loop.
+ */
+@RestController
+@RequestMapping("/api/reservations")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReservationController {
+    
+    private final ReactiveReservationService reactiveReservationService;
+    private final ReservationService reservationService;
+    
+    @GetMapping
+    public Flux<ReservationDto> getAllReservations() {
+        return reactiveReservationService.getAllReservations();
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ReservationDto> getReservationById(@PathVariable Long id) {
+        return reactiveReservationService.getReservationById(id);
+    }
+    
+    @GetMapping("/user/{userId}")
+    public Flux<ReservationDto> getReservationsByUserId(@PathVariable Long userId) {
+        return reactiveReservationService.getReservationsByUserId(userId);
+    }
+    
+    @GetMapping("/space/{spaceId}")
+    public Flux<ReservationDto> getReservationsBySpaceId(@PathVariable Long spaceId) {
+        return reactiveReservationService.getReservationsBySpaceId(spaceId);
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<ReservationDto>> createReservation(@Valid @RequestBody CreateReservationRequest createReservationRequest) {
+        return blocking(() -> reservationService.createReservation(createReservationRequest))
+                .map(reservation -> new ResponseEntity<>(reservation, HttpStatus.CREATED));
+    }
+    
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ReservationDto>> updateReservation(@PathVariable Long id, 
+                                                                @Valid @RequestBody CreateReservationRequest updateReservationRequest) {
+        return blocking(() -> reservationService.updateReservation(id, updateReservationRequest))
+                .map(ResponseEntity::ok);
+    }
+    
+    @PatchMapping("/{id}/cancel")
+    public Mono<ResponseEntity<Void>> cancelReservation(@PathVariable Long id) {
+        return blocking(() -> {
+            reservationService.cancelReservation(id);
+            return ResponseEntity.noContent().<Void>build();
+        });
+    }
+    
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -1,41 +1,77 @@
 package com.coworking.reservationservice.controller;
 
+import com.coworking.common.web.FieldSelection;
 import com.coworking.reservationservice.dto.CreateReservationRequest;
 import com.coworking.reservationservice.dto.ReservationDto;
 import com.coworking.reservationservice.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/reservations")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ReservationController {
     
     private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
     
+    // Read endpoints take ?fields=id,startTime,... and return only those fields
     @GetMapping
-    public ResponseEntity<List<ReservationDto>> getAllReservations() {
-        return ResponseEntity.ok(reservationService.getAllReservations());
+    public ResponseEntity<?> getAllReservations(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        return ResponseEntity.ok(selection.apply(reservationService.getAllReservations(selection), objectMapper));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id) {
-        return ResponseEntity.ok(reservationService.getReservationById(id));
+    public ResponseEntity<?> getReservationById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        return ResponseEntity.ok(selection.apply(reservationService.getReservationById(id, selection), objectMapper));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ReservationDto>> getReservationsByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(reservationService.getReservationsByUserId(userId));
+    public ResponseEntity<?> getReservationsByUserId(@PathVariable Long userId,
+                                                     @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        return ResponseEntity.ok(selection.apply(reservationService.getReservationsByUserId(userId, selection), objectMapper));
     }
     
     @GetMapping("/space/{spaceId}")
-    public ResponseEntity<List<ReservationDto>> getReservationsBySpaceId(@PathVariable Long spaceId) {
-        return ResponseEntity.ok(reservationService.getReservationsBySpaceId(spaceId));
+    public ResponseEntity<?> getReservationsBySpaceId(
+            @PathVariable Long spaceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        if (from != null && to != null) {
+            return ResponseEntity.ok(selection.apply(
+                    reservationService.getReservationsBySpaceId(spaceId, from, to, selection), objectMapper));
+        }
+        return ResponseEntity.ok(selection.apply(reservationService.getReservationsBySpaceId(spaceId, selection), objectMapper));
+    }
+    
+    @GetMapping("/history/user/{userId}")
+    public ResponseEntity<?> getReservationHistoryByUserId(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        return ResponseEntity.ok(selection.apply(
+                reservationService.getReservationHistoryByUserId(userId, selection), objectMapper));
+    }
+    
+    @GetMapping("/history/space/{spaceId}")
+    public ResponseEntity<?> getReservationHistoryBySpaceId(@PathVariable Long spaceId,
+                                                            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, ReservationDto.class);
+        return ResponseEntity.ok(selection.apply(
+                reservationService.getReservationHistoryBySpaceId(spaceId, selection), objectMapper));
     }
     
     @PostMapping
@@ -49,6 +85,11 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.updateReservation(id, updateReservationRequest));
     }
     
+    @PatchMapping("/{id}/confirm")
+    public ResponseEntity<ReservationDto> confirmReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.confirmReservation(id));
+    }
+    
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<Void> cancelReservation(@PathVariable Long id) {
         reservationService.cancelReservation(id);
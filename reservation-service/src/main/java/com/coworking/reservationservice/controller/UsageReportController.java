@@ -0,0 +1,54 @@
+package com.coworking.reservationservice.controller;
+
+import com.coworking.reservationservice.dto.HourlyOccupancyDto;
+import com.coworking.reservationservice.dto.RevenueReportDto;
+import com.coworking.reservationservice.dto.SpaceUtilizationDto;
+import com.coworking.reservationservice.service.RevenueService;
+import com.coworking.reservationservice.service.UsageReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Without a period the reports cover the last three months up to today.
+ */
+@RestController
+@RequestMapping("/api/reservations/reports")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class UsageReportController {
+    
+    private final UsageReportService usageReportService;
+    private final RevenueService revenueService;
+    
+    @GetMapping("/utilization")
+    public ResponseEntity<List<SpaceUtilizationDto>> getUtilizationBySpace(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(usageReportService.getUtilizationBySpace(
+                from != null ? from : end.minusMonths(3), end));
+    }
+    
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<HourlyOccupancyDto>> getOccupancyByHourOfDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(usageReportService.getOccupancyByHourOfDay(
+                from != null ? from : end.minusMonths(3), end));
+    }
+    
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueReportDto> getRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(revenueService.getRevenue(from != null ? from : end.minusMonths(3), end));
+    }
+}
@@ -0,0 +1,44 @@
+package com.coworking.reservationservice.controller;
+
+import com.coworking.reservationservice.dto.CreateReservationRequest;
+import com.coworking.reservationservice.dto.WaitlistEntryDto;
+import com.coworking.reservationservice.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations/waitlist")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class WaitlistController {
+    
+    private final WaitlistService waitlistService;
+    
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(
+            @Valid @RequestBody CreateReservationRequest createReservationRequest) {
+        return new ResponseEntity<>(waitlistService.joinWaitlist(createReservationRequest), HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> getWaitlistEntry(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.getWaitlistEntry(id));
+    }
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WaitlistEntryDto>> getWaitlistEntriesByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getWaitlistEntriesByUserId(userId));
+    }
+    
+    @PatchMapping("/{id}/cancel")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long id) {
+        waitlistService.leaveWaitlist(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.coworking.reservationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyOccupancyDto {
+    private int hourOfDay;
+    private long bookedMinutes;
+    /**
+     * Most spaces booked within a single hour of this hour of the day.
+     */
+    private long peakConcurrency;
+}
@@ -4,7 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -12,7 +13,14 @@ import java.time.LocalDate;
 public class ReservationDto {
     private Long id;
     private Long userId;
+    private String userName;
     private Long spaceId;
-    private LocalDate date;
+    private String spaceName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    private String notes;
+    private BigDecimal pricePerHour;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
-
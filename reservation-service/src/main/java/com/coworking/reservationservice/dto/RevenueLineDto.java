@@ -0,0 +1,17 @@
+package com.coworking.reservationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueLineDto {
+    private Long id;
+    private BigDecimal amount;
+    private long bookedMinutes;
+    private long reservations;
+}
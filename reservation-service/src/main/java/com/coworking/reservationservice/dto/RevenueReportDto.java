@@ -0,0 +1,26 @@
+package com.coworking.reservationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReportDto {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal total;
+    private long bookedMinutes;
+    private long reservations;
+    /**
+     * Reservations made before prices were recorded, left out of the totals.
+     */
+    private long unpricedReservations;
+    private List<RevenueLineDto> bySpace;
+    private List<RevenueLineDto> byUser;
+}
@@ -0,0 +1,22 @@
+package com.coworking.reservationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpaceUtilizationDto {
+    private Long spaceId;
+    private String spaceName;
+    private long bookedMinutes;
+    private long bookingCount;
+    private long bookedDays;
+    /**
+     * Booked share of the opening hours in the period, null when the space
+     * could not be resolved.
+     */
+    private Double utilization;
+    private Integer peakHour;
+}
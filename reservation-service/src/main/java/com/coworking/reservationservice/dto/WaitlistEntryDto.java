@@ -0,0 +1,23 @@
+package com.coworking.reservationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDto {
+    private Long id;
+    private Long userId;
+    private Long spaceId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    private String notes;
+    private Long reservationId;
+    private LocalDateTime createdAt;
+    private LocalDateTime promotedAt;
+}
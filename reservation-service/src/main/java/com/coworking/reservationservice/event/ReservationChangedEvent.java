@@ -0,0 +1,12 @@
+package com.coworking.reservationservice.event;
+
+/**
+ * Published inside the transaction that changes a reservation. {@code before}
+ * is null for a new reservation.
+ */
+public record ReservationChangedEvent(ReservationSnapshot before, ReservationSnapshot after) {
+    
+    public static ReservationChangedEvent created(ReservationSnapshot after) {
+        return new ReservationChangedEvent(null, after);
+    }
+}
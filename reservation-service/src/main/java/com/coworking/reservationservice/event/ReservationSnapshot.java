@@ -0,0 +1,29 @@
+package com.coworking.reservationservice.event;
+
+import com.coworking.reservationservice.model.Reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the fields listeners need, taken before or after a
+ * change so both sides survive later mutation of the entity.
+ */
+public record ReservationSnapshot(
+        Long id,
+        Long userId,
+        Long spaceId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status) {
+
+    public static ReservationSnapshot of(Reservation reservation) {
+        return new ReservationSnapshot(
+                reservation.getId(),
+                reservation.getUserId(),
+                reservation.getSpaceId(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                reservation.getStatus()
+        );
+    }
+}
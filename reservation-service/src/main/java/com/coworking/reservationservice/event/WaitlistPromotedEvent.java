@@ -0,0 +1,8 @@
+package com.coworking.reservationservice.event;
+
+/**
+ * A waiting request got the slot it asked for. The new reservation is
+ * CONFIRMED, since joining the waitlist already was the request to book.
+ */
+public record WaitlistPromotedEvent(Long waitlistEntryId, ReservationSnapshot reservation) {
+}
@@ -0,0 +1,8 @@
+package com.coworking.reservationservice.exception;
+
+public class StreamCapacityException extends RuntimeException {
+    
+    public StreamCapacityException(String message) {
+        super(message);
+    }
+}
@@ -2,7 +2,9 @@ package com.coworking.reservationservice.mapper;
 
 import com.coworking.reservationservice.dto.CreateReservationRequest;
 import com.coworking.reservationservice.dto.ReservationDto;
+import com.coworking.reservationservice.model.ArchivedReservation;
 import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ReservationSlot;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,10 +15,16 @@ public interface ReservationMapper {
     
     ReservationDto toDto(Reservation reservation);
     
+    ReservationDto toDto(ArchivedReservation archivedReservation);
+    
+    ReservationDto toDto(ReservationSlot reservationSlot);
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "status", constant = "PENDING")
     @Mapping(target = "createdAt", expression = "java(LocalDateTime.now())")
     @Mapping(target = "updatedAt", expression = "java(LocalDateTime.now())")
+    @Mapping(target = "partitionKey", ignore = true)
+    @Mapping(target = "pricePerHour", ignore = true)
     Reservation toEntity(CreateReservationRequest createReservationRequest);
 }
 
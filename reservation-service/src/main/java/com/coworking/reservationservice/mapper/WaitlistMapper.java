@@ -0,0 +1,23 @@
+package com.coworking.reservationservice.mapper;
+
+import com.coworking.reservationservice.dto.CreateReservationRequest;
+import com.coworking.reservationservice.dto.WaitlistEntryDto;
+import com.coworking.reservationservice.model.WaitlistEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.LocalDateTime;
+
+@Mapper(componentModel = "spring", imports = LocalDateTime.class)
+public interface WaitlistMapper {
+    
+    WaitlistEntryDto toDto(WaitlistEntry waitlistEntry);
+    
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", constant = "WAITING")
+    @Mapping(target = "partitionKey", ignore = true)
+    @Mapping(target = "reservationId", ignore = true)
+    @Mapping(target = "createdAt", expression = "java(LocalDateTime.now())")
+    @Mapping(target = "promotedAt", ignore = true)
+    WaitlistEntry toEntity(CreateReservationRequest createReservationRequest);
+}
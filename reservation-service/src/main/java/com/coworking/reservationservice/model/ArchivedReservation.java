@@ -0,0 +1,60 @@
+package com.coworking.reservationservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Past and cancelled reservations moved out of the live table by the
+ * {@code ReservationArchiver}. Keeps the original id; only read by the
+ * history queries.
+ */
+@Entity
+@Table(name = "reservations_archive", indexes = {
+        @Index(name = "idx_reservations_archive_user", columnList = "userId, startTime"),
+        @Index(name = "idx_reservations_archive_space", columnList = "spaceId, startTime"),
+        @Index(name = "idx_reservations_archive_start", columnList = "startTime")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReservation {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long spaceId;
+    
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    private String notes;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    @Column(precision = 10, scale = 2)
+    private BigDecimal pricePerHour;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,42 @@
+package com.coworking.reservationservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The layout the stored partition keys were computed with, see
+ * {@code ReservationPartitions}.
+ */
+@Entity
+@Table(name = "partition_layouts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionLayout {
+    
+    @Id
+    private String name;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChronoUnit unit;
+    
+    @Column(nullable = false)
+    private int size;
+    
+    /**
+     * No stored reservation lasts longer: the largest maximum duration ever
+     * enforced, or a longer reservation made before there was one.
+     */
+    @Column(nullable = false)
+    private long longestReservationSeconds;
+}
@@ -1,31 +1,66 @@
 package com.coworking.reservationservice.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_space_partition", columnList = "spaceId, partitionKey, startTime"),
+        @Index(name = "idx_reservations_partition", columnList = "partitionKey"),
+        @Index(name = "idx_reservations_status_created", columnList = "status, createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
     
+    @Column(nullable = false)
     private Long userId;
     
+    @Column(nullable = false)
     private Long spaceId;
     
-    private LocalDate date;
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    private String notes;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Time partition of {@link #startTime}, see {@code ReservationPartitions}.
+     */
+    private Integer partitionKey;
+    
+    /**
+     * Price of the space when the reservation was made, so billing never
+     * depends on the current price.
+     */
+    @Column(precision = 10, scale = 2)
+    private BigDecimal pricePerHour;
 }
-
@@ -0,0 +1,41 @@
+package com.coworking.reservationservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booked minutes per space and hour, kept in step with the reservations by
+ * {@code SpaceUsageAggregator}. {@code bookingCount} counts the reservations
+ * starting in the hour.
+ */
+@Entity
+@Table(name = "space_usage_hourly", indexes = {
+        @Index(name = "idx_space_usage_hourly_bucket", columnList = "bucketStart")
+})
+@IdClass(SpaceUsageId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpaceHourlyUsage {
+    
+    @Id
+    private Long spaceId;
+    
+    @Id
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false)
+    private long bookedMinutes;
+    
+    @Column(nullable = false)
+    private int bookingCount;
+}
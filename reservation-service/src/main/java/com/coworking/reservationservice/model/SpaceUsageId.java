@@ -0,0 +1,16 @@
+package com.coworking.reservationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpaceUsageId implements Serializable {
+    private Long spaceId;
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,65 @@
+package com.coworking.reservationservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A request for a slot that was taken when it was made. Waiting entries are
+ * indexed like reservations, by space and start partition, so freeing a slot
+ * only reads the entries that can overlap it.
+ */
+@Entity
+@Table(name = "reservation_waitlist", indexes = {
+        @Index(name = "idx_waitlist_space_partition", columnList = "spaceId, status, partitionKey, startTime"),
+        @Index(name = "idx_waitlist_user", columnList = "userId, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_waitlist_seq")
+    @SequenceGenerator(name = "reservation_waitlist_seq", sequenceName = "reservation_waitlist_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long spaceId;
+    
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+    
+    @Column(nullable = false)
+    private Integer partitionKey;
+    
+    /**
+     * WAITING, PROMOTED or CANCELLED.
+     */
+    @Column(nullable = false)
+    private String status;
+    
+    private String notes;
+    
+    private Long reservationId;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime promotedAt;
+}
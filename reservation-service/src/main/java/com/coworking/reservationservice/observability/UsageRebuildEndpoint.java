@@ -0,0 +1,22 @@
+package com.coworking.reservationservice.observability;
+
+import com.coworking.reservationservice.service.SpaceUsageRebuilder;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "usagerebuild")
+public class UsageRebuildEndpoint {
+    
+    private final SpaceUsageRebuilder spaceUsageRebuilder;
+    
+    public UsageRebuildEndpoint(SpaceUsageRebuilder spaceUsageRebuilder) {
+        this.spaceUsageRebuilder = spaceUsageRebuilder;
+    }
+    
+    @WriteOperation
+    public SpaceUsageRebuilder.RebuildResult rebuild() {
+        return spaceUsageRebuilder.rebuild();
+    }
+}
@@ -0,0 +1,70 @@
+package com.coworking.reservationservice.observability;
+
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.service.SpaceUsageRebuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE until the partition keys are assigned, the usage
+ * aggregates are built, and the first queries and the load balancer caches
+ * for user-service and space-service are warm. Neither the readiness probe
+ * nor Eureka send traffic before that. A failed warmup is retried on the
+ * next health check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    
+    private final ReservationRepository reservationRepository;
+    private final DirectoryRpcClient directoryRpcClient;
+    private final ReservationPartitions reservationPartitions;
+    private final SpaceUsageRebuilder spaceUsageRebuilder;
+    
+    private volatile boolean started;
+    private volatile boolean warm;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        started = true;
+        warmUp();
+    }
+    
+    synchronized void warmUp() {
+        if (warm) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            reservationRepository.count();
+            directoryRpcClient.choose("user-service");
+            directoryRpcClient.choose("space-service");
+            warm = true;
+            log.info("Warmup finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Warmup failed, retrying on the next health check: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public Health health() {
+        if (started && !warm) {
+            warmUp();
+        }
+        boolean partitioned = reservationPartitions.isReady();
+        boolean aggregated = spaceUsageRebuilder.isReady();
+        return (warm && partitioned && aggregated ? Health.up() : Health.outOfService())
+                .withDetail("warmup", warm ? "done" : "pending")
+                .withDetail("partitions", partitioned ? "ready" : "pending")
+                .withDetail("usageAggregates", aggregated ? "ready" : "pending")
+                .build();
+    }
+}
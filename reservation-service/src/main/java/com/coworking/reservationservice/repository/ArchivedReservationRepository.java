@@ -0,0 +1,31 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.ArchivedReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+    
+    List<ArchivedReservation> findByUserIdOrderByStartTimeDesc(Long userId);
+    
+    List<ArchivedReservation> findBySpaceIdOrderByStartTimeDesc(Long spaceId);
+    
+    @Query("SELECT DISTINCT a.spaceId FROM ArchivedReservation a")
+    List<Long> findDistinctSpaceIds();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.coworking.reservationservice.repository.RevenueRow(" +
+           "a.spaceId, a.userId, a.startTime, a.endTime, a.pricePerHour) FROM ArchivedReservation a " +
+           "WHERE a.startTime >= :from AND a.startTime < :to AND a.status NOT IN ('CANCELLED', 'EXPIRED')")
+    Stream<RevenueRow> streamRevenueRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.coworking.reservationservice.repository;
+
+public interface HourOfDayUsage {
+    
+    Long getSpaceId();
+    
+    Integer getHourOfDay();
+    
+    Long getBookedMinutes();
+    
+    Long getPeakConcurrency();
+}
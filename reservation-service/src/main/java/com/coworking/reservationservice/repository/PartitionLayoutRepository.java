@@ -0,0 +1,9 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.PartitionLayout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PartitionLayoutRepository extends JpaRepository<PartitionLayout, String> {
+}
@@ -0,0 +1,71 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.Reservation;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC access to the reservations table for the reactive profile.
+ * Rows are emitted as they are fetched, so callers control the pace.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReservationRepository {
+    
+    private static final String SELECT = "SELECT id, user_id, space_id, start_time, end_time, status, notes, " +
+            "created_at, updated_at, partition_key, price_per_hour FROM reservations";
+    
+    private final DatabaseClient databaseClient;
+    
+    public Flux<Reservation> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveReservationRepository::toReservation)
+                .all();
+    }
+    
+    public Mono<Reservation> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveReservationRepository::toReservation)
+                .one();
+    }
+    
+    public Flux<Reservation> findByUserId(Long userId) {
+        return databaseClient.sql(SELECT + " WHERE user_id = :userId ORDER BY id")
+                .bind("userId", userId)
+                .map(ReactiveReservationRepository::toReservation)
+                .all();
+    }
+    
+    public Flux<Reservation> findBySpaceId(Long spaceId) {
+        return databaseClient.sql(SELECT + " WHERE space_id = :spaceId ORDER BY id")
+                .bind("spaceId", spaceId)
+                .map(ReactiveReservationRepository::toReservation)
+                .all();
+    }
+    
+    private static Reservation toReservation(Readable row) {
+        return new Reservation(
+                row.get("id", Long.class),
+                row.get("user_id", Long.class),
+                row.get("space_id", Long.class),
+                row.get("start_time", LocalDateTime.class),
+                row.get("end_time", LocalDateTime.class),
+                row.get("status", String.class),
+                row.get("notes", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("partition_key", Integer.class),
+                row.get("price_per_hour", BigDecimal.class)
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.PartitionLayout;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.model.WaitlistEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Splits reservations into fixed periods of their start time (a month by
+ * default) and routes time-bounded queries to the partitions their window
+ * can touch. The partition key leads the composite index, so a query only
+ * reads the index ranges of those partitions, however long the history.
+ * <p>
+ * A reservation starting before the window can still overlap it, so the
+ * lower bound is moved back by the longest a stored reservation can last:
+ * the maximum length enforced on writes, or longer if an earlier maximum or
+ * a reservation from before partitioning was.
+ * <p>
+ * The keys are assigned before the web server starts. Rows without one are
+ * filled in, and all rows are keyed again when the partition unit or size
+ * differs from the layout recorded in the database. Change the layout with
+ * every instance stopped; one still running would keep writing old keys.
+ */
+@Slf4j
+public class ReservationPartitions implements SmartInitializingSingleton {
+    
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final String LAYOUT = "reservations";
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    
+    private final ReservationRepository reservationRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final PartitionLayoutRepository partitionLayoutRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChronoUnit unit;
+    private final int size;
+    private final Duration maxDuration;
+    
+    private volatile Duration lookback;
+    private volatile boolean ready;
+    
+    public ReservationPartitions(ReservationRepository reservationRepository, WaitlistRepository waitlistRepository,
+                                 PartitionLayoutRepository partitionLayoutRepository,
+                                 TransactionTemplate transactionTemplate, ChronoUnit unit, int size,
+                                 Duration maxDuration) {
+        if (size < 1 || unit.compareTo(ChronoUnit.DAYS) < 0) {
+            throw new IllegalArgumentException("Partitions must span at least one day");
+        }
+        this.reservationRepository = reservationRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.partitionLayoutRepository = partitionLayoutRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.unit = unit;
+        this.size = size;
+        this.maxDuration = maxDuration;
+        this.lookback = maxDuration;
+    }
+    
+    public int keyOf(LocalDateTime startTime) {
+        return (int) Math.floorDiv(unit.between(EPOCH, startTime), size);
+    }
+    
+    /**
+     * The lowest partition holding a reservation that can overlap a window
+     * starting at {@code from}.
+     */
+    public int firstKeyOverlapping(LocalDateTime from) {
+        return keyOf(from.minus(lookback));
+    }
+    
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+    
+    public Duration getLookback() {
+        return lookback;
+    }
+    
+    /**
+     * Whether every row carries a key of the current layout.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public List<Reservation> findOverlapping(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        return reservationRepository.findOverlappingReservations(spaceId, startTime, endTime,
+                firstKeyOverlapping(startTime), keyOf(endTime));
+    }
+    
+    public List<Reservation> findBySpaceInWindow(Long spaceId, LocalDateTime from, LocalDateTime to) {
+        return reservationRepository.findBySpaceIdInWindow(spaceId, from, to,
+                firstKeyOverlapping(from), keyOf(to));
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        Optional<PartitionLayout> stored = transactionTemplate.execute(status ->
+                partitionLayoutRepository.findById(LAYOUT));
+        Duration longest = maxDuration;
+        if (stored.isPresent() && stored.get().getUnit() == unit && stored.get().getSize() == size) {
+            longest = max(longest, Duration.ofSeconds(stored.get().getLongestReservationSeconds()));
+            longest = max(longest, backfill());
+        } else {
+            stored.ifPresent(layout -> log.warn("Partition layout changed from {} {} to {} {}, re-keying reservations",
+                    layout.getSize(), layout.getUnit(), size, unit));
+            longest = max(longest, rekey());
+        }
+        
+        PartitionLayout layout = new PartitionLayout(LAYOUT, unit, size, longest.toSeconds());
+        try {
+            transactionTemplate.executeWithoutResult(status -> partitionLayoutRepository.save(layout));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance sharing the database recorded it first
+        }
+        lookback = longest;
+        ready = true;
+        if (longest.compareTo(maxDuration) > 0) {
+            log.info("Stored reservations last up to {} days, partition lookups reach back that far",
+                    longest.toDays());
+        }
+    }
+    
+    // Rows written before partitioning, or by an instance that predates it,
+    // have no key yet. Returns the longest of them.
+    private Duration backfill() {
+        Duration longest = Duration.ZERO;
+        int updated = 0;
+        List<Reservation> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Reservation> reservations = reservationRepository.findByPartitionKeyIsNull(
+                        Limit.of(BACKFILL_CHUNK_SIZE));
+                reservations.forEach(reservation -> reservation.setPartitionKey(keyOf(reservation.getStartTime())));
+                return reservations;
+            });
+            longest = max(longest, longestOf(chunk));
+            updated += chunk.size();
+        } while (chunk.size() == BACKFILL_CHUNK_SIZE);
+        
+        if (updated > 0) {
+            log.info("Assigned partitions to {} reservations", updated);
+        }
+        return longest;
+    }
+    
+    // Keys every reservation and waitlist entry with the current layout.
+    // Returns the longest reservation.
+    private Duration rekey() {
+        Duration longest = Duration.ZERO;
+        int updated = 0;
+        long lastId = 0;
+        List<Reservation> chunk;
+        do {
+            long after = lastId;
+            chunk = transactionTemplate.execute(status -> {
+                List<Reservation> reservations = reservationRepository.findByIdGreaterThanOrderById(after,
+                        Limit.of(BACKFILL_CHUNK_SIZE));
+                reservations.forEach(reservation -> reservation.setPartitionKey(keyOf(reservation.getStartTime())));
+                return reservations;
+            });
+            longest = max(longest, longestOf(chunk));
+            updated += chunk.size();
+            lastId = chunk.isEmpty() ? lastId : chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == BACKFILL_CHUNK_SIZE);
+        
+        lastId = 0;
+        int waitlisted;
+        do {
+            long after = lastId;
+            List<WaitlistEntry> entries = transactionTemplate.execute(status -> {
+                List<WaitlistEntry> found = waitlistRepository.findByIdGreaterThanOrderById(after,
+                        Limit.of(BACKFILL_CHUNK_SIZE));
+                found.forEach(entry -> entry.setPartitionKey(keyOf(entry.getStartTime())));
+                return found;
+            });
+            waitlisted = entries.size();
+            lastId = entries.isEmpty() ? lastId : entries.get(entries.size() - 1).getId();
+        } while (waitlisted == BACKFILL_CHUNK_SIZE);
+        
+        log.info("Keyed {} reservations with {} {} partitions", updated, size, unit);
+        return longest;
+    }
+    
+    private static Duration longestOf(List<Reservation> reservations) {
+        return reservations.stream()
+                .map(reservation -> Duration.between(reservation.getStartTime(), reservation.getEndTime()))
+                .reduce(Duration.ZERO, ReservationPartitions::max);
+    }
+    
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -1,13 +1,22 @@
 package com.coworking.reservationservice.repository;
 
 import com.coworking.reservationservice.model.Reservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
@@ -16,13 +25,81 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     
     List<Reservation> findBySpaceId(Long spaceId);
     
+    // Dynamic projections, only the columns of the given type are selected
+    <T> List<T> findAllProjectedBy(Class<T> type);
+    
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+    
+    <T> List<T> findByUserId(Long userId, Class<T> type);
+    
+    <T> List<T> findBySpaceId(Long spaceId, Class<T> type);
+    
+    @Query("SELECT DISTINCT r.spaceId FROM Reservation r")
+    List<Long> findDistinctSpaceIds();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.coworking.reservationservice.repository.RevenueRow(" +
+           "r.spaceId, r.userId, r.startTime, r.endTime, r.pricePerHour) FROM Reservation r " +
+           "WHERE r.partitionKey BETWEEN :fromPartition AND :toPartition AND " +
+           "r.startTime >= :from AND r.startTime < :to AND r.status NOT IN ('CANCELLED', 'EXPIRED')")
+    Stream<RevenueRow> streamRevenueRows(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("fromPartition") int fromPartition,
+            @Param("toPartition") int toPartition);
+    
+    // Callers pass the partition range of the window, see ReservationPartitions.
+    // Rows without a key can still come from an instance of the previous
+    // version during a rolling upgrade, and a conflict must never be missed.
     @Query("SELECT r FROM Reservation r WHERE r.spaceId = :spaceId AND " +
+           "(r.partitionKey BETWEEN :fromPartition AND :toPartition OR r.partitionKey IS NULL) AND " +
            "((r.startTime <= :endTime AND r.endTime >= :startTime) OR " +
            "(r.startTime >= :startTime AND r.startTime < :endTime)) AND " +
-           "r.status != 'CANCELLED'")
+           "r.status NOT IN ('CANCELLED', 'EXPIRED')")
     List<Reservation> findOverlappingReservations(
             @Param("spaceId") Long spaceId,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("endTime") LocalDateTime endTime,
+            @Param("fromPartition") int fromPartition,
+            @Param("toPartition") int toPartition);
+    
+    @Query("SELECT r FROM Reservation r WHERE r.spaceId = :spaceId AND " +
+           "(r.partitionKey BETWEEN :fromPartition AND :toPartition OR r.partitionKey IS NULL) AND " +
+           "r.startTime < :to AND r.endTime > :from ORDER BY r.startTime")
+    List<Reservation> findBySpaceIdInWindow(
+            @Param("spaceId") Long spaceId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("fromPartition") int fromPartition,
+            @Param("toPartition") int toPartition);
+    
+    List<Reservation> findByPartitionKeyIsNull(Limit limit);
+    
+    List<Reservation> findByIdGreaterThanOrderById(Long id, Limit limit);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+    
+    // Locks the holds so a concurrent confirm waits for the expiry to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.status = 'PENDING' AND r.createdAt < :cutoff ORDER BY r.id")
+    List<Reservation> findStaleHolds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = 'EXPIRED', r.updatedAt = :now " +
+           "WHERE r.id IN :ids AND r.status = 'PENDING'")
+    int expireHolds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.id FROM Reservation r WHERE r.endTime < :cutoff OR " +
+           "(r.status IN ('CANCELLED', 'EXPIRED') AND r.updatedAt < :cutoff) ORDER BY r.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+    
+    @Modifying
+    @Query(value = "INSERT INTO reservations_archive " +
+                   "(id, user_id, space_id, start_time, end_time, status, notes, created_at, updated_at, price_per_hour, archived_at) " +
+                   "SELECT id, user_id, space_id, start_time, end_time, status, notes, created_at, updated_at, price_per_hour, :archivedAt " +
+                   "FROM reservations WHERE id IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
 }
 
@@ -0,0 +1,22 @@
+package com.coworking.reservationservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a booking grid needs; reads through it skip notes, prices and
+ * audit timestamps.
+ */
+public interface ReservationSlot {
+    
+    Long getId();
+    
+    Long getUserId();
+    
+    Long getSpaceId();
+    
+    LocalDateTime getStartTime();
+    
+    LocalDateTime getEndTime();
+    
+    String getStatus();
+}
@@ -0,0 +1,16 @@
+package com.coworking.reservationservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns revenue needs, read without loading entities so a streamed
+ * period never fills the persistence context.
+ */
+public record RevenueRow(
+        Long spaceId,
+        Long userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BigDecimal pricePerHour) {
+}
@@ -0,0 +1,44 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.SpaceDailyUsage;
+import com.coworking.reservationservice.model.SpaceUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpaceDailyUsageRepository extends JpaRepository<SpaceDailyUsage, SpaceUsageId> {
+    
+    // Adds the deltas in place, so concurrent writers to the same day never overwrite each other
+    @Modifying
+    @Query(value = "MERGE INTO space_usage_daily t USING (VALUES (CAST(:spaceId AS BIGINT), " +
+                   "CAST(:bucketStart AS TIMESTAMP), CAST(:minutes AS BIGINT), CAST(:count AS INT))) " +
+                   "AS s(space_id, bucket_start, minutes, cnt) " +
+                   "ON t.space_id = s.space_id AND t.bucket_start = s.bucket_start " +
+                   "WHEN MATCHED THEN UPDATE SET booked_minutes = t.booked_minutes + s.minutes, " +
+                   "booking_count = t.booking_count + s.cnt " +
+                   "WHEN NOT MATCHED THEN INSERT (space_id, bucket_start, booked_minutes, booking_count) " +
+                   "VALUES (s.space_id, s.bucket_start, s.minutes, s.cnt)", nativeQuery = true)
+    int addUsage(@Param("spaceId") Long spaceId, @Param("bucketStart") LocalDateTime bucketStart,
+                 @Param("minutes") long minutes, @Param("count") int count);
+    
+    @Query("SELECT u.spaceId AS spaceId, SUM(u.bookedMinutes) AS bookedMinutes, " +
+           "SUM(u.bookingCount) AS bookingCount, COUNT(u) AS bookedDays FROM SpaceDailyUsage u " +
+           "WHERE u.bucketStart >= :from AND u.bucketStart < :to AND u.bookedMinutes > 0 " +
+           "GROUP BY u.spaceId ORDER BY u.spaceId")
+    List<SpaceUsageTotals> sumBySpace(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Query("DELETE FROM SpaceDailyUsage u WHERE u.spaceId = :spaceId")
+    int deleteBySpaceId(@Param("spaceId") Long spaceId);
+    
+    @Modifying
+    @Query("DELETE FROM SpaceDailyUsage u WHERE u.spaceId NOT IN :spaceIds")
+    int deleteBySpaceIdNotIn(@Param("spaceIds") Collection<Long> spaceIds);
+}
@@ -0,0 +1,54 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.SpaceHourlyUsage;
+import com.coworking.reservationservice.model.SpaceUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpaceHourlyUsageRepository extends JpaRepository<SpaceHourlyUsage, SpaceUsageId> {
+    
+    // Adds the deltas in place, so concurrent writers to the same hour never overwrite each other
+    @Modifying
+    @Query(value = "MERGE INTO space_usage_hourly t USING (VALUES (CAST(:spaceId AS BIGINT), " +
+                   "CAST(:bucketStart AS TIMESTAMP), CAST(:minutes AS BIGINT), CAST(:count AS INT))) " +
+                   "AS s(space_id, bucket_start, minutes, cnt) " +
+                   "ON t.space_id = s.space_id AND t.bucket_start = s.bucket_start " +
+                   "WHEN MATCHED THEN UPDATE SET booked_minutes = t.booked_minutes + s.minutes, " +
+                   "booking_count = t.booking_count + s.cnt " +
+                   "WHEN NOT MATCHED THEN INSERT (space_id, bucket_start, booked_minutes, booking_count) " +
+                   "VALUES (s.space_id, s.bucket_start, s.minutes, s.cnt)", nativeQuery = true)
+    int addUsage(@Param("spaceId") Long spaceId, @Param("bucketStart") LocalDateTime bucketStart,
+                 @Param("minutes") long minutes, @Param("count") int count);
+    
+    // Per space and hour of the day; a space holds one reservation at a time, so its peak is 1
+    @Query(value = "SELECT space_id AS \"spaceId\", EXTRACT(HOUR FROM bucket_start) AS \"hourOfDay\", " +
+                   "SUM(booked_minutes) AS \"bookedMinutes\", 1 AS \"peakConcurrency\" " +
+                   "FROM space_usage_hourly WHERE bucket_start >= :from AND bucket_start < :to " +
+                   "AND booked_minutes > 0 GROUP BY space_id, EXTRACT(HOUR FROM bucket_start)", nativeQuery = true)
+    List<HourOfDayUsage> sumBySpaceAndHourOfDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Across spaces: peak concurrency is the most spaces booked within one hour
+    @Query(value = "SELECT NULL AS \"spaceId\", EXTRACT(HOUR FROM b.bucket_start) AS \"hourOfDay\", " +
+                   "SUM(b.booked_minutes) AS \"bookedMinutes\", MAX(b.spaces) AS \"peakConcurrency\" " +
+                   "FROM (SELECT bucket_start, SUM(booked_minutes) AS booked_minutes, COUNT(*) AS spaces " +
+                   "FROM space_usage_hourly WHERE bucket_start >= :from AND bucket_start < :to " +
+                   "AND booked_minutes > 0 GROUP BY bucket_start) b " +
+                   "GROUP BY EXTRACT(HOUR FROM b.bucket_start) ORDER BY 2", nativeQuery = true)
+    List<HourOfDayUsage> sumByHourOfDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Query("DELETE FROM SpaceHourlyUsage u WHERE u.spaceId = :spaceId")
+    int deleteBySpaceId(@Param("spaceId") Long spaceId);
+    
+    @Modifying
+    @Query("DELETE FROM SpaceHourlyUsage u WHERE u.spaceId NOT IN :spaceIds")
+    int deleteBySpaceIdNotIn(@Param("spaceIds") Collection<Long> spaceIds);
+}
@@ -0,0 +1,12 @@
+package com.coworking.reservationservice.repository;
+
+public interface SpaceUsageTotals {
+    
+    Long getSpaceId();
+    
+    Long getBookedMinutes();
+    
+    Long getBookingCount();
+    
+    Long getBookedDays();
+}
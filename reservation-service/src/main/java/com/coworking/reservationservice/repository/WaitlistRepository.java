@@ -0,0 +1,35 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    // Oldest first; locked so two promotions of the same slot cannot pick the same entry
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.spaceId = :spaceId AND w.status = 'WAITING' AND " +
+           "w.partitionKey BETWEEN :fromPartition AND :toPartition AND " +
+           "w.startTime < :endTime AND w.endTime > :startTime AND w.startTime > :now " +
+           "ORDER BY w.createdAt, w.id")
+    List<WaitlistEntry> findWaitingOverlapping(
+            @Param("spaceId") Long spaceId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("fromPartition") int fromPartition,
+            @Param("toPartition") int toPartition,
+            @Param("now") LocalDateTime now);
+    
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    List<WaitlistEntry> findByIdGreaterThanOrderById(Long id, Limit limit);
+}
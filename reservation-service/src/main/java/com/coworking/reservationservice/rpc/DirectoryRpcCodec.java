@@ -0,0 +1,101 @@
+package com.coworking.reservationservice.rpc;
+
+import com.coworking.common.rpc.ProtoReader;
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Client side of the protocol buffers messages served by user-service and
+ * space-service under {@code /internal/rpc}. The schemas are documented in
+ * their {@code UserRpcCodec} and {@code SpaceRpcCodec}. Malformed input
+ * fails with an {@link IllegalArgumentException}.
+ */
+public final class DirectoryRpcCodec {
+    
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+    
+    private DirectoryRpcCodec() {
+    }
+    
+    public static byte[] encodeIds(Collection<Long> ids) {
+        return new ProtoWriter(ids.size() * 4 + 8)
+                .writePackedInt64(1, ids)
+                .toByteArray();
+    }
+    
+    public static UserDto decodeUser(byte[] data) {
+        return decodeUser(new ProtoReader(data));
+    }
+    
+    public static List<UserDto> decodeUsers(byte[] data) {
+        return decodeRepeated(data, DirectoryRpcCodec::decodeUser);
+    }
+    
+    public static SpaceDto decodeSpace(byte[] data) {
+        return decodeSpace(new ProtoReader(data));
+    }
+    
+    public static List<SpaceDto> decodeSpaces(byte[] data) {
+        return decodeRepeated(data, DirectoryRpcCodec::decodeSpace);
+    }
+    
+    private static <T> List<T> decodeRepeated(byte[] data, Function<ProtoReader, T> decoder) {
+        List<T> values = new ArrayList<>();
+        ProtoReader reader = new ProtoReader(data);
+        while (reader.hasNext()) {
+            if (reader.nextField() == 1) {
+                values.add(decoder.apply(reader.readMessage()));
+            } else {
+                reader.skip();
+            }
+        }
+        return values;
+    }
+    
+    private static UserDto decodeUser(ProtoReader reader) {
+        UserDto user = new UserDto();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case 1 -> user.setId(reader.readInt64());
+                case 2 -> user.setName(reader.readString());
+                case 3 -> user.setEmail(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return user;
+    }
+    
+    private static SpaceDto decodeSpace(ProtoReader reader) {
+        SpaceDto space = SpaceDto.builder()
+                .openingTime(LocalTime.MIDNIGHT)
+                .closingTime(LocalTime.MIDNIGHT)
+                .active(true)
+                .build();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case 1 -> space.setId(reader.readInt64());
+                case 2 -> space.setName(reader.readString());
+                case 3 -> space.setOpeningTime(timeOfDay(reader.readInt64()));
+                case 4 -> space.setClosingTime(timeOfDay(reader.readInt64()));
+                case 5 -> space.setPricePerHour(new BigDecimal(reader.readString()));
+                default -> reader.skip();
+            }
+        }
+        return space;
+    }
+    
+    private static LocalTime timeOfDay(long secondOfDay) {
+        if (secondOfDay < 0 || secondOfDay >= 24 * 60 * 60) {
+            throw new IllegalArgumentException("Second of day out of range: " + secondOfDay);
+        }
+        return LocalTime.ofSecondOfDay(secondOfDay);
+    }
+}
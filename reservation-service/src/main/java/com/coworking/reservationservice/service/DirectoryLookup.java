@@ -0,0 +1,155 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.client.SpaceClient;
+import com.coworking.reservationservice.client.UserClient;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+import com.coworking.reservationservice.rpc.DirectoryRpcCodec;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves users and spaces for reservations. Prefers the binary RPC of
+ * instances that advertise it and falls back to the JSON Feign clients when
+ * RPC is disabled, not offered, the call fails or its answer does not decode.
+ */
+@Slf4j
+public class DirectoryLookup {
+    
+    private static final String USER_SERVICE = "user-service";
+    private static final String SPACE_SERVICE = "space-service";
+    private static final int MAX_BATCH_SIZE = 1000;
+    
+    private final DirectoryRpcClient rpcClient;
+    private final UserClient userClient;
+    private final SpaceClient spaceClient;
+    private final boolean rpcEnabled;
+    private final Counter userFallbacks;
+    private final Counter spaceFallbacks;
+    
+    public DirectoryLookup(DirectoryRpcClient rpcClient, UserClient userClient, SpaceClient spaceClient,
+                           boolean rpcEnabled, MeterRegistry meterRegistry) {
+        this.rpcClient = rpcClient;
+        this.userClient = userClient;
+        this.spaceClient = spaceClient;
+        this.rpcEnabled = rpcEnabled;
+        this.userFallbacks = meterRegistry.counter("directory.rpc.fallbacks", "service", USER_SERVICE);
+        this.spaceFallbacks = meterRegistry.counter("directory.rpc.fallbacks", "service", SPACE_SERVICE);
+    }
+    
+    public Optional<UserDto> findUser(Long id) {
+        Optional<ServiceInstance> instance = rpcInstance(USER_SERVICE);
+        if (instance.isPresent()) {
+            try {
+                return rpcClient.get(instance.get(), "/users/" + id).map(DirectoryRpcCodec::decodeUser);
+            } catch (IOException | IllegalArgumentException e) {
+                fallback(userFallbacks, USER_SERVICE, e);
+            }
+        }
+        try {
+            return Optional.of(userClient.getUserById(id));
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+    
+    public Optional<SpaceDto> findSpace(Long id) {
+        Optional<ServiceInstance> instance = rpcInstance(SPACE_SERVICE);
+        if (instance.isPresent()) {
+            try {
+                return rpcClient.get(instance.get(), "/spaces/" + id).map(DirectoryRpcCodec::decodeSpace);
+            } catch (IOException | IllegalArgumentException e) {
+                fallback(spaceFallbacks, SPACE_SERVICE, e);
+            }
+        }
+        try {
+            return Optional.of(spaceClient.getSpaceById(id));
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Returns the existing users among the given ids, keyed by id.
+     */
+    public Map<Long, UserDto> findUsers(Collection<Long> ids) {
+        Optional<ServiceInstance> instance = rpcInstance(USER_SERVICE);
+        if (instance.isPresent() && !ids.isEmpty()) {
+            try {
+                return batch(instance.get(), "/users/batch", ids, DirectoryRpcCodec::decodeUsers, UserDto::getId);
+            } catch (IOException | IllegalArgumentException e) {
+                fallback(userFallbacks, USER_SERVICE, e);
+            }
+        }
+        Map<Long, UserDto> users = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            try {
+                users.put(id, userClient.getUserById(id));
+            } catch (FeignException.NotFound e) {
+                // Reported as missing
+            }
+        }
+        return users;
+    }
+    
+    /**
+     * Returns the existing active spaces among the given ids, keyed by id.
+     */
+    public Map<Long, SpaceDto> findSpaces(Collection<Long> ids) {
+        Optional<ServiceInstance> instance = rpcInstance(SPACE_SERVICE);
+        if (instance.isPresent() && !ids.isEmpty()) {
+            try {
+                return batch(instance.get(), "/spaces/batch", ids, DirectoryRpcCodec::decodeSpaces, SpaceDto::getId);
+            } catch (IOException | IllegalArgumentException e) {
+                fallback(spaceFallbacks, SPACE_SERVICE, e);
+            }
+        }
+        Map<Long, SpaceDto> spaces = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            try {
+                spaces.put(id, spaceClient.getSpaceById(id));
+            } catch (FeignException.NotFound e) {
+                // Reported as missing
+            }
+        }
+        return spaces;
+    }
+    
+    private <T> Map<Long, T> batch(ServiceInstance instance, String path, Collection<Long> ids,
+                                   Function<byte[], List<T>> decoder, Function<T, Long> idOf) throws IOException {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, T> values = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += MAX_BATCH_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + MAX_BATCH_SIZE, distinct.size()));
+            Optional<byte[]> response = rpcClient.post(instance, path, DirectoryRpcCodec.encodeIds(chunk));
+            if (response.isEmpty()) {
+                throw new IOException(instance.getServiceId() + " does not serve " + path);
+            }
+            decoder.apply(response.get()).forEach(value -> values.put(idOf.apply(value), value));
+        }
+        return values;
+    }
+    
+    private Optional<ServiceInstance> rpcInstance(String serviceId) {
+        return rpcEnabled ? rpcClient.choose(serviceId) : Optional.empty();
+    }
+    
+    private void fallback(Counter counter, String serviceId, Exception e) {
+        counter.increment();
+        log.debug("RPC call to {} failed, falling back to JSON: {}", serviceId, e.toString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.client.ReactiveDirectoryClient;
+import com.coworking.reservationservice.dto.ReservationDto;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+import com.coworking.reservationservice.exception.ReservationNotFoundException;
+import com.coworking.reservationservice.exception.ResourceNotFoundException;
+import com.coworking.reservationservice.mapper.ReservationMapper;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ReactiveReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive read path of {@link ReservationService}. Enrichment runs with
+ * bounded concurrency and keeps the database order; rows are only pulled
+ * from the database as fast as enriched results are consumed. Within one
+ * request every user and space is fetched at most once.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReservationService {
+    
+    private final ReactiveReservationRepository reservationRepository;
+    private final ReservationMapper reservationMapper;
+    private final ReactiveDirectoryClient directoryClient;
+    private final int enrichmentConcurrency;
+    
+    public ReactiveReservationService(ReactiveReservationRepository reservationRepository,
+                                      ReservationMapper reservationMapper,
+                                      ReactiveDirectoryClient directoryClient,
+                                      @Value("${coworking.reactive.enrichment-concurrency:64}") int enrichmentConcurrency) {
+        this.reservationRepository = reservationRepository;
+        this.reservationMapper = reservationMapper;
+        this.directoryClient = directoryClient;
+        this.enrichmentConcurrency = enrichmentConcurrency;
+    }
+    
+    public Flux<ReservationDto> getAllReservations() {
+        return enrich(reservationRepository.findAll());
+    }
+    
+    public Mono<ReservationDto> getReservationById(Long id) {
+        return reservationRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ReservationNotFoundException("Reservation not found with id: " + id)))
+                .flatMapMany(reservation -> enrich(Flux.just(reservation)))
+                .next();
+    }
+    
+    public Flux<ReservationDto> getReservationsByUserId(Long userId) {
+        // Verify user exists
+        return directoryClient.getUserById(userId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found with id: " + userId)))
+                .flatMapMany(user -> enrich(reservationRepository.findByUserId(userId)));
+    }
+    
+    public Flux<ReservationDto> getReservationsBySpaceId(Long spaceId) {
+        // Verify space exists
+        return directoryClient.getSpaceById(spaceId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Space not found with id: " + spaceId)))
+                .flatMapMany(space -> enrich(reservationRepository.findBySpaceId(spaceId)));
+    }
+    
+    private Flux<ReservationDto> enrich(Flux<Reservation> reservations) {
+        return Flux.defer(() -> {
+            Map<Long, Mono<String>> userNames = new ConcurrentHashMap<>();
+            Map<Long, Mono<String>> spaceNames = new ConcurrentHashMap<>();
+            
+            return reservations.flatMapSequential(reservation -> {
+                Mono<String> userName = userNames.computeIfAbsent(reservation.getUserId(), id ->
+                        directoryClient.getUserById(id).map(UserDto::getName).defaultIfEmpty("Unknown User").cache());
+                Mono<String> spaceName = spaceNames.computeIfAbsent(reservation.getSpaceId(), id ->
+                        directoryClient.getSpaceById(id).map(SpaceDto::getName).defaultIfEmpty("Unknown Space").cache());
+                
+                return Mono.zip(userName, spaceName).map(names -> {
+                    ReservationDto reservationDto = reservationMapper.toDto(reservation);
+                    reservationDto.setUserName(names.getT1());
+                    reservationDto.setSpaceName(names.getT2());
+                    return reservationDto;
+                });
+            }, enrichmentConcurrency);
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves reservations that ended, or were cancelled, more than the retention
+ * period ago from {@code reservations} to {@code reservations_archive}, so
+ * conflict checks and the per-user and per-space lists only scan live rows.
+ * Each chunk is copied with one INSERT ... SELECT and deleted in one
+ * statement, in its own transaction.
+ */
+@Slf4j
+public class ReservationArchiver {
+    
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final AtomicLong liveRows = new AtomicLong();
+    private final Counter archivedRows;
+    private final Timer chunkTimer;
+    
+    public ReservationArchiver(ReservationRepository reservationRepository, TransactionTemplate transactionTemplate,
+                               Duration retention, int chunkSize, int maxChunksPerRun, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.archivedRows = Counter.builder("reservations.archive.rows")
+                .description("Reservations moved to the archive table")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("reservations.archive.chunk")
+                .description("Time to archive one chunk of reservations")
+                .register(meterRegistry);
+        Gauge.builder("reservations.live.rows", liveRows, AtomicLong::get)
+                .description("Rows in the live reservations table after the last archive run")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(initialDelayString = "${coworking.archive.initial-delay:PT1M}",
+               fixedDelayString = "${coworking.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long start = System.nanoTime();
+        int archived = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int moved = transactionTemplate.execute(status -> chunkTimer.record(() -> archiveChunk(cutoff)));
+                archived += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another instance archived the same rows; it will finish the run
+            log.warn("Archive run stopped after {} reservations: {}", archived, e.getMostSpecificCause().getMessage());
+        }
+        liveRows.set(reservationRepository.count());
+        
+        if (archived > 0) {
+            log.info("Archived {} reservations older than {} in {} ms", archived, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+    
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = reservationRepository.findArchivableIds(cutoff, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        reservationRepository.copyToArchive(ids, LocalDateTime.now());
+        reservationRepository.deleteAllByIdInBatch(ids);
+        archivedRows.increment(ids.size());
+        return ids.size();
+    }
+}
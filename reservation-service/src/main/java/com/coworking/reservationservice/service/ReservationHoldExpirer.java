@@ -0,0 +1,106 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Expires PENDING reservations that were not confirmed within the hold TTL,
+ * so the slots they block become bookable again. Each chunk locks the stale
+ * holds, flips them to EXPIRED with one UPDATE and publishes a change event
+ * per row, all in its own transaction.
+ */
+@Slf4j
+public class ReservationHoldExpirer {
+    
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter expiredHolds;
+    private final Counter freedSlots;
+    private final Counter freedHours;
+    private final Timer chunkTimer;
+    
+    public ReservationHoldExpirer(ReservationRepository reservationRepository, TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher, Duration ttl, int chunkSize,
+                                  int maxChunksPerRun, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ttl = ttl;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.expiredHolds = Counter.builder("reservations.holds.expired")
+                .description("PENDING reservations expired after the hold TTL")
+                .register(meterRegistry);
+        this.freedSlots = Counter.builder("reservations.holds.slots.freed")
+                .description("Expired holds whose slot had not ended yet")
+                .register(meterRegistry);
+        this.freedHours = Counter.builder("reservations.holds.hours.freed")
+                .description("Bookable hours released by expired holds")
+                .baseUnit("hours")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("reservations.holds.chunk")
+                .description("Time to expire one chunk of holds")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(initialDelayString = "${coworking.reservations.hold.initial-delay:PT30S}",
+               fixedDelayString = "${coworking.reservations.hold.check-interval:PT30S}")
+    public void expire() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        long start = System.nanoTime();
+        int expired = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int count = transactionTemplate.execute(status -> chunkTimer.record(() -> expireChunk(cutoff)));
+            expired += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        
+        if (expired > 0) {
+            log.info("Expired {} holds created before {} in {} ms", expired, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+    
+    private int expireChunk(LocalDateTime cutoff) {
+        List<Reservation> holds = reservationRepository.findStaleHolds(cutoff, Limit.of(chunkSize));
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        
+        List<ReservationSnapshot> before = holds.stream().map(ReservationSnapshot::of).toList();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = reservationRepository.expireHolds(before.stream().map(ReservationSnapshot::id).toList(), now);
+        
+        for (ReservationSnapshot hold : before) {
+            eventPublisher.publishEvent(new ReservationChangedEvent(hold, new ReservationSnapshot(
+                    hold.id(), hold.userId(), hold.spaceId(), hold.startTime(), hold.endTime(), "EXPIRED")));
+            if (hold.endTime().isAfter(now)) {
+                LocalDateTime from = hold.startTime().isAfter(now) ? hold.startTime() : now;
+                freedSlots.increment();
+                freedHours.increment(Duration.between(from, hold.endTime()).toMinutes() / 60.0);
+            }
+        }
+        expiredHolds.increment(updated);
+        return holds.size();
+    }
+}
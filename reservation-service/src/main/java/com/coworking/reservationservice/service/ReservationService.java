@@ -1,105 +1,153 @@
 package com.coworking.reservationservice.service;
 
-import com.coworking.reservationservice.client.SpaceClient;
-import com.coworking.reservationservice.client.UserClient;
+import com.coworking.common.web.FieldSelection;
+import com.coworking.reservationservice.availability.AvailabilityDelta;
 import com.coworking.reservationservice.dto.CreateReservationRequest;
 import com.coworking.reservationservice.dto.ReservationDto;
 import com.coworking.reservationservice.dto.SpaceDto;
 import com.coworking.reservationservice.dto.UserDto;
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
 import com.coworking.reservationservice.exception.ReservationConflictException;
 import com.coworking.reservationservice.exception.ReservationNotFoundException;
 import com.coworking.reservationservice.exception.ResourceNotFoundException;
 import com.coworking.reservationservice.mapper.ReservationMapper;
+import com.coworking.reservationservice.model.ArchivedReservation;
 import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
 import com.coworking.reservationservice.repository.ReservationRepository;
-import feign.FeignException;
+import com.coworking.reservationservice.repository.ReservationSlot;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "reservation.service")
 public class ReservationService {
     
+    // Reads that need none of these load a ReservationSlot projection instead of the entity
+    private static final Set<String> ENTITY_FIELDS = Set.of("notes", "pricePerHour", "createdAt", "updatedAt");
+    
     private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ReservationPartitions reservationPartitions;
     private final ReservationMapper reservationMapper;
-    private final UserClient userClient;
-    private final SpaceClient spaceClient;
+    private final DirectoryLookup directoryLookup;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(readOnly = true)
-    public List<ReservationDto> getAllReservations() {
-        return reservationRepository.findAll()
-                .stream()
-                .map(this::enrichReservationWithDetails)
-                .collect(Collectors.toList());
+    public List<ReservationDto> getAllReservations(FieldSelection fields) {
+        List<ReservationDto> reservations = fields.includesAny(ENTITY_FIELDS)
+                ? toDtos(reservationRepository.findAll())
+                : slotsToDtos(reservationRepository.findAllProjectedBy(ReservationSlot.class));
+        return enrichWithDetails(reservations, fields);
     }
     
     @Transactional(readOnly = true)
-    public ReservationDto getReservationById(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+    public ReservationDto getReservationById(Long id, FieldSelection fields) {
+        Optional<ReservationDto> reservation = fields.includesAny(ENTITY_FIELDS)
+                ? reservationRepository.findById(id).map(reservationMapper::toDto)
+                : reservationRepository.findProjectedById(id, ReservationSlot.class).map(reservationMapper::toDto);
+        ReservationDto reservationDto = reservation
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + id));
         
-        return enrichReservationWithDetails(reservation);
+        return enrichWithDetails(List.of(reservationDto), fields).get(0);
     }
     
     @Transactional(readOnly = true)
-    public List<ReservationDto> getReservationsByUserId(Long userId) {
-        try {
-            // Verify user exists
-            userClient.getUserById(userId);
-            
-            return reservationRepository.findByUserId(userId)
-                    .stream()
-                    .map(this::enrichReservationWithDetails)
-                    .collect(Collectors.toList());
-        } catch (FeignException.NotFound e) {
+    public List<ReservationDto> getReservationsByUserId(Long userId, FieldSelection fields) {
+        // Verify user exists
+        if (directoryLookup.findUser(userId).isEmpty()) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
+        
+        List<ReservationDto> reservations = fields.includesAny(ENTITY_FIELDS)
+                ? toDtos(reservationRepository.findByUserId(userId))
+                : slotsToDtos(reservationRepository.findByUserId(userId, ReservationSlot.class));
+        return enrichWithDetails(reservations, fields);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservationsBySpaceId(Long spaceId, LocalDateTime from, LocalDateTime to,
+                                                         FieldSelection fields) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return enrichWithDetails(toDtos(reservationPartitions.findBySpaceInWindow(spaceId, from, to)), fields);
     }
     
     @Transactional(readOnly = true)
-    public List<ReservationDto> getReservationsBySpaceId(Long spaceId) {
-        try {
-            // Verify space exists
-            spaceClient.getSpaceById(spaceId);
-            
-            return reservationRepository.findBySpaceId(spaceId)
-                    .stream()
-                    .map(this::enrichReservationWithDetails)
-                    .collect(Collectors.toList());
-        } catch (FeignException.NotFound e) {
+    public List<ReservationDto> getReservationsBySpaceId(Long spaceId, FieldSelection fields) {
+        // Verify space exists
+        if (directoryLookup.findSpace(spaceId).isEmpty()) {
             throw new ResourceNotFoundException("Space not found with id: " + spaceId);
         }
+        
+        List<ReservationDto> reservations = fields.includesAny(ENTITY_FIELDS)
+                ? toDtos(reservationRepository.findBySpaceId(spaceId))
+                : slotsToDtos(reservationRepository.findBySpaceId(spaceId, ReservationSlot.class));
+        return enrichWithDetails(reservations, fields);
+    }
+    
+    // Unenriched on purpose: room displays only need the booked intervals
+    @Transactional(readOnly = true)
+    public List<AvailabilityDelta> getAvailabilitySnapshot(Long spaceId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The window must end after it starts");
+        }
+        return reservationPartitions.findBySpaceInWindow(spaceId, from, to).stream()
+                .map(reservation -> AvailabilityDelta.of(ReservationChangedEvent.created(ReservationSnapshot.of(reservation))))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Live and archived reservations of a user, newest first. The only read
+     * path that touches the archive table.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservationHistoryByUserId(Long userId, FieldSelection fields) {
+        return enrichWithDetails(history(
+                reservationRepository.findByUserId(userId),
+                archivedReservationRepository.findByUserIdOrderByStartTimeDesc(userId)), fields);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservationHistoryBySpaceId(Long spaceId, FieldSelection fields) {
+        return enrichWithDetails(history(
+                reservationRepository.findBySpaceId(spaceId),
+                archivedReservationRepository.findBySpaceIdOrderByStartTimeDesc(spaceId)), fields);
     }
     
     @Transactional
     public ReservationDto createReservation(CreateReservationRequest createReservationRequest) {
         // Validate user exists
-        UserDto userDto;
-        try {
-            userDto = userClient.getUserById(createReservationRequest.getUserId());
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("User not found with id: " + createReservationRequest.getUserId());
-        }
+        UserDto userDto = directoryLookup.findUser(createReservationRequest.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + createReservationRequest.getUserId()));
         
         // Validate space exists and check opening hours
-        SpaceDto spaceDto;
-        try {
-            spaceDto = spaceClient.getSpaceById(createReservationRequest.getSpaceId());
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Space not found with id: " + createReservationRequest.getSpaceId());
-        }
+        SpaceDto spaceDto = directoryLookup.findSpace(createReservationRequest.getSpaceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + createReservationRequest.getSpaceId()));
         
         // Validate reservation times
         validateReservationTimes(createReservationRequest, spaceDto);
         
         // Check for conflicts
-        List<Reservation> conflictingReservations = reservationRepository.findOverlappingReservations(
+        List<Reservation> conflictingReservations = reservationPartitions.findOverlapping(
                 createReservationRequest.getSpaceId(),
                 createReservationRequest.getStartTime(),
                 createReservationRequest.getEndTime()
@@ -110,7 +158,10 @@ public class ReservationService {
         }
         
         Reservation reservation = reservationMapper.toEntity(createReservationRequest);
+        reservation.setPartitionKey(reservationPartitions.keyOf(reservation.getStartTime()));
+        reservation.setPricePerHour(spaceDto.getPricePerHour());
         Reservation savedReservation = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ReservationChangedEvent.created(ReservationSnapshot.of(savedReservation)));
         
         ReservationDto reservationDto = reservationMapper.toDto(savedReservation);
         reservationDto.setUserName(userDto.getName());
@@ -125,26 +176,18 @@ public class ReservationService {
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + id));
         
         // Validate user exists
-        UserDto userDto;
-        try {
-            userDto = userClient.getUserById(updateReservationRequest.getUserId());
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("User not found with id: " + updateReservationRequest.getUserId());
-        }
+        UserDto userDto = directoryLookup.findUser(updateReservationRequest.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + updateReservationRequest.getUserId()));
         
         // Validate space exists and check opening hours
-        SpaceDto spaceDto;
-        try {
-            spaceDto = spaceClient.getSpaceById(updateReservationRequest.getSpaceId());
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Space not found with id: " + updateReservationRequest.getSpaceId());
-        }
+        SpaceDto spaceDto = directoryLookup.findSpace(updateReservationRequest.getSpaceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + updateReservationRequest.getSpaceId()));
         
         // Validate reservation times
         validateReservationTimes(updateReservationRequest, spaceDto);
         
         // Check for conflicts (excluding this reservation)
-        List<Reservation> conflictingReservations = reservationRepository.findOverlappingReservations(
+        List<Reservation> conflictingReservations = reservationPartitions.findOverlapping(
                 updateReservationRequest.getSpaceId(),
                 updateReservationRequest.getStartTime(),
                 updateReservationRequest.getEndTime()
@@ -159,14 +202,21 @@ public class ReservationService {
         }
         
         // Update reservation
+        ReservationSnapshot before = ReservationSnapshot.of(reservation);
+        // The booked price stays unless the reservation moves to another space
+        if (!reservation.getSpaceId().equals(updateReservationRequest.getSpaceId()) || reservation.getPricePerHour() == null) {
+            reservation.setPricePerHour(spaceDto.getPricePerHour());
+        }
         reservation.setUserId(updateReservationRequest.getUserId());
         reservation.setSpaceId(updateReservationRequest.getSpaceId());
         reservation.setStartTime(updateReservationRequest.getStartTime());
+        reservation.setPartitionKey(reservationPartitions.keyOf(updateReservationRequest.getStartTime()));
         reservation.setEndTime(updateReservationRequest.getEndTime());
         reservation.setNotes(updateReservationRequest.getNotes());
         reservation.setUpdatedAt(LocalDateTime.now());
         
         Reservation updatedReservation = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(updatedReservation)));
         
         ReservationDto reservationDto = reservationMapper.toDto(updatedReservation);
         reservationDto.setUserName(userDto.getName());
@@ -180,10 +230,32 @@ public class ReservationService {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + id));
         
+        ReservationSnapshot before = ReservationSnapshot.of(reservation);
         reservation.setStatus("CANCELLED");
         reservation.setUpdatedAt(LocalDateTime.now());
         
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(reservation)));
+    }
+    
+    @Transactional
+    public ReservationDto confirmReservation(Long id) {
+        Reservation reservation = reservationRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + id));
+        
+        if (!"PENDING".equals(reservation.getStatus())) {
+            throw new ReservationConflictException(
+                    "Only pending reservations can be confirmed, this one is " + reservation.getStatus());
+        }
+        
+        ReservationSnapshot before = ReservationSnapshot.of(reservation);
+        reservation.setStatus("CONFIRMED");
+        reservation.setUpdatedAt(LocalDateTime.now());
+        
+        Reservation confirmedReservation = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(new ReservationChangedEvent(before, ReservationSnapshot.of(confirmedReservation)));
+        
+        return enrichReservationWithDetails(confirmedReservation);
     }
     
     private void validateReservationTimes(CreateReservationRequest request, SpaceDto spaceDto) {
@@ -192,6 +264,12 @@ public class ReservationService {
             throw new IllegalArgumentException("Start time must be before end time");
         }
         
+        // Longer reservations would escape the partition range of conflict checks
+        if (request.getStartTime().plus(reservationPartitions.getMaxDuration()).isBefore(request.getEndTime())) {
+            throw new IllegalArgumentException(
+                    "Reservations can last at most " + reservationPartitions.getMaxDuration().toDays() + " days");
+        }
+        
         // Check if reservation is within space opening hours
         LocalTime startTimeOfDay = request.getStartTime().toLocalTime();
         LocalTime endTimeOfDay = request.getEndTime().toLocalTime();
@@ -204,24 +282,52 @@ public class ReservationService {
         }
     }
     
+    private List<ReservationDto> history(List<Reservation> live, List<ArchivedReservation> archived) {
+        return Stream.concat(
+                        live.stream().map(reservationMapper::toDto),
+                        archived.stream().map(reservationMapper::toDto))
+                .sorted(Comparator.comparing(ReservationDto::getStartTime).reversed())
+                .collect(Collectors.toList());
+    }
+    
     private ReservationDto enrichReservationWithDetails(Reservation reservation) {
-        ReservationDto reservationDto = reservationMapper.toDto(reservation);
-        
-        try {
-            UserDto userDto = userClient.getUserById(reservation.getUserId());
-            reservationDto.setUserName(userDto.getName());
-        } catch (FeignException.NotFound e) {
-            reservationDto.setUserName("Unknown User");
+        return enrichWithDetails(List.of(reservationMapper.toDto(reservation)), FieldSelection.ALL).get(0);
+    }
+    
+    private List<ReservationDto> toDtos(List<Reservation> reservations) {
+        return reservations.stream()
+                .map(reservationMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    private List<ReservationDto> slotsToDtos(List<ReservationSlot> slots) {
+        return slots.stream()
+                .map(reservationMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    // Resolves all users and spaces of the page in one lookup each, and only
+    // the ones whose names were asked for
+    private List<ReservationDto> enrichWithDetails(List<ReservationDto> reservations, FieldSelection fields) {
+        if (reservations.isEmpty()) {
+            return reservations;
         }
-        
-        try {
-            SpaceDto spaceDto = spaceClient.getSpaceById(reservation.getSpaceId());
-            reservationDto.setSpaceName(spaceDto.getName());
-        } catch (FeignException.NotFound e) {
-            reservationDto.setSpaceName("Unknown Space");
+        if (fields.includes("userName")) {
+            Map<Long, UserDto> users = directoryLookup.findUsers(
+                    reservations.stream().map(ReservationDto::getUserId).collect(Collectors.toSet()));
+            reservations.forEach(reservationDto -> {
+                UserDto userDto = users.get(reservationDto.getUserId());
+                reservationDto.setUserName(userDto != null ? userDto.getName() : "Unknown User");
+            });
         }
-        
-        return reservationDto;
+        if (fields.includes("spaceName")) {
+            Map<Long, SpaceDto> spaces = directoryLookup.findSpaces(
+                    reservations.stream().map(ReservationDto::getSpaceId).collect(Collectors.toSet()));
+            reservations.forEach(reservationDto -> {
+                SpaceDto spaceDto = spaces.get(reservationDto.getSpaceId());
+                reservationDto.setSpaceName(spaceDto != null ? spaceDto.getName() : "Unknown Space");
+            });
+        }
+        return reservations;
     }
 }
-
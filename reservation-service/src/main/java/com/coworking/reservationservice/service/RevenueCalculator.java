@@ -0,0 +1,177 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.repository.RevenueRow;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Sums revenue per space and per user in one pass over a stream of rows.
+ * The stream is cut into fixed-size chunks that are summed on a fork-join
+ * pool while the next chunk is read; at most {@code maxChunksInFlight}
+ * chunks are held at once, so memory does not grow with the period.
+ * <p>
+ * Amounts are accumulated as exact cent-minutes and rounded once per total.
+ */
+public class RevenueCalculator implements DisposableBean {
+    
+    private static final int SPLIT_THRESHOLD = 1024;
+    
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    
+    public RevenueCalculator(int parallelism, int chunkSize, int maxChunksInFlight) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+    
+    public Totals aggregate(Stream<RevenueRow> rows) {
+        Totals result = new Totals();
+        Deque<ForkJoinTask<Totals>> inFlight = new ArrayDeque<>();
+        RevenueRow[] chunk = new RevenueRow[chunkSize];
+        int size = 0;
+        
+        Iterator<RevenueRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk[size++] = iterator.next();
+            if (size == chunkSize) {
+                if (inFlight.size() == maxChunksInFlight) {
+                    result.merge(inFlight.removeFirst().join());
+                }
+                inFlight.addLast(pool.submit(new ChunkTask(chunk, 0, size)));
+                chunk = new RevenueRow[chunkSize];
+                size = 0;
+            }
+        }
+        if (size > 0) {
+            inFlight.addLast(pool.submit(new ChunkTask(chunk, 0, size)));
+        }
+        while (!inFlight.isEmpty()) {
+            result.merge(inFlight.removeFirst().join());
+        }
+        return result;
+    }
+    
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+    
+    private static final class ChunkTask extends RecursiveTask<Totals> {
+        
+        private final RevenueRow[] rows;
+        private final int from;
+        private final int to;
+        
+        ChunkTask(RevenueRow[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Totals compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(rows[i]);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(rows, from, middle);
+            left.fork();
+            Totals right = new ChunkTask(rows, middle, to).compute();
+            right.merge(left.join());
+            return right;
+        }
+    }
+    
+    /**
+     * Running totals; not thread-safe, each task owns its own until merged.
+     */
+    public static final class Totals {
+        
+        private final Sum total = new Sum();
+        private final Map<Long, Sum> bySpace = new HashMap<>();
+        private final Map<Long, Sum> byUser = new HashMap<>();
+        private long unpriced;
+        
+        void add(RevenueRow row) {
+            if (row.pricePerHour() == null) {
+                unpriced++;
+                return;
+            }
+            long minutes = Duration.between(row.startTime(), row.endTime()).toMinutes();
+            long centMinutes = row.pricePerHour().setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact() * minutes;
+            total.add(centMinutes, minutes, 1);
+            bySpace.computeIfAbsent(row.spaceId(), id -> new Sum()).add(centMinutes, minutes, 1);
+            byUser.computeIfAbsent(row.userId(), id -> new Sum()).add(centMinutes, minutes, 1);
+        }
+        
+        void merge(Totals other) {
+            total.merge(other.total);
+            other.bySpace.forEach((id, sum) -> bySpace.computeIfAbsent(id, key -> new Sum()).merge(sum));
+            other.byUser.forEach((id, sum) -> byUser.computeIfAbsent(id, key -> new Sum()).merge(sum));
+            unpriced += other.unpriced;
+        }
+        
+        public Sum getTotal() {
+            return total;
+        }
+        
+        public Map<Long, Sum> getBySpace() {
+            return bySpace;
+        }
+        
+        public Map<Long, Sum> getByUser() {
+            return byUser;
+        }
+        
+        public long getUnpriced() {
+            return unpriced;
+        }
+    }
+    
+    public static final class Sum {
+        
+        private long centMinutes;
+        private long minutes;
+        private long reservations;
+        
+        void add(long centMinutes, long minutes, long reservations) {
+            this.centMinutes += centMinutes;
+            this.minutes += minutes;
+            this.reservations += reservations;
+        }
+        
+        void merge(Sum other) {
+            add(other.centMinutes, other.minutes, other.reservations);
+        }
+        
+        public BigDecimal getAmount() {
+            return BigDecimal.valueOf(centMinutes).divide(BigDecimal.valueOf(60), 0, RoundingMode.HALF_UP).movePointLeft(2);
+        }
+        
+        public long getMinutes() {
+            return minutes;
+        }
+        
+        public long getReservations() {
+            return reservations;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.dto.RevenueLineDto;
+import com.coworking.reservationservice.dto.RevenueReportDto;
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.RevenueRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Revenue of the reservations starting in a period, live and archived,
+ * at the price stored on each reservation. Periods are whole days, both
+ * ends included.
+ */
+@Service
+@RequiredArgsConstructor
+public class RevenueService {
+    
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ReservationPartitions reservationPartitions;
+    private final RevenueCalculator revenueCalculator;
+    
+    @Transactional(readOnly = true)
+    public RevenueReportDto getRevenue(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The period must not end before it starts");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        
+        RevenueCalculator.Totals totals;
+        try (Stream<RevenueRow> live = reservationRepository.streamRevenueRows(start, end,
+                reservationPartitions.keyOf(start), reservationPartitions.keyOf(end));
+             Stream<RevenueRow> archived = archivedReservationRepository.streamRevenueRows(start, end)) {
+            totals = revenueCalculator.aggregate(Stream.concat(live, archived));
+        }
+        
+        return new RevenueReportDto(
+                from,
+                to,
+                totals.getTotal().getAmount(),
+                totals.getTotal().getMinutes(),
+                totals.getTotal().getReservations(),
+                totals.getUnpriced(),
+                lines(totals.getBySpace()),
+                lines(totals.getByUser())
+        );
+    }
+    
+    private static List<RevenueLineDto> lines(Map<Long, RevenueCalculator.Sum> sums) {
+        return sums.entrySet().stream()
+                .map(entry -> new RevenueLineDto(entry.getKey(), entry.getValue().getAmount(),
+                        entry.getValue().getMinutes(), entry.getValue().getReservations()))
+                .sorted(Comparator.comparing(RevenueLineDto::getAmount).reversed())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the hourly and daily usage tables in step with the reservations.
+ * Runs synchronously in the transaction of the change, so the aggregates
+ * commit or roll back with it. Only the difference between the old and new
+ * state is written, as in-place increments.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpaceUsageAggregator {
+    
+    static final Set<String> INACTIVE = Set.of("CANCELLED", "EXPIRED");
+    
+    private final SpaceHourlyUsageRepository hourlyUsageRepository;
+    private final SpaceDailyUsageRepository dailyUsageRepository;
+    
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationSnapshot before = isActive(event.before()) ? event.before() : null;
+        ReservationSnapshot after = isActive(event.after()) ? event.after() : null;
+        
+        if (before != null && after != null && before.spaceId().equals(after.spaceId())) {
+            apply(before.spaceId(), before, after);
+            return;
+        }
+        if (before != null) {
+            apply(before.spaceId(), before, null);
+        }
+        if (after != null) {
+            apply(after.spaceId(), null, after);
+        }
+    }
+    
+    private void apply(Long spaceId, ReservationSnapshot removed, ReservationSnapshot added) {
+        if (removed != null && added != null && Objects.equals(removed.startTime(), added.startTime())
+                && Objects.equals(removed.endTime(), added.endTime())) {
+            return;
+        }
+        UsageBuckets buckets = new UsageBuckets();
+        if (removed != null) {
+            buckets.add(removed.startTime(), removed.endTime(), -1);
+        }
+        if (added != null) {
+            buckets.add(added.startTime(), added.endTime(), 1);
+        }
+        buckets.writeHourly((bucketStart, minutes, count) ->
+                hourlyUsageRepository.addUsage(spaceId, bucketStart, minutes, count));
+        buckets.writeDaily((bucketStart, minutes, count) ->
+                dailyUsageRepository.addUsage(spaceId, bucketStart, minutes, count));
+    }
+    
+    private static boolean isActive(ReservationSnapshot reservation) {
+        return reservation != null && !INACTIVE.contains(reservation.status());
+    }
+}
@@ -0,0 +1,160 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.model.ArchivedReservation;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recomputes the usage aggregates from the live and archived reservations,
+ * one space per task on a fixed pool and one transaction per space. Meant
+ * for the first start after the tables were added and for repairs; changes
+ * to a space committed while that space is rebuilt may be counted twice or
+ * missed, so run it when bookings are quiet. Rebuilds run one at a time: a
+ * second one waits for the first, whose deletes would otherwise interleave
+ * with its increments.
+ */
+@Slf4j
+public class SpaceUsageRebuilder {
+    
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final SpaceHourlyUsageRepository hourlyUsageRepository;
+    private final SpaceDailyUsageRepository dailyUsageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    private volatile boolean ready;
+    
+    public SpaceUsageRebuilder(ReservationRepository reservationRepository,
+                               ArchivedReservationRepository archivedReservationRepository,
+                               SpaceHourlyUsageRepository hourlyUsageRepository,
+                               SpaceDailyUsageRepository dailyUsageRepository,
+                               TransactionTemplate transactionTemplate, int parallelism) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.hourlyUsageRepository = hourlyUsageRepository;
+        this.dailyUsageRepository = dailyUsageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+    }
+    
+    // Existing reservations have no aggregates until the first rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuildLock.lock();
+        try {
+            // Checked under the lock, an endpoint call may have rebuilt already
+            if (hourlyUsageRepository.count() == 0
+                    && (reservationRepository.count() > 0 || archivedReservationRepository.count() > 0)) {
+                rebuild();
+            }
+            ready = true;
+        } catch (RuntimeException e) {
+            // Stays not ready until a rebuild through the endpoint succeeds
+            log.error("Usage rebuild at startup failed", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public RebuildResult rebuild() {
+        rebuildLock.lock();
+        try {
+            RebuildResult result = rebuildAll();
+            ready = true;
+            return result;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    /**
+     * Whether the aggregates cover every reservation, once the startup check
+     * or a rebuild has completed.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    private RebuildResult rebuildAll() {
+        long start = System.nanoTime();
+        Set<Long> spaceIds = new TreeSet<>(reservationRepository.findDistinctSpaceIds());
+        spaceIds.addAll(archivedReservationRepository.findDistinctSpaceIds());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        int rows = 0;
+        try {
+            List<Future<Integer>> tasks = new ArrayList<>(spaceIds.size());
+            for (Long spaceId : spaceIds) {
+                tasks.add(executor.submit(() -> transactionTemplate.execute(status -> rebuildSpace(spaceId))));
+            }
+            for (Future<Integer> task : tasks) {
+                rows += task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Usage rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Usage rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        // Spaces whose reservations are all gone
+        transactionTemplate.executeWithoutResult(status -> {
+            if (spaceIds.isEmpty()) {
+                hourlyUsageRepository.deleteAllInBatch();
+                dailyUsageRepository.deleteAllInBatch();
+            } else {
+                hourlyUsageRepository.deleteBySpaceIdNotIn(spaceIds);
+                dailyUsageRepository.deleteBySpaceIdNotIn(spaceIds);
+            }
+        });
+        
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt usage aggregates of {} spaces ({} rows) in {} ms", spaceIds.size(), rows, millis);
+        return new RebuildResult(spaceIds.size(), rows, millis);
+    }
+    
+    private int rebuildSpace(Long spaceId) {
+        UsageBuckets buckets = new UsageBuckets();
+        for (Reservation reservation : reservationRepository.findBySpaceId(spaceId)) {
+            if (!SpaceUsageAggregator.INACTIVE.contains(reservation.getStatus())) {
+                buckets.add(reservation.getStartTime(), reservation.getEndTime(), 1);
+            }
+        }
+        for (ArchivedReservation reservation : archivedReservationRepository.findBySpaceIdOrderByStartTimeDesc(spaceId)) {
+            if (!SpaceUsageAggregator.INACTIVE.contains(reservation.getStatus())) {
+                buckets.add(reservation.getStartTime(), reservation.getEndTime(), 1);
+            }
+        }
+        
+        hourlyUsageRepository.deleteBySpaceId(spaceId);
+        dailyUsageRepository.deleteBySpaceId(spaceId);
+        return buckets.writeHourly((bucketStart, minutes, count) ->
+                        hourlyUsageRepository.addUsage(spaceId, bucketStart, minutes, count))
+                + buckets.writeDaily((bucketStart, minutes, count) ->
+                        dailyUsageRepository.addUsage(spaceId, bucketStart, minutes, count));
+    }
+    
+    public record RebuildResult(int spaces, int rows, long durationMs) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.coworking.reservationservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Splits reservation intervals into hourly and daily buckets of booked
+ * minutes and starts. Adding an interval with sign -1 removes it again, so
+ * the buckets of a change are the difference between its two sides.
+ */
+class UsageBuckets {
+    
+    private final Map<LocalDateTime, Bucket> hourly = new TreeMap<>();
+    private final Map<LocalDateTime, Bucket> daily = new TreeMap<>();
+    
+    void add(LocalDateTime startTime, LocalDateTime endTime, int sign) {
+        bucket(hourly, startTime.truncatedTo(ChronoUnit.HOURS)).count += sign;
+        bucket(daily, startTime.truncatedTo(ChronoUnit.DAYS)).count += sign;
+        
+        for (LocalDateTime hour = startTime.truncatedTo(ChronoUnit.HOURS); hour.isBefore(endTime); hour = hour.plusHours(1)) {
+            LocalDateTime from = startTime.isAfter(hour) ? startTime : hour;
+            LocalDateTime to = endTime.isBefore(hour.plusHours(1)) ? endTime : hour.plusHours(1);
+            long minutes = sign * Duration.between(from, to).toMinutes();
+            bucket(hourly, hour).minutes += minutes;
+            bucket(daily, hour.truncatedTo(ChronoUnit.DAYS)).minutes += minutes;
+        }
+    }
+    
+    /**
+     * Writes every bucket with a non-zero change and returns how many were
+     * written.
+     */
+    int writeHourly(Sink sink) {
+        return write(hourly, sink);
+    }
+    
+    int writeDaily(Sink sink) {
+        return write(daily, sink);
+    }
+    
+    private static int write(Map<LocalDateTime, Bucket> buckets, Sink sink) {
+        int written = 0;
+        for (Map.Entry<LocalDateTime, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (bucket.minutes != 0 || bucket.count != 0) {
+                sink.write(entry.getKey(), bucket.minutes, bucket.count);
+                written++;
+            }
+        }
+        return written;
+    }
+    
+    private static Bucket bucket(Map<LocalDateTime, Bucket> buckets, LocalDateTime start) {
+        return buckets.computeIfAbsent(start, key -> new Bucket());
+    }
+    
+    @FunctionalInterface
+    interface Sink {
+        void write(LocalDateTime bucketStart, long minutes, int count);
+    }
+    
+    private static final class Bucket {
+        long minutes;
+        int count;
+    }
+}
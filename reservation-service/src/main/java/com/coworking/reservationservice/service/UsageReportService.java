@@ -0,0 +1,96 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.dto.HourlyOccupancyDto;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.SpaceUtilizationDto;
+import com.coworking.reservationservice.repository.HourOfDayUsage;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceUsageTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Usage reports read from the hourly and daily aggregates only; the
+ * reservations themselves are not scanned. Periods are whole days, both
+ * ends included.
+ */
+@Service
+@RequiredArgsConstructor
+public class UsageReportService {
+    
+    private final SpaceDailyUsageRepository dailyUsageRepository;
+    private final SpaceHourlyUsageRepository hourlyUsageRepository;
+    private final DirectoryLookup directoryLookup;
+    
+    @Transactional(readOnly = true)
+    public List<SpaceUtilizationDto> getUtilizationBySpace(LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        
+        List<SpaceUsageTotals> totals = dailyUsageRepository.sumBySpace(start, end);
+        Map<Long, Integer> peakHours = peakHourBySpace(hourlyUsageRepository.sumBySpaceAndHourOfDay(start, end));
+        Map<Long, SpaceDto> spaces = directoryLookup.findSpaces(
+                totals.stream().map(SpaceUsageTotals::getSpaceId).toList());
+        
+        return totals.stream()
+                .map(total -> {
+                    SpaceDto space = spaces.get(total.getSpaceId());
+                    return new SpaceUtilizationDto(
+                            total.getSpaceId(),
+                            space != null ? space.getName() : null,
+                            total.getBookedMinutes(),
+                            total.getBookingCount(),
+                            total.getBookedDays(),
+                            utilization(total.getBookedMinutes(), space, days),
+                            peakHours.get(total.getSpaceId()));
+                })
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<HourlyOccupancyDto> getOccupancyByHourOfDay(LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        return hourlyUsageRepository.sumByHourOfDay(from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .map(usage -> new HourlyOccupancyDto(usage.getHourOfDay(), usage.getBookedMinutes(),
+                        usage.getPeakConcurrency()))
+                .collect(Collectors.toList());
+    }
+    
+    private static Map<Long, Integer> peakHourBySpace(List<HourOfDayUsage> usage) {
+        Map<Long, HourOfDayUsage> busiest = new HashMap<>();
+        for (HourOfDayUsage hour : usage) {
+            busiest.merge(hour.getSpaceId(), hour,
+                    (current, candidate) -> candidate.getBookedMinutes() > current.getBookedMinutes() ? candidate : current);
+        }
+        Map<Long, Integer> peakHours = new HashMap<>();
+        busiest.forEach((spaceId, hour) -> peakHours.put(spaceId, hour.getHourOfDay()));
+        return peakHours;
+    }
+    
+    private static Double utilization(long bookedMinutes, SpaceDto space, long days) {
+        if (space == null || space.getOpeningTime() == null || space.getClosingTime() == null) {
+            return null;
+        }
+        long openMinutes = Duration.between(space.getOpeningTime(), space.getClosingTime()).toMinutes() * days;
+        return openMinutes > 0 ? (double) bookedMinutes / openMinutes : null;
+    }
+    
+    private static void validatePeriod(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The period must not end before it starts");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.coworking.reservationservice.event.WaitlistPromotedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Promotes waiting requests once a cancellation, expiry or move of a
+ * reservation has committed, and counts the promotions. Runs after commit
+ * so a rolled back change never hands its slot away. Promoted users see the
+ * confirmed booking in their waitlist entry and reservations.
+ */
+@Slf4j
+@Component
+public class WaitlistPromoter {
+    
+    private static final Set<String> INACTIVE = Set.of("CANCELLED", "EXPIRED");
+    
+    private final WaitlistService waitlistService;
+    private final Counter promotions;
+    
+    public WaitlistPromoter(WaitlistService waitlistService, MeterRegistry meterRegistry) {
+        this.waitlistService = waitlistService;
+        this.promotions = Counter.builder("reservations.waitlist.promoted")
+                .description("Waitlist entries turned into reservations")
+                .register(meterRegistry);
+    }
+    
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        ReservationSnapshot before = event.before();
+        if (before == null || INACTIVE.contains(before.status()) || !frees(before, event.after())) {
+            return;
+        }
+        try {
+            waitlistService.promote(before.spaceId(), before.startTime(), before.endTime());
+        } catch (RuntimeException e) {
+            // The change itself is committed; the next freed slot retries the waiters
+            log.warn("Waitlist promotion for space {} failed: {}", before.spaceId(), e.getMessage());
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onPromoted(WaitlistPromotedEvent event) {
+        promotions.increment();
+        ReservationSnapshot reservation = event.reservation();
+        log.info("Waitlist entry {} promoted to reservation {} for user {} on space {} from {} to {}",
+                event.waitlistEntryId(), reservation.id(), reservation.userId(), reservation.spaceId(),
+                reservation.startTime(), reservation.endTime());
+    }
+    
+    private static boolean frees(ReservationSnapshot before, ReservationSnapshot after) {
+        return INACTIVE.contains(after.status())
+                || !after.spaceId().equals(before.spaceId())
+                || after.startTime().isAfter(before.startTime())
+                || after.endTime().isBefore(before.endTime());
+    }
+}
@@ -0,0 +1,126 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.dto.CreateReservationRequest;
+import com.coworking.reservationservice.dto.ReservationDto;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.WaitlistEntryDto;
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.coworking.reservationservice.event.WaitlistPromotedEvent;
+import com.coworking.reservationservice.exception.ReservationConflictException;
+import com.coworking.reservationservice.exception.ResourceNotFoundException;
+import com.coworking.reservationservice.mapper.WaitlistMapper;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.model.WaitlistEntry;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.WaitlistRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+    
+    private final WaitlistRepository waitlistRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationPartitions reservationPartitions;
+    private final ReservationService reservationService;
+    private final DirectoryLookup directoryLookup;
+    private final WaitlistMapper waitlistMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Books the slot if it is free, otherwise queues the request. Not
+     * transactional itself: the booking attempt must roll back on its own
+     * when it conflicts.
+     */
+    public WaitlistEntryDto joinWaitlist(CreateReservationRequest request) {
+        WaitlistEntry entry = waitlistMapper.toEntity(request);
+        entry.setPartitionKey(reservationPartitions.keyOf(request.getStartTime()));
+        try {
+            ReservationDto reservation = reservationService.createReservation(request);
+            entry.setStatus("PROMOTED");
+            entry.setReservationId(reservation.getId());
+            entry.setPromotedAt(LocalDateTime.now());
+        } catch (ReservationConflictException e) {
+            // User, space and times were validated before the conflict check
+        }
+        return waitlistMapper.toDto(waitlistRepository.save(entry));
+    }
+    
+    @Transactional(readOnly = true)
+    public WaitlistEntryDto getWaitlistEntry(Long id) {
+        return waitlistMapper.toDto(findEntry(id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getWaitlistEntriesByUserId(Long userId) {
+        return waitlistRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(waitlistMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional
+    public void leaveWaitlist(Long id) {
+        WaitlistEntry entry = findEntry(id);
+        if (!"WAITING".equals(entry.getStatus())) {
+            throw new ReservationConflictException("Waitlist entry is already " + entry.getStatus());
+        }
+        entry.setStatus("CANCELLED");
+        waitlistRepository.save(entry);
+    }
+    
+    /**
+     * Hands a freed interval to the oldest waiting requests that overlap it
+     * and now fit, in a transaction of its own. Returns the number promoted.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int promote(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WaitlistEntry> candidates = waitlistRepository.findWaitingOverlapping(spaceId, startTime, endTime,
+                reservationPartitions.firstKeyOverlapping(startTime),
+                reservationPartitions.keyOf(endTime), now);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        
+        // Promotion is the booking, so it is charged at the current price
+        BigDecimal pricePerHour = directoryLookup.findSpace(spaceId).map(SpaceDto::getPricePerHour).orElse(null);
+        int promoted = 0;
+        for (WaitlistEntry entry : candidates) {
+            // Sees reservations promoted earlier in this loop, the query flushes first
+            if (!reservationPartitions.findOverlapping(spaceId, entry.getStartTime(), entry.getEndTime()).isEmpty()) {
+                continue;
+            }
+            
+            // Confirmed right away: nobody is told in time to confirm a hold,
+            // and the hold expiry would hand the slot on again
+            Reservation reservation = new Reservation(null, entry.getUserId(), spaceId, entry.getStartTime(),
+                    entry.getEndTime(), "CONFIRMED", entry.getNotes(), now, now, entry.getPartitionKey(), pricePerHour);
+            ReservationSnapshot snapshot = ReservationSnapshot.of(reservationRepository.save(reservation));
+            
+            entry.setStatus("PROMOTED");
+            entry.setReservationId(snapshot.id());
+            entry.setPromotedAt(now);
+            
+            eventPublisher.publishEvent(ReservationChangedEvent.created(snapshot));
+            eventPublisher.publishEvent(new WaitlistPromotedEvent(entry.getId(), snapshot));
+            promoted++;
+        }
+        return promoted;
+    }
+    
+    private WaitlistEntry findEntry(Long id) {
+        return waitlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + id));
+    }
+}
@@ -0,0 +1,225 @@
+package com.coworking.reservationservice.availability;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityBroadcasterTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<TestEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private AvailabilityBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(TestEmitter::open);
+        broadcaster.destroy();
+    }
+
+    @Test
+    void subscribe_WithChangeCommittedDuringSnapshot_ShouldSendSnapshotFirst() {
+        // Arrange
+        broadcaster = broadcaster(2, 16, Duration.ofSeconds(10));
+
+        // Act: the change lands between registration and the snapshot read
+        broadcaster.subscribe(1L, () -> {
+            broadcaster.onReservationChanged(booked(1L, 7L));
+            return List.of();
+        });
+
+        // Assert
+        TestEmitter emitter = emitters.get(0);
+        awaitTrue(() -> emitter.names().size() == 2);
+        assertEquals(List.of("snapshot", "delta"), emitter.names());
+    }
+
+    @Test
+    void onReservationChanged_WhenSubscriberQueueIsFull_ShouldEvictIt() {
+        // Arrange: the snapshot write hangs, so deltas queue up behind it
+        broadcaster = broadcaster(2, 2, Duration.ofSeconds(10));
+        TestEmitter slow = TestEmitter.blocked();
+        broadcaster.subscribe(1L, () -> List.of());
+
+        // Act
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onReservationChanged(booked(1L, id));
+        }
+
+        // Assert
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("availability.evictions").tag("reason", "slow").counter().count());
+        slow.open();
+        awaitTrue(slow::isCompleted);
+    }
+
+    @Test
+    void send_WhenWriteBlocks_ShouldEvictTheWriterAndKeepServingOthers() {
+        // Arrange: a single sender, stuck on the first subscriber's snapshot
+        broadcaster = broadcaster(1, 16, Duration.ofMillis(50));
+        TestEmitter stuck = TestEmitter.blocked();
+        broadcaster.subscribe(1L, () -> List.of());
+        awaitTrue(stuck::isWriting);
+
+        // Act
+        awaitTrue(() -> broadcaster.getSubscriberCount() == 0);
+        broadcaster.subscribe(2L, () -> List.of());
+
+        // Assert: the other subscriber is served by the extra sender
+        TestEmitter healthy = emitters.get(1);
+        awaitTrue(() -> healthy.names().equals(List.of("snapshot")));
+        assertEquals(1.0, meterRegistry.get("availability.evictions").tag("reason", "blocked").counter().count());
+        assertFalse(stuck.isCompleted());
+        stuck.open();
+        awaitTrue(stuck::isCompleted);
+    }
+
+    @Test
+    void subscribe_WhileLastSubscriberOfSpaceLeaves_ShouldStillReceiveDeltas() throws Exception {
+        // Arrange
+        broadcaster = broadcaster(2, 16, Duration.ofSeconds(10));
+
+        for (long spaceId = 1; spaceId <= 500; spaceId++) {
+            long space = spaceId;
+            broadcaster.subscribe(space, () -> List.of());
+            TestEmitter leaving = emitters.get(emitters.size() - 1);
+            CountDownLatch go = new CountDownLatch(1);
+
+            // Act: the leaving subscriber empties the set while another joins it
+            CompletableFuture<Void> leave = CompletableFuture.runAsync(() -> {
+                await(go);
+                leaving.completionCallbacks.forEach(Runnable::run);
+            });
+            CompletableFuture<Void> join = CompletableFuture.runAsync(() -> {
+                await(go);
+                broadcaster.subscribe(space, () -> List.of());
+            });
+            go.countDown();
+            CompletableFuture.allOf(leave, join).get(5, TimeUnit.SECONDS);
+            TestEmitter joined = emitters.get(emitters.size() - 1);
+            broadcaster.onReservationChanged(booked(space, space));
+
+            // Assert
+            awaitTrue(() -> joined.names().equals(List.of("snapshot", "delta")));
+        }
+        assertEquals(500, broadcaster.getSubscriberCount());
+    }
+
+    private AvailabilityBroadcaster broadcaster(int senderThreads, int bufferSize, Duration writeTimeout) {
+        return new AvailabilityBroadcaster(new ObjectMapper().findAndRegisterModules(), timeout -> {
+            TestEmitter emitter = TestEmitter.next != null ? TestEmitter.next : new TestEmitter();
+            TestEmitter.next = null;
+            emitters.add(emitter);
+            return emitter;
+        }, senderThreads, 100_000, bufferSize, Duration.ofMinutes(30), writeTimeout, Duration.ofHours(1), meterRegistry);
+    }
+
+    private static ReservationChangedEvent booked(Long spaceId, Long reservationId) {
+        return ReservationChangedEvent.created(
+                new ReservationSnapshot(reservationId, 3L, spaceId, SLOT, SLOT.plusHours(1), "PENDING"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Records the event names; a closed gate makes writes hang like a client that stopped reading
+    private static final class TestEmitter extends SseEmitter {
+
+        private static final Pattern NAME = Pattern.compile("event:(\\w+)");
+
+        // The emitter the next subscription gets
+        private static volatile TestEmitter next;
+
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch gate;
+        private volatile boolean writing;
+
+        TestEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private TestEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        static TestEmitter blocked() {
+            next = new TestEmitter(new CountDownLatch(1));
+            return next;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing = true;
+            await(gate);
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            Matcher matcher = NAME.matcher(text);
+            names.add(matcher.find() ? matcher.group(1) : "heartbeat");
+            writing = false;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        boolean isWriting() {
+            return writing;
+        }
+
+        boolean isCompleted() {
+            return completed.getCount() == 0;
+        }
+
+        List<String> names() {
+            return new ArrayList<>(names);
+        }
+    }
+}
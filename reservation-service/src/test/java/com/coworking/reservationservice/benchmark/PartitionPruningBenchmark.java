@@ -0,0 +1,106 @@
+package com.coworking.reservationservice.benchmark;
+
+import com.coworking.reservationservice.ReservationServiceApplication;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Conflict-check latency as the reservation history grows from 1 to 100
+ * months, with the partition range of the window (pruned) and with every
+ * partition (what the query did before partitioning).
+ * Run with {@code ./gradlew benchmark}; tune with -Dbenchmark.rows-per-month
+ * and -Dbenchmark.queries.
+ */
+@Tag("benchmark")
+public class PartitionPruningBenchmark {
+
+    private static final int ROWS_PER_MONTH = Integer.getInteger("benchmark.rows-per-month", 2_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 2_000);
+    private static final int SPACES = 20;
+    private static final int[] HISTORY_MONTHS = {1, 10, 100};
+
+    @Test
+    void overlapQueries() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ReservationServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "eureka.client.enabled=false",
+                        "coworking.archive.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-partitions",
+                        "logging.level.root=WARN");
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            ReservationRepository repository = context.getBean(ReservationRepository.class);
+            ReservationPartitions partitions = context.getBean(ReservationPartitions.class);
+            LocalDateTime now = LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+            int seededMonths = 0;
+            for (int months : HISTORY_MONTHS) {
+                seed(repository, partitions, now, seededMonths, months);
+                seededMonths = months;
+
+                double pruned = measure(() -> {
+                    Window window = window(now);
+                    repository.findOverlappingReservations(window.spaceId(), window.start(), window.end(),
+                            partitions.firstKeyOverlapping(window.start()),
+                            partitions.keyOf(window.end()));
+                });
+                double unpruned = measure(() -> {
+                    Window window = window(now);
+                    repository.findOverlappingReservations(window.spaceId(), window.start(), window.end(),
+                            Integer.MIN_VALUE, Integer.MAX_VALUE);
+                });
+                System.out.printf("[benchmark] %d months, %d rows: pruned %.1f us/query, all partitions %.1f us/query%n",
+                        months, repository.count(), pruned, unpruned);
+            }
+        }
+    }
+
+    // Adds the months [fromMonth, toMonth) before now
+    private void seed(ReservationRepository repository, ReservationPartitions partitions, LocalDateTime now,
+                      int fromMonth, int toMonth) {
+        Random random = new Random(fromMonth);
+        List<Reservation> batch = new ArrayList<>(ROWS_PER_MONTH);
+        for (int month = fromMonth; month < toMonth; month++) {
+            LocalDateTime monthStart = now.minusMonths(month).withDayOfMonth(1);
+            for (int i = 0; i < ROWS_PER_MONTH; i++) {
+                LocalDateTime start = monthStart.plusDays(random.nextInt(28)).plusHours(random.nextInt(8));
+                batch.add(new Reservation(null, (long) random.nextInt(500) + 1, (long) (i % SPACES) + 1,
+                        start, start.plusHours(1), "CONFIRMED", null, start, start, partitions.keyOf(start), null));
+            }
+            repository.saveAll(batch);
+            batch.clear();
+        }
+    }
+
+    private double measure(Runnable query) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            query.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / QUERIES;
+    }
+
+    private static Window window(LocalDateTime now) {
+        Random random = new Random();
+        LocalDateTime start = now.plusDays(random.nextInt(14)).plusHours(random.nextInt(8));
+        return new Window((long) random.nextInt(SPACES) + 1, start, start.plusHours(2));
+    }
+
+    private record Window(Long spaceId, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.coworking.reservationservice.benchmark;
+
+import com.coworking.reservationservice.ReservationServiceApplication;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Read throughput of the servlet stack (Tomcat thread pool, Feign, JDBC)
+ * against the "virtual-threads" profile (same stack on virtual threads, Java
+ * 21+) and the "reactive" profile (Netty, WebClient, R2DBC) with many
+ * concurrent connections. User and space lookups are served by an in-process stub with
+ * a fixed latency.
+ * Run with {@code ./gradlew benchmark}; tune with -Dbenchmark.connections,
+ * -Dbenchmark.requests and -Dbenchmark.downstream-latency-ms.
+ */
+@Tag("benchmark")
+public class ReadPathBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 1_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int LATENCY_MS = Integer.getInteger("benchmark.downstream-latency-ms", 20);
+    private static final int RESERVATIONS = 2_000;
+    private static final int USERS = 200;
+    private static final int SPACES = 50;
+
+    private static HttpServer downstream;
+    private static ExecutorService downstreamExecutor;
+
+    @BeforeAll
+    static void startDownstream() throws IOException {
+        downstreamExecutor = Executors.newCachedThreadPool();
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONNECTIONS);
+        downstream.createContext("/api/users/", exchange -> respond(exchange, id ->
+                "{\"id\":" + id + ",\"email\":\"user" + id + "@example.com\",\"name\":\"User " + id + "\"}"));
+        downstream.createContext("/api/spaces/", exchange -> respond(exchange, id ->
+                "{\"id\":" + id + ",\"name\":\"Space " + id + "\",\"capacity\":8,\"type\":\"MEETING_ROOM\"," +
+                "\"amenities\":[\"projector\",\"whiteboard\"],\"openingTime\":\"08:00:00\"," +
+                "\"closingTime\":\"20:00:00\",\"pricePerHour\":25.00,\"active\":true}"));
+        downstream.setExecutor(downstreamExecutor);
+        downstream.start();
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        downstream.stop(0);
+        downstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void servletStack() throws Exception {
+        run("servlet");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadStack() throws Exception {
+        run("virtual-threads");
+    }
+
+    @Test
+    void reactiveStack() throws Exception {
+        run("reactive");
+    }
+
+    private void run(String mode) throws Exception {
+        String downstreamUri = "http://localhost:" + downstream.getAddress().getPort();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ReservationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                        "spring.cloud.discovery.client.simple.instances.user-service[0].uri=" + downstreamUri,
+                        "spring.cloud.discovery.client.simple.instances.space-service[0].uri=" + downstreamUri,
+                        "logging.level.root=WARN");
+        if (!mode.equals("servlet")) {
+            builder.profiles(mode);
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            seed(context.getBean(ReservationRepository.class), context.getBean(ReservationPartitions.class));
+            String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(Executors.newFixedThreadPool(16))
+                    .build();
+
+            load(client, baseUri, "/api/reservations/", RESERVATIONS, REQUESTS / 10);
+            report(mode, "GET /api/reservations/{id}",
+                    load(client, baseUri, "/api/reservations/", RESERVATIONS, REQUESTS));
+            report(mode, "GET /api/reservations/space/{id}",
+                    load(client, baseUri, "/api/reservations/space/", SPACES, REQUESTS / 10));
+        }
+    }
+
+    private void seed(ReservationRepository reservationRepository, ReservationPartitions partitions) {
+        List<Reservation> reservations = new ArrayList<>(RESERVATIONS);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            LocalDateTime slot = start.plusDays(i / SPACES);
+            reservations.add(new Reservation(null, (long) (i % USERS) + 1, (long) (i % SPACES) + 1,
+                    slot, slot.plusHours(1), "CONFIRMED", null, LocalDateTime.now(), LocalDateTime.now(),
+                    partitions.keyOf(slot), null));
+        }
+        reservationRepository.saveAll(reservations);
+    }
+
+    private Result load(HttpClient client, String baseUri, String path, int ids, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONNECTIONS);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUri + path + (i % ids + 1)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        latencies[request] = System.nanoTime() - sent;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        return new Result(requests, errors.get(), System.nanoTime() - start, latencies);
+    }
+
+    private void report(String mode, String scenario, Result result) {
+        long[] sorted = result.latencies().clone();
+        Arrays.sort(sorted);
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        System.out.printf("[benchmark] %s %s, %d connections, %d ms downstream: %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors%n",
+                mode, scenario, CONNECTIONS, LATENCY_MS, result.requests() / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), result.errors());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))] / 1_000_000.0;
+    }
+
+    private static void respond(HttpExchange exchange, LongFunction<String> body) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            Thread.sleep(LATENCY_MS);
+            byte[] bytes = body.apply(id).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(int requests, int errors, long elapsedNanos, long[] latencies) {
+    }
+}
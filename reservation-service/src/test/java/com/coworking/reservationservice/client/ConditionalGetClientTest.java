@@ -0,0 +1,162 @@
+package com.coworking.reservationservice.client;
+
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConditionalGetClientTest {
+
+    private static final String URL = "http://space-service/api/spaces/7";
+
+    private final Deque<Response.Builder> responses = new ArrayDeque<>();
+    private final List<Request> sent = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void execute_WhenNotModified_ShouldReplayTheCachedBody() throws IOException {
+        // Arrange
+        ConditionalGetClient client = client(1024);
+        responses.add(ok("\"v1\"", "{\"id\":7}"));
+        responses.add(Response.builder().status(304).reason("Not Modified").headers(Map.of()));
+        client.execute(get(URL), new Request.Options()).close();
+
+        // Act
+        Response replayed = client.execute(get(URL), new Request.Options());
+
+        // Assert
+        assertEquals("\"v1\"", ifNoneMatch(sent.get(1)));
+        assertEquals(200, replayed.status());
+        assertEquals("{\"id\":7}", body(replayed));
+        assertEquals(List.of("\"v1\""), List.copyOf(replayed.headers().get("ETag")));
+        assertEquals(1.0, meterRegistry.counter("feign.conditional.requests", "result", "not_modified").count());
+    }
+
+    @Test
+    void execute_WhenModified_ShouldReplaceTheCachedBody() throws IOException {
+        // Arrange
+        ConditionalGetClient client = client(1024);
+        responses.add(ok("\"v1\"", "{\"id\":7}"));
+        responses.add(ok("\"v2\"", "{\"id\":7,\"name\":\"Room\"}"));
+        responses.add(Response.builder().status(304).reason("Not Modified").headers(Map.of()));
+        client.execute(get(URL), new Request.Options()).close();
+
+        // Act
+        Response changed = client.execute(get(URL), new Request.Options());
+        Response replayed = client.execute(get(URL), new Request.Options());
+
+        // Assert
+        assertEquals("{\"id\":7,\"name\":\"Room\"}", body(changed));
+        assertEquals("\"v2\"", ifNoneMatch(sent.get(2)));
+        assertEquals("{\"id\":7,\"name\":\"Room\"}", body(replayed));
+        assertEquals(1.0, meterRegistry.counter("feign.conditional.requests", "result", "modified").count());
+    }
+
+    @Test
+    void execute_WhenOverTheByteBudget_ShouldEvictTheLeastRecentlyUsed() throws IOException {
+        // Arrange: room for two of these responses, not three
+        String body = "x".repeat(100);
+        int entrySize = (URL + 1).length() + body.length() + "ETag".length() + "\"v1\"".length();
+        ConditionalGetClient client = client(2 * entrySize + 10);
+        for (int i = 1; i <= 3; i++) {
+            responses.add(ok("\"v" + i + "\"", body));
+            client.execute(get(URL + i), new Request.Options()).close();
+        }
+        responses.add(ok("\"v1\"", body));
+        responses.add(ok("\"v3\"", body));
+
+        // Act
+        client.execute(get(URL + 1), new Request.Options()).close();
+        client.execute(get(URL + 3), new Request.Options()).close();
+
+        // Assert
+        assertNull(ifNoneMatch(sent.get(3)));
+        assertEquals("\"v3\"", ifNoneMatch(sent.get(4)));
+        assertEquals(2 * entrySize, client.cachedBytes());
+    }
+
+    @Test
+    void execute_WhenResponseExceedsTheBudget_ShouldPassItThroughUncached() throws IOException {
+        // Arrange
+        ConditionalGetClient client = client(64);
+        String body = "x".repeat(100);
+        responses.add(ok("\"v1\"", body));
+        responses.add(ok("\"v1\"", body));
+
+        // Act
+        Response first = client.execute(get(URL), new Request.Options());
+        client.execute(get(URL), new Request.Options()).close();
+
+        // Assert
+        assertEquals(body, body(first));
+        assertNull(ifNoneMatch(sent.get(1)));
+        assertEquals(0, client.cachedBytes());
+    }
+
+    @Test
+    void execute_WhenNotFound_ShouldForgetTheCachedBody() throws IOException {
+        // Arrange
+        ConditionalGetClient client = client(1024);
+        responses.add(ok("\"v1\"", "{\"id\":7}"));
+        responses.add(Response.builder().status(404).reason("Not Found").headers(Map.of()));
+        responses.add(ok("\"v2\"", "{\"id\":7}"));
+        client.execute(get(URL), new Request.Options()).close();
+
+        // Act
+        client.execute(get(URL), new Request.Options()).close();
+        client.execute(get(URL), new Request.Options()).close();
+
+        // Assert
+        assertNull(ifNoneMatch(sent.get(2)));
+        assertEquals(URL.length() + "{\"id\":7}".length() + "ETag".length() + "\"v2\"".length(), client.cachedBytes());
+    }
+
+    private ConditionalGetClient client(long maxBytes) {
+        return new ConditionalGetClient((request, options) -> {
+            sent.add(request);
+            return responses.removeFirst().request(request).build();
+        }, maxBytes, meterRegistry);
+    }
+
+    private static String ifNoneMatch(Request request) {
+        Collection<String> values = request.headers().get("If-None-Match");
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private static Request get(String url) {
+        return Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static Response.Builder ok(String eTag, String body) {
+        Map<String, Collection<String>> headers = Map.of("ETag", List.of(eTag));
+        return Response.builder()
+                .status(200)
+                .reason("OK")
+                .headers(headers)
+                .body(body, StandardCharsets.UTF_8);
+    }
+
+    private static String body(Response response) throws IOException {
+        try (response) {
+            return new String(Util.toByteArray(response.body().asInputStream()), StandardCharsets.UTF_8);
+        }
+    }
+}
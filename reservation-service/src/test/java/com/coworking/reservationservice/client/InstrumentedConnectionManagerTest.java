@@ -0,0 +1,141 @@
+package com.coworking.reservationservice.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InstrumentedConnectionManagerTest {
+
+    private static final HttpRoute SPACES_1 = new HttpRoute(new HttpHost("10.0.0.1", 8082));
+    private static final HttpRoute SPACES_2 = new HttpRoute(new HttpHost("10.0.0.2", 8082));
+
+    @Mock
+    private PoolingHttpClientConnectionManager pool;
+
+    private final List<HttpRoute> configured = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedConnectionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new InstrumentedConnectionManager(pool, route -> {
+            configured.add(route);
+            return 50;
+        }, meterRegistry);
+    }
+
+    @Test
+    void reuseRatio_ShouldBeTheShareOfLeasesOnOpenConnections() throws Exception {
+        // Arrange
+        assertTrue(Double.isNaN(reuseRatio()));
+        grant(SPACES_1, true, true, true, false);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            manager.lease("lease-" + i, SPACES_1, Timeout.ofSeconds(1), null).get(Timeout.ofSeconds(1));
+        }
+
+        // Assert
+        assertEquals(0.75, reuseRatio());
+        assertEquals(3, meterRegistry.timer("feign.pool.lease", "reused", "true").count());
+        assertEquals(1, meterRegistry.timer("feign.pool.lease", "reused", "false").count());
+    }
+
+    @Test
+    void lease_WhenNotGranted_ShouldRecordTheFailure() throws Exception {
+        // Arrange
+        LeaseRequest pending = mock(LeaseRequest.class);
+        when(pending.get(any())).thenThrow(new TimeoutException("Timeout deadline: 1000 MILLISECONDS"));
+        when(pool.lease(any(), eq(SPACES_1), any(), any())).thenReturn(pending);
+        LeaseRequest lease = manager.lease("lease-1", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Act & Assert
+        assertThrows(TimeoutException.class, () -> lease.get(Timeout.ofSeconds(1)));
+        assertEquals(1, meterRegistry.timer("feign.pool.lease.failed").count());
+        assertTrue(Double.isNaN(reuseRatio()));
+    }
+
+    @Test
+    void lease_ShouldConfigureEachRouteOnce() throws Exception {
+        // Arrange
+        grant(SPACES_1, true);
+        when(pool.getRoutes()).thenReturn(Set.of());
+
+        // Act
+        manager.lease("lease-1", SPACES_1, Timeout.ofSeconds(1), null);
+        manager.lease("lease-2", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Assert
+        assertEquals(List.of(SPACES_1), configured);
+        verify(pool).setMaxPerRoute(SPACES_1, 50);
+    }
+
+    @Test
+    void lease_OnNewRoute_ShouldForgetRoutesThePoolHasDropped() throws Exception {
+        // Arrange: SPACES_1 was leased, then its instance went away
+        grant(SPACES_1, true);
+        grant(SPACES_2, true);
+        when(pool.getRoutes()).thenReturn(Set.of(), Set.of());
+        manager.lease("lease-1", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Act
+        manager.lease("lease-2", SPACES_2, Timeout.ofSeconds(1), null);
+        manager.lease("lease-3", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Assert: dropped limits are removed from the pool and set again on return
+        verify(pool, atLeastOnce()).closeExpired();
+        verify(pool).setMaxPerRoute(SPACES_1, -1);
+        verify(pool, times(2)).setMaxPerRoute(SPACES_1, 50);
+        assertEquals(List.of(SPACES_1, SPACES_2, SPACES_1), configured);
+    }
+
+    @Test
+    void lease_OnNewRoute_ShouldKeepRoutesStillPooled() throws Exception {
+        // Arrange
+        grant(SPACES_1, true);
+        grant(SPACES_2, true);
+        when(pool.getRoutes()).thenReturn(Set.of(), Set.of(SPACES_1));
+        manager.lease("lease-1", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Act
+        manager.lease("lease-2", SPACES_2, Timeout.ofSeconds(1), null);
+        manager.lease("lease-3", SPACES_1, Timeout.ofSeconds(1), null);
+
+        // Assert
+        verify(pool, never()).setMaxPerRoute(SPACES_1, -1);
+        assertEquals(List.of(SPACES_1, SPACES_2), configured);
+    }
+
+    private void grant(HttpRoute route, Boolean first, Boolean... connected) throws Exception {
+        ConnectionEndpoint endpoint = mock(ConnectionEndpoint.class);
+        lenient().when(endpoint.isConnected()).thenReturn(first, connected);
+        LeaseRequest granted = mock(LeaseRequest.class);
+        lenient().when(granted.get(any())).thenReturn(endpoint);
+        when(pool.lease(any(), eq(route), any(), any())).thenReturn(granted);
+    }
+
+    private double reuseRatio() {
+        return meterRegistry.get("feign.pool.reuse.ratio").gauge().value();
+    }
+}
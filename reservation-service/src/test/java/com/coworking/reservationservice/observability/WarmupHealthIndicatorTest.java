@@ -0,0 +1,100 @@
+package com.coworking.reservationservice.observability;
+
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.service.SpaceUsageRebuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WarmupHealthIndicatorTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private DirectoryRpcClient directoryRpcClient;
+
+    @Mock
+    private ReservationPartitions reservationPartitions;
+
+    @Mock
+    private SpaceUsageRebuilder spaceUsageRebuilder;
+
+    private WarmupHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        indicator = new WarmupHealthIndicator(reservationRepository, directoryRpcClient,
+                reservationPartitions, spaceUsageRebuilder);
+    }
+
+    @Test
+    void health_WhenEverythingFinished_ShouldBeUp() {
+        // Arrange
+        when(reservationPartitions.isReady()).thenReturn(true);
+        when(spaceUsageRebuilder.isReady()).thenReturn(true);
+
+        // Act
+        indicator.onApplicationReady();
+
+        // Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    @Test
+    void health_WhenUsageRebuildPending_ShouldBeOutOfService() {
+        // Arrange
+        when(reservationPartitions.isReady()).thenReturn(true);
+        when(spaceUsageRebuilder.isReady()).thenReturn(false);
+        indicator.onApplicationReady();
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("pending", health.getDetails().get("usageAggregates"));
+        assertEquals("done", health.getDetails().get("warmup"));
+    }
+
+    @Test
+    void health_WhenWarmupFailed_ShouldStayOutOfServiceAndRetry() {
+        // Arrange
+        when(reservationPartitions.isReady()).thenReturn(true);
+        when(spaceUsageRebuilder.isReady()).thenReturn(true);
+        when(reservationRepository.count())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(0L);
+        indicator.onApplicationReady();
+
+        // Act
+        Status afterFailedRetry = indicator.health().getStatus();
+        Status afterRetry = indicator.health().getStatus();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, afterFailedRetry);
+        assertEquals(Status.UP, afterRetry);
+        verify(reservationRepository, times(3)).count();
+    }
+
+    @Test
+    void health_BeforeApplicationReady_ShouldNotWarmUp() {
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        verifyNoInteractions(reservationRepository, directoryRpcClient);
+    }
+}
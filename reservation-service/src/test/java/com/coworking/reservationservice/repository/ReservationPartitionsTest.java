@@ -0,0 +1,149 @@
+package com.coworking.reservationservice.repository;
+
+import com.coworking.reservationservice.model.PartitionLayout;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.model.WaitlistEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservationPartitionsTest {
+
+    private static final LocalDateTime JAN_1 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private PartitionLayoutRepository partitionLayoutRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        waitlistRepository.deleteAll();
+        partitionLayoutRepository.deleteAll();
+    }
+
+    @Test
+    void findOverlapping_WithReservationStartingBeforeTheWindow_ShouldFindIt() {
+        // Arrange: starts in January, overlaps a window in February
+        ReservationPartitions partitions = started(ChronoUnit.MONTHS, 1);
+        LocalDateTime start = JAN_1.withDayOfMonth(20);
+        Reservation earlier = reservationRepository.save(reservation(start, start.plusDays(16), partitions.keyOf(start)));
+        LocalDateTime windowStart = JAN_1.withMonth(2).withDayOfMonth(3);
+
+        // Act
+        List<Reservation> overlapping = partitions.findOverlapping(1L, windowStart, windowStart.plusHours(2));
+
+        // Assert: the pruned range starts a maximum duration before the window
+        assertEquals(partitions.keyOf(windowStart.minusDays(31)), partitions.firstKeyOverlapping(windowStart));
+        assertTrue(partitions.firstKeyOverlapping(windowStart) < partitions.keyOf(windowStart));
+        assertEquals(List.of(earlier.getId()), ids(overlapping));
+        assertEquals(List.of(earlier.getId()), ids(partitions.findBySpaceInWindow(1L, windowStart, windowStart.plusDays(1))));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WithLegacyLongReservation_ShouldKeyItAndWidenTheRange() {
+        // Arrange: 60 days, from before the 31 day limit existed
+        started(ChronoUnit.DAYS, 1);
+        Reservation legacy = reservationRepository.save(reservation(JAN_1, JAN_1.plusDays(60), null));
+        ReservationPartitions partitions = partitions(ChronoUnit.DAYS, 1);
+
+        // Act
+        partitions.afterSingletonsInstantiated();
+
+        // Assert
+        LocalDateTime windowStart = JAN_1.plusDays(50);
+        assertEquals(partitions.keyOf(JAN_1), reservationRepository.findById(legacy.getId()).orElseThrow().getPartitionKey());
+        assertEquals(Duration.ofDays(60), partitions.getLookback());
+        assertEquals(List.of(legacy.getId()), ids(partitions.findOverlapping(1L, windowStart, windowStart.plusHours(1))));
+        assertEquals(Duration.ofDays(60).toSeconds(),
+                partitionLayoutRepository.findById("reservations").orElseThrow().getLongestReservationSeconds());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WhenStoredLongestExceedsLimit_ShouldKeepTheWiderRange() {
+        // Arrange: an earlier run saw a 60 day reservation
+        partitionLayoutRepository.save(new PartitionLayout("reservations", ChronoUnit.DAYS, 1, Duration.ofDays(60).toSeconds()));
+        ReservationPartitions partitions = partitions(ChronoUnit.DAYS, 1);
+
+        // Act
+        partitions.afterSingletonsInstantiated();
+
+        // Assert
+        assertEquals(Duration.ofDays(60), partitions.getLookback());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WhenLayoutChanged_ShouldRekeyEveryRow() {
+        // Arrange
+        ReservationPartitions monthly = started(ChronoUnit.MONTHS, 1);
+        LocalDateTime start = JAN_1.withDayOfMonth(20);
+        Reservation reservation = reservationRepository.save(reservation(start, start.plusHours(2), monthly.keyOf(start)));
+        WaitlistEntry entry = waitlistRepository.save(new WaitlistEntry(null, 2L, 1L, start, start.plusHours(2),
+                monthly.keyOf(start), "WAITING", null, null, start, null));
+        ReservationPartitions daily = partitions(ChronoUnit.DAYS, 1);
+
+        // Act
+        daily.afterSingletonsInstantiated();
+
+        // Assert
+        assertEquals(daily.keyOf(start), reservationRepository.findById(reservation.getId()).orElseThrow().getPartitionKey());
+        assertEquals(daily.keyOf(start), waitlistRepository.findById(entry.getId()).orElseThrow().getPartitionKey());
+        PartitionLayout layout = partitionLayoutRepository.findById("reservations").orElseThrow();
+        assertEquals(ChronoUnit.DAYS, layout.getUnit());
+        assertEquals(1, layout.getSize());
+    }
+
+    @Test
+    void findOverlapping_WithUnkeyedRowWrittenAfterStartup_ShouldStillConflict() {
+        // Arrange: written by an instance of the previous version
+        ReservationPartitions partitions = started(ChronoUnit.MONTHS, 1);
+        Reservation unkeyed = reservationRepository.save(reservation(JAN_1, JAN_1.plusHours(2), null));
+
+        // Act
+        List<Reservation> overlapping = partitions.findOverlapping(1L, JAN_1.plusHours(1), JAN_1.plusHours(3));
+
+        // Assert
+        assertEquals(List.of(unkeyed.getId()), ids(overlapping));
+    }
+
+    private ReservationPartitions started(ChronoUnit unit, int size) {
+        ReservationPartitions partitions = partitions(unit, size);
+        partitions.afterSingletonsInstantiated();
+        return partitions;
+    }
+
+    private ReservationPartitions partitions(ChronoUnit unit, int size) {
+        return new ReservationPartitions(reservationRepository, waitlistRepository, partitionLayoutRepository,
+                new TransactionTemplate(transactionManager), unit, size, Duration.ofDays(31));
+    }
+
+    private static Reservation reservation(LocalDateTime start, LocalDateTime end, Integer partitionKey) {
+        return new Reservation(null, 2L, 1L, start, end, "CONFIRMED", null, start, start, partitionKey, null);
+    }
+
+    private static List<Long> ids(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).toList();
+    }
+}
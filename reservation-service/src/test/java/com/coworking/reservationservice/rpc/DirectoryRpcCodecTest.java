@@ -0,0 +1,120 @@
+package com.coworking.reservationservice.rpc;
+
+import com.coworking.common.rpc.ProtoReader;
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectoryRpcCodecTest {
+
+    @Test
+    void encodeIds_ShouldWritePackedIds() {
+        // Act
+        ProtoReader reader = new ProtoReader(DirectoryRpcCodec.encodeIds(List.of(3L, 300L, 70_000L)));
+        List<Long> ids = new ArrayList<>();
+        while (reader.hasNext()) {
+            assertEquals(1, reader.nextField());
+            reader.readInt64s(ids);
+        }
+
+        // Assert
+        assertEquals(List.of(3L, 300L, 70_000L), ids);
+    }
+
+    @Test
+    void decodeUser_ShouldReadTheUserSummary() {
+        // Arrange: encoded as user-service's UserRpcCodec does
+        byte[] data = user(3L, "Test User", "test@example.com").toByteArray();
+
+        // Act
+        UserDto user = DirectoryRpcCodec.decodeUser(data);
+
+        // Assert
+        assertEquals(3L, user.getId());
+        assertEquals("Test User", user.getName());
+        assertEquals("test@example.com", user.getEmail());
+    }
+
+    @Test
+    void decodeSpace_ShouldReadTheSpaceSummary() {
+        // Arrange: encoded as space-service's SpaceRpcCodec does
+        byte[] data = space(7L, "Room 7", LocalTime.of(8, 30).toSecondOfDay(), "25.50").toByteArray();
+
+        // Act
+        SpaceDto space = DirectoryRpcCodec.decodeSpace(data);
+
+        // Assert
+        assertEquals(7L, space.getId());
+        assertEquals("Room 7", space.getName());
+        assertEquals(LocalTime.of(8, 30), space.getOpeningTime());
+        assertEquals(LocalTime.of(20, 0), space.getClosingTime());
+        assertEquals(new BigDecimal("25.50"), space.getPricePerHour());
+        assertTrue(space.isActive());
+    }
+
+    @Test
+    void decodeSpace_WithOmittedOpeningTime_ShouldDefaultToMidnight() {
+        // Arrange: zero is the protobuf default and not sent
+        byte[] data = space(7L, "Room 7", 0, "25.50").toByteArray();
+
+        // Act & Assert
+        assertEquals(LocalTime.MIDNIGHT, DirectoryRpcCodec.decodeSpace(data).getOpeningTime());
+    }
+
+    @Test
+    void decodeUsersAndSpaces_ShouldReadRepeatedMessagesAndSkipUnknownFields() {
+        // Arrange
+        byte[] users = new ProtoWriter()
+                .writeMessage(1, user(3L, "Test User", "test@example.com").writeString(9, "added later"))
+                .writeInt64(2, 1)
+                .writeMessage(1, user(5L, "Other User", "other@example.com"))
+                .toByteArray();
+        byte[] spaces = new ProtoWriter()
+                .writeMessage(1, space(7L, "Room 7", 0, "25.50"))
+                .writeMessage(1, space(8L, "Room 8", 0, "30.00"))
+                .toByteArray();
+
+        // Act & Assert
+        assertEquals(List.of(3L, 5L), DirectoryRpcCodec.decodeUsers(users).stream().map(UserDto::getId).toList());
+        assertEquals(List.of(7L, 8L), DirectoryRpcCodec.decodeSpaces(spaces).stream().map(SpaceDto::getId).toList());
+    }
+
+    @Test
+    void decode_WithMalformedBody_ShouldThrowIllegalArgument() {
+        // Arrange
+        byte[] truncated = new byte[] {0x12, 0x06, 'R', 'o'};
+        byte[] badPrice = space(7L, "Room 7", 0, "n/a").toByteArray();
+        byte[] badTime = space(7L, "Room 7", 90_000, "25.50").toByteArray();
+        byte[] wrongType = new ProtoWriter().writeString(1, "7").toByteArray();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> DirectoryRpcCodec.decodeUser(truncated));
+        assertThrows(IllegalArgumentException.class, () -> DirectoryRpcCodec.decodeSpace(badPrice));
+        assertThrows(IllegalArgumentException.class, () -> DirectoryRpcCodec.decodeSpace(badTime));
+        assertThrows(IllegalArgumentException.class, () -> DirectoryRpcCodec.decodeSpaces(wrongType));
+    }
+
+    private static ProtoWriter user(Long id, String name, String email) {
+        return new ProtoWriter()
+                .writeInt64(1, id)
+                .writeString(2, name)
+                .writeString(3, email);
+    }
+
+    private static ProtoWriter space(Long id, String name, long openingSecond, String price) {
+        return new ProtoWriter()
+                .writeInt64(1, id)
+                .writeString(2, name)
+                .writeInt64(3, openingSecond)
+                .writeInt64(4, LocalTime.of(20, 0).toSecondOfDay())
+                .writeString(5, price);
+    }
+}
@@ -0,0 +1,111 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.client.SpaceClient;
+import com.coworking.reservationservice.client.UserClient;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DirectoryLookupTest {
+
+    // A length-delimited field claiming more bytes than follow
+    private static final byte[] MALFORMED = {0x12, 0x06, 'R', 'o'};
+
+    @Mock
+    private DirectoryRpcClient rpcClient;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private SpaceClient spaceClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DirectoryLookup directoryLookup;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        directoryLookup = new DirectoryLookup(rpcClient, userClient, spaceClient, true, meterRegistry);
+    }
+
+    @Test
+    void findUser_WhenRpcAnswerDoesNotDecode_ShouldFallBackToJson() throws IOException {
+        // Arrange
+        ServiceInstance users = rpcInstance("user-service");
+        UserDto user = new UserDto();
+        user.setId(3L);
+        when(rpcClient.choose("user-service")).thenReturn(Optional.of(users));
+        when(rpcClient.get(users, "/users/3")).thenReturn(Optional.of(MALFORMED));
+        when(userClient.getUserById(3L)).thenReturn(user);
+
+        // Act
+        Optional<UserDto> found = directoryLookup.findUser(3L);
+
+        // Assert
+        assertSame(user, found.orElseThrow());
+        assertEquals(1.0, fallbacks("user-service"));
+    }
+
+    @Test
+    void findSpaces_WhenRpcAnswerDoesNotDecode_ShouldFallBackToJson() throws IOException {
+        // Arrange
+        ServiceInstance spaces = rpcInstance("space-service");
+        SpaceDto space = SpaceDto.builder().id(7L).active(true).build();
+        when(rpcClient.choose("space-service")).thenReturn(Optional.of(spaces));
+        when(rpcClient.post(eq(spaces), eq("/spaces/batch"), any())).thenReturn(Optional.of(new byte[] {0x0A, 0x01, 0x37}));
+        when(spaceClient.getSpaceById(7L)).thenReturn(space);
+
+        // Act
+        Map<Long, SpaceDto> found = directoryLookup.findSpaces(List.of(7L));
+
+        // Assert
+        assertEquals(Map.of(7L, space), found);
+        assertEquals(1.0, fallbacks("space-service"));
+    }
+
+    @Test
+    void findSpace_WhenRpcCallFails_ShouldFallBackToJson() throws IOException {
+        // Arrange
+        ServiceInstance spaces = rpcInstance("space-service");
+        SpaceDto space = SpaceDto.builder().id(7L).active(true).build();
+        when(rpcClient.choose("space-service")).thenReturn(Optional.of(spaces));
+        when(rpcClient.get(spaces, "/spaces/7")).thenThrow(new IOException("space-service answered 503"));
+        when(spaceClient.getSpaceById(7L)).thenReturn(space);
+
+        // Act
+        Optional<SpaceDto> found = directoryLookup.findSpace(7L);
+
+        // Assert
+        assertSame(space, found.orElseThrow());
+        assertEquals(1.0, fallbacks("space-service"));
+    }
+
+    private double fallbacks(String serviceId) {
+        return meterRegistry.counter("directory.rpc.fallbacks", "service", serviceId).count();
+    }
+
+    private static ServiceInstance rpcInstance(String serviceId) {
+        return new DefaultServiceInstance(serviceId + "-1", serviceId, "localhost", 8080, false,
+                Map.of("rpc-protocol", "protobuf"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.PartitionLayoutRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.WaitlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReservationHoldExpirerTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private PartitionLayoutRepository partitionLayoutRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+
+    private ReservationPartitions partitions;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReservationHoldExpirer expirer;
+
+    private LocalDateTime slot;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        partitionLayoutRepository.deleteAll();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        partitions = new ReservationPartitions(reservationRepository, waitlistRepository, partitionLayoutRepository,
+                transactionTemplate, ChronoUnit.MONTHS, 1, Duration.ofDays(31));
+        partitions.afterSingletonsInstantiated();
+        meterRegistry = new SimpleMeterRegistry();
+        // A chunk of one, so a run spans several chunks
+        expirer = new ReservationHoldExpirer(reservationRepository, transactionTemplate, events::add,
+                Duration.ofMinutes(15), 1, 100, meterRegistry);
+        slot = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void expire_ShouldOnlyFlipStalePendingHolds() {
+        // Arrange
+        LocalDateTime stale = LocalDateTime.now().minusHours(1);
+        Reservation first = save(1L, "PENDING", stale);
+        Reservation second = save(2L, "PENDING", stale);
+        Reservation fresh = save(3L, "PENDING", LocalDateTime.now());
+        Reservation confirmed = save(4L, "CONFIRMED", stale);
+
+        // Act
+        expirer.expire();
+
+        // Assert
+        assertEquals("EXPIRED", status(first));
+        assertEquals("EXPIRED", status(second));
+        assertEquals("PENDING", status(fresh));
+        assertEquals("CONFIRMED", status(confirmed));
+        assertEquals(2.0, meterRegistry.get("reservations.holds.expired").counter().count());
+        assertEquals(2.0, meterRegistry.get("reservations.holds.slots.freed").counter().count());
+        // Two full chunks of one, then an empty one ends the run
+        assertEquals(3, meterRegistry.get("reservations.holds.chunk").timer().count());
+    }
+
+    @Test
+    void expire_ShouldPublishOneEventPerExpiredHold() {
+        // Arrange
+        LocalDateTime stale = LocalDateTime.now().minusHours(1);
+        Reservation first = save(1L, "PENDING", stale);
+        Reservation second = save(2L, "PENDING", stale);
+        save(3L, "PENDING", LocalDateTime.now());
+
+        // Act
+        expirer.expire();
+
+        // Assert
+        assertEquals(2, events.size());
+        List<Long> ids = events.stream().map(event -> ((ReservationChangedEvent) event).after().id()).toList();
+        assertEquals(List.of(first.getId(), second.getId()), ids);
+        events.forEach(event -> {
+            ReservationChangedEvent change = (ReservationChangedEvent) event;
+            assertEquals("PENDING", change.before().status());
+            assertEquals("EXPIRED", change.after().status());
+        });
+    }
+
+    @Test
+    void expire_ShouldMakeTheHeldSlotBookableAgain() {
+        // Arrange
+        save(1L, "PENDING", LocalDateTime.now().minusHours(1));
+        assertEquals(1, partitions.findOverlapping(1L, slot, slot.plusHours(2)).size());
+
+        // Act
+        expirer.expire();
+
+        // Assert
+        assertTrue(partitions.findOverlapping(1L, slot, slot.plusHours(2)).isEmpty());
+    }
+
+    @Test
+    void expire_WithoutStaleHolds_ShouldPublishNothing() {
+        // Arrange
+        save(1L, "PENDING", LocalDateTime.now());
+
+        // Act
+        expirer.expire();
+
+        // Assert
+        assertTrue(events.isEmpty());
+        assertEquals(0.0, meterRegistry.get("reservations.holds.expired").counter().count());
+    }
+
+    private Reservation save(Long userId, String status, LocalDateTime createdAt) {
+        return reservationRepository.save(new Reservation(null, userId, 1L, slot, slot.plusHours(2), status, null,
+                createdAt, createdAt, partitions.keyOf(slot), null));
+    }
+
+    private String status(Reservation reservation) {
+        return reservationRepository.findById(reservation.getId()).orElseThrow().getStatus();
+    }
+}
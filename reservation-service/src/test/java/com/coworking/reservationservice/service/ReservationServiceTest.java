@@ -0,0 +1,192 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.common.web.FieldSelection;
+import com.coworking.reservationservice.client.DirectoryRpcClient;
+import com.coworking.reservationservice.client.SpaceClient;
+import com.coworking.reservationservice.client.UserClient;
+import com.coworking.reservationservice.dto.CreateReservationRequest;
+import com.coworking.reservationservice.dto.ReservationDto;
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.mapper.ReservationMapper;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.ReservationSlot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationServiceTest {
+
+    private static final LocalDateTime SLOT_START = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Mock
+    private ReservationPartitions reservationPartitions;
+
+    @Mock
+    private DirectoryRpcClient rpcClient;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private SpaceClient spaceClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        DirectoryLookup directoryLookup = new DirectoryLookup(rpcClient, userClient, spaceClient, true,
+                new SimpleMeterRegistry());
+        reservationService = new ReservationService(reservationRepository, archivedReservationRepository,
+                reservationPartitions, Mappers.getMapper(ReservationMapper.class), directoryLookup, eventPublisher);
+    }
+
+    @Test
+    void createReservation_OverRpc_ShouldStoreTheSpacePrice() throws Exception {
+        // Arrange
+        ServiceInstance users = rpcInstance("user-service");
+        ServiceInstance spaces = rpcInstance("space-service");
+        when(rpcClient.choose("user-service")).thenReturn(Optional.of(users));
+        when(rpcClient.choose("space-service")).thenReturn(Optional.of(spaces));
+        // Encoded as space-service's SpaceRpcCodec does
+        when(rpcClient.get(users, "/users/3")).thenReturn(Optional.of(new ProtoWriter()
+                .writeInt64(1, 3)
+                .writeString(2, "Test User")
+                .toByteArray()));
+        when(rpcClient.get(spaces, "/spaces/7")).thenReturn(Optional.of(new ProtoWriter()
+                .writeInt64(1, 7)
+                .writeString(2, "Room 7")
+                .writeInt64(3, LocalTime.of(8, 0).toSecondOfDay())
+                .writeInt64(4, LocalTime.of(20, 0).toSecondOfDay())
+                .writeString(5, "25.50")
+                .toByteArray()));
+        when(reservationPartitions.getMaxDuration()).thenReturn(Duration.ofDays(31));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        CreateReservationRequest request = CreateReservationRequest.builder()
+                .userId(3L)
+                .spaceId(7L)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .build();
+
+        // Act
+        ReservationDto result = reservationService.createReservation(request);
+
+        // Assert
+        ArgumentCaptor<Reservation> saved = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationRepository).save(saved.capture());
+        assertEquals(new BigDecimal("25.50"), saved.getValue().getPricePerHour());
+        assertEquals(new BigDecimal("25.50"), result.getPricePerHour());
+        assertEquals("Room 7", result.getSpaceName());
+        verifyNoInteractions(userClient, spaceClient);
+    }
+
+    @Test
+    void getAllReservations_WithSlotFieldsOnly_ShouldReadTheProjectionWithoutLookups() {
+        // Arrange
+        when(reservationRepository.findAllProjectedBy(ReservationSlot.class)).thenReturn(List.of(slot(1L, 3L, 7L)));
+
+        // Act
+        List<ReservationDto> result = reservationService.getAllReservations(
+                FieldSelection.parse("id,startTime,status", ReservationDto.class));
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(SLOT_START, result.get(0).getStartTime());
+        assertEquals("PENDING", result.get(0).getStatus());
+        assertNull(result.get(0).getUserName());
+        assertNull(result.get(0).getSpaceName());
+        verify(reservationRepository, never()).findAll();
+        verifyNoInteractions(rpcClient, userClient, spaceClient);
+    }
+
+    @Test
+    void getReservationById_WithSpaceName_ShouldLookUpOnlyTheSpace() {
+        // Arrange
+        when(reservationRepository.findProjectedById(1L, ReservationSlot.class)).thenReturn(Optional.of(slot(1L, 3L, 7L)));
+        when(spaceClient.getSpaceById(7L)).thenReturn(SpaceDto.builder().id(7L).name("Room 7").build());
+
+        // Act
+        ReservationDto result = reservationService.getReservationById(1L,
+                FieldSelection.parse("id,spaceName", ReservationDto.class));
+
+        // Assert
+        assertEquals("Room 7", result.getSpaceName());
+        assertNull(result.getUserName());
+        verify(reservationRepository, never()).findById(any());
+        verify(rpcClient, never()).choose("user-service");
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void getReservationById_WithNotes_ShouldReadTheEntity() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setUserId(3L);
+        reservation.setSpaceId(7L);
+        reservation.setNotes("Projector needed");
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+        // Act
+        ReservationDto result = reservationService.getReservationById(1L,
+                FieldSelection.parse("id,notes", ReservationDto.class));
+
+        // Assert
+        assertEquals("Projector needed", result.getNotes());
+        verify(reservationRepository, never()).findProjectedById(any(), any());
+        verifyNoInteractions(rpcClient, userClient, spaceClient);
+    }
+
+    // Built the way Spring Data backs an interface projection
+    private static ReservationSlot slot(Long id, Long userId, Long spaceId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ReservationSlot.class, Map.of(
+                "id", id,
+                "userId", userId,
+                "spaceId", spaceId,
+                "startTime", SLOT_START,
+                "endTime", SLOT_START.plusHours(1),
+                "status", "PENDING"));
+    }
+
+    private static ServiceInstance rpcInstance(String serviceId) {
+        return new DefaultServiceInstance(serviceId + "-1", serviceId, "localhost", 8080, false,
+                Map.of("rpc-protocol", "protobuf"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.repository.RevenueRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevenueCalculatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    private final List<RevenueCalculator> calculators = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        calculators.forEach(RevenueCalculator::destroy);
+    }
+
+    @Test
+    void aggregate_ShouldRoundOncePerTotalNotPerRow() {
+        // Arrange: 20 cent-minutes each, a third of a cent that rounds to nothing per row
+        RevenueCalculator calculator = calculator(2, 10, 2);
+        List<RevenueRow> rows = List.of(row(1L, 1L, 1, "0.20"), row(1L, 2L, 1, "0.20"), row(1L, 3L, 1, "0.20"));
+
+        // Act
+        RevenueCalculator.Totals totals = calculator.aggregate(rows.stream());
+
+        // Assert
+        assertEquals(new BigDecimal("0.01"), totals.getTotal().getAmount());
+        assertEquals(new BigDecimal("0.01"), totals.getBySpace().get(1L).getAmount());
+        assertEquals(new BigDecimal("0.00"), totals.getByUser().get(1L).getAmount());
+        assertEquals(3, totals.getTotal().getMinutes());
+    }
+
+    @Test
+    void aggregate_ShouldRoundPricesToTheCentHalfUp() {
+        // Arrange: 10.005 is charged as 10.01, 7 minutes of it are 1.1678
+        RevenueCalculator calculator = calculator(2, 10, 2);
+
+        // Act
+        RevenueCalculator.Totals totals = calculator.aggregate(Stream.of(row(1L, 1L, 7, "10.005")));
+
+        // Assert
+        assertEquals(new BigDecimal("1.17"), totals.getTotal().getAmount());
+    }
+
+    @Test
+    void aggregate_ShouldCountUnpricedRowsApart() {
+        // Arrange
+        RevenueCalculator calculator = calculator(2, 10, 2);
+
+        // Act
+        RevenueCalculator.Totals totals = calculator.aggregate(Stream.of(row(1L, 1L, 60, "12.00"), row(1L, 1L, 60, null)));
+
+        // Assert
+        assertEquals(1, totals.getUnpriced());
+        assertEquals(1, totals.getTotal().getReservations());
+        assertEquals(new BigDecimal("12.00"), totals.getTotal().getAmount());
+    }
+
+    @Test
+    void aggregate_AcrossChunkBoundaries_ShouldMatchASequentialSum() {
+        // Arrange: sizes around multiples of the chunk, and one chunk large enough to be split
+        for (int[] shape : new int[][]{{3, 0}, {3, 1}, {3, 6}, {3, 7}, {4096, 5000}}) {
+            RevenueCalculator calculator = calculator(4, shape[0], 2);
+            List<RevenueRow> rows = IntStream.range(0, shape[1])
+                    .mapToObj(i -> row((long) i % 5, (long) i % 7, 15 + i % 45, (10 + i % 30) + ".50"))
+                    .toList();
+
+            // Act
+            RevenueCalculator.Totals totals = calculator.aggregate(rows.stream());
+
+            // Assert
+            RevenueCalculator.Totals expected = new RevenueCalculator.Totals();
+            rows.forEach(expected::add);
+            String shapeName = shape[0] + "/" + shape[1];
+            assertEquals(expected.getTotal().getAmount(), totals.getTotal().getAmount(), shapeName);
+            assertEquals(expected.getTotal().getMinutes(), totals.getTotal().getMinutes(), shapeName);
+            assertEquals(shape[1], totals.getTotal().getReservations(), shapeName);
+            expected.getBySpace().forEach((spaceId, sum) ->
+                    assertEquals(sum.getAmount(), totals.getBySpace().get(spaceId).getAmount(), shapeName));
+            expected.getByUser().forEach((userId, sum) ->
+                    assertEquals(sum.getMinutes(), totals.getByUser().get(userId).getMinutes(), shapeName));
+        }
+    }
+
+    @Test
+    void aggregate_WhenChunksAreSlow_ShouldStopReadingAtTheInFlightLimit() throws Exception {
+        // Arrange: summing blocks until released, so chunks pile up
+        RevenueCalculator calculator = calculator(4, 2, 2);
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger read = new AtomicInteger();
+        Stream<RevenueRow> rows = Stream.generate(() -> {
+            read.incrementAndGet();
+            return new RevenueRow(1L, 1L, START, START.plusHours(1), new GatedPrice("6.00", gate));
+        }).limit(20);
+
+        // Act
+        CompletableFuture<RevenueCalculator.Totals> totals = CompletableFuture.supplyAsync(
+                () -> calculator.aggregate(rows), runnable -> new Thread(runnable).start());
+        Thread.sleep(300);
+        int readWhileBlocked = read.get();
+        gate.countDown();
+
+        // Assert: two chunks in flight and the next one filled, waiting for the oldest
+        assertEquals(6, readWhileBlocked);
+        assertEquals(new BigDecimal("120.00"), totals.get(5, TimeUnit.SECONDS).getTotal().getAmount());
+        assertEquals(20, read.get());
+    }
+
+    private RevenueCalculator calculator(int parallelism, int chunkSize, int maxChunksInFlight) {
+        RevenueCalculator calculator = new RevenueCalculator(parallelism, chunkSize, maxChunksInFlight);
+        calculators.add(calculator);
+        return calculator;
+    }
+
+    private static RevenueRow row(Long spaceId, Long userId, int minutes, String pricePerHour) {
+        return new RevenueRow(spaceId, userId, START, START.plusMinutes(minutes),
+                pricePerHour != null ? new BigDecimal(pricePerHour) : null);
+    }
+
+    // Holds up the chunk that prices it
+    private static final class GatedPrice extends BigDecimal {
+
+        private final transient CountDownLatch gate;
+
+        GatedPrice(String value, CountDownLatch gate) {
+            super(value);
+            this.gate = gate;
+        }
+
+        @Override
+        public BigDecimal setScale(int newScale, RoundingMode roundingMode) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.setScale(newScale, roundingMode);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.ReservationSnapshot;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpaceUsageAggregatorTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Mock
+    private SpaceHourlyUsageRepository hourlyUsageRepository;
+
+    @Mock
+    private SpaceDailyUsageRepository dailyUsageRepository;
+
+    private SpaceUsageAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new SpaceUsageAggregator(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenCreated_ShouldAddItsBuckets() {
+        // Act
+        aggregator.onReservationChanged(ReservationChangedEvent.created(snapshot(1L, 9, 11, "PENDING")));
+
+        // Assert
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(9), 60, 1);
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(10), 60, 0);
+        verify(dailyUsageRepository).addUsage(1L, DAY, 120, 1);
+        verifyNoMoreInteractions(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenCancelled_ShouldSubtractItsBuckets() {
+        // Act
+        aggregator.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 9, 10, "CONFIRMED"), snapshot(1L, 9, 10, "CANCELLED")));
+
+        // Assert
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(9), -60, -1);
+        verify(dailyUsageRepository).addUsage(1L, DAY, -60, -1);
+        verifyNoMoreInteractions(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenMovedWithinTheSpace_ShouldWriteOnlyTheDifference() {
+        // Act: 9-11 to 10-12
+        aggregator.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 9, 11, "CONFIRMED"), snapshot(1L, 10, 12, "CONFIRMED")));
+
+        // Assert
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(9), -60, -1);
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(10), 0, 1);
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(11), 60, 0);
+        verifyNoMoreInteractions(hourlyUsageRepository);
+        verifyNoInteractions(dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenMovedToAnotherSpace_ShouldMoveItsBuckets() {
+        // Act
+        aggregator.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 9, 10, "CONFIRMED"), snapshot(2L, 9, 10, "CONFIRMED")));
+
+        // Assert
+        verify(hourlyUsageRepository).addUsage(1L, DAY.withHour(9), -60, -1);
+        verify(hourlyUsageRepository).addUsage(2L, DAY.withHour(9), 60, 1);
+        verify(dailyUsageRepository).addUsage(1L, DAY, -60, -1);
+        verify(dailyUsageRepository).addUsage(2L, DAY, 60, 1);
+        verifyNoMoreInteractions(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_WhenOnlyStatusChanges_ShouldWriteNothing() {
+        // Act: a confirmation keeps the slot booked
+        aggregator.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 9, 10, "PENDING"), snapshot(1L, 9, 10, "CONFIRMED")));
+
+        // Assert
+        verifyNoInteractions(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    @Test
+    void onReservationChanged_BetweenInactiveStates_ShouldWriteNothing() {
+        // Act
+        aggregator.onReservationChanged(new ReservationChangedEvent(
+                snapshot(1L, 9, 10, "EXPIRED"), snapshot(1L, 9, 10, "CANCELLED")));
+
+        // Assert
+        verifyNoInteractions(hourlyUsageRepository, dailyUsageRepository);
+    }
+
+    private static ReservationSnapshot snapshot(Long spaceId, int fromHour, int toHour, String status) {
+        return new ReservationSnapshot(7L, 3L, spaceId, DAY.withHour(fromHour), DAY.withHour(toHour), status);
+    }
+}
@@ -0,0 +1,113 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.repository.ArchivedReservationRepository;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.SpaceDailyUsageRepository;
+import com.coworking.reservationservice.repository.SpaceHourlyUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SpaceUsageRebuilderTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Mock
+    private SpaceHourlyUsageRepository hourlyUsageRepository;
+
+    @Mock
+    private SpaceDailyUsageRepository dailyUsageRepository;
+
+    private SpaceUsageRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        rebuilder = new SpaceUsageRebuilder(reservationRepository, archivedReservationRepository,
+                hourlyUsageRepository, dailyUsageRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+    }
+
+    @Test
+    void rebuild_WhileAnotherRuns_ShouldWaitForIt() throws Exception {
+        // Arrange: the first rebuild blocks until released
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlapped = new AtomicInteger();
+        when(reservationRepository.findDistinctSpaceIds()).thenAnswer(invocation -> {
+            if (running.incrementAndGet() > 1) {
+                overlapped.incrementAndGet();
+            }
+            firstStarted.countDown();
+            releaseFirst.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return List.of();
+        });
+        when(archivedReservationRepository.findDistinctSpaceIds()).thenReturn(List.of());
+        CompletableFuture<SpaceUsageRebuilder.RebuildResult> first = CompletableFuture.supplyAsync(rebuilder::rebuild);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<SpaceUsageRebuilder.RebuildResult> second = CompletableFuture.supplyAsync(rebuilder::rebuild);
+        Thread.sleep(100);
+        boolean secondDoneWhileFirstRuns = second.isDone();
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(secondDoneWhileFirstRuns);
+        assertEquals(0, overlapped.get());
+        verify(reservationRepository, times(2)).findDistinctSpaceIds();
+    }
+
+    @Test
+    void initialize_WhenAggregatesExist_ShouldNotRebuild() {
+        // Arrange: an endpoint call rebuilt before startup got here
+        when(hourlyUsageRepository.count()).thenReturn(12L);
+
+        // Act
+        rebuilder.initialize();
+
+        // Assert
+        verify(reservationRepository, never()).findDistinctSpaceIds();
+        assertTrue(rebuilder.isReady());
+    }
+
+    @Test
+    void initialize_WhenRebuildFails_ShouldStayNotReadyUntilARebuildSucceeds() {
+        // Arrange
+        when(reservationRepository.count()).thenReturn(3L);
+        when(reservationRepository.findDistinctSpaceIds())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of());
+        when(archivedReservationRepository.findDistinctSpaceIds()).thenReturn(List.of());
+
+        // Act
+        rebuilder.initialize();
+        boolean readyAfterFailure = rebuilder.isReady();
+        rebuilder.rebuild();
+
+        // Assert
+        assertFalse(readyAfterFailure);
+        assertTrue(rebuilder.isReady());
+    }
+}
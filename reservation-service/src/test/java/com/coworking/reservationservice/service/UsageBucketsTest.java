@@ -0,0 +1,110 @@
+package com.coworking.reservationservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UsageBucketsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Test
+    void add_WithinOneHour_ShouldFillOneHourlyAndOneDailyBucket() {
+        // Arrange
+        UsageBuckets buckets = new UsageBuckets();
+
+        // Act
+        buckets.add(DAY.withHour(9).withMinute(10), DAY.withHour(9).withMinute(40), 1);
+
+        // Assert
+        assertEquals(List.of(new Row(DAY.withHour(9), 30, 1)), hourly(buckets));
+        assertEquals(List.of(new Row(DAY, 30, 1)), daily(buckets));
+    }
+
+    @Test
+    void add_AcrossHours_ShouldSplitMinutesAndCountTheStartOnce() {
+        // Arrange
+        UsageBuckets buckets = new UsageBuckets();
+
+        // Act: 9:45 to 11:15
+        buckets.add(DAY.withHour(9).withMinute(45), DAY.withHour(11).withMinute(15), 1);
+
+        // Assert
+        assertEquals(List.of(
+                new Row(DAY.withHour(9), 15, 1),
+                new Row(DAY.withHour(10), 60, 0),
+                new Row(DAY.withHour(11), 15, 0)), hourly(buckets));
+        assertEquals(List.of(new Row(DAY, 90, 1)), daily(buckets));
+    }
+
+    @Test
+    void add_AcrossMidnight_ShouldSplitTheDays() {
+        // Arrange
+        UsageBuckets buckets = new UsageBuckets();
+
+        // Act: 23:30 to 00:30
+        buckets.add(DAY.withHour(23).withMinute(30), DAY.plusDays(1).withMinute(30), 1);
+
+        // Assert
+        assertEquals(List.of(new Row(DAY, 30, 1), new Row(DAY.plusDays(1), 30, 0)), daily(buckets));
+    }
+
+    @Test
+    void add_EndingOnTheHour_ShouldNotTouchTheNextHour() {
+        // Arrange
+        UsageBuckets buckets = new UsageBuckets();
+
+        // Act
+        buckets.add(DAY.withHour(9), DAY.withHour(10), 1);
+
+        // Assert
+        assertEquals(List.of(new Row(DAY.withHour(9), 60, 1)), hourly(buckets));
+    }
+
+    @Test
+    void add_WithNegativeSign_ShouldLeaveOnlyTheDifference() {
+        // Arrange: moved from 9-11 to 10-12
+        UsageBuckets buckets = new UsageBuckets();
+
+        // Act
+        buckets.add(DAY.withHour(9), DAY.withHour(11), -1);
+        buckets.add(DAY.withHour(10), DAY.withHour(12), 1);
+
+        // Assert: the start moved into 10-11, and the unchanged day total is not written
+        assertEquals(List.of(
+                new Row(DAY.withHour(9), -60, -1),
+                new Row(DAY.withHour(10), 0, 1),
+                new Row(DAY.withHour(11), 60, 0)), hourly(buckets));
+        assertTrue(daily(buckets).isEmpty());
+    }
+
+    @Test
+    void write_ShouldReturnTheNumberOfBucketsWritten() {
+        // Arrange
+        UsageBuckets buckets = new UsageBuckets();
+        buckets.add(DAY.withHour(9), DAY.withHour(12), 1);
+
+        // Act & Assert
+        assertEquals(3, buckets.writeHourly((bucketStart, minutes, count) -> { }));
+        assertEquals(1, buckets.writeDaily((bucketStart, minutes, count) -> { }));
+    }
+
+    private static List<Row> hourly(UsageBuckets buckets) {
+        List<Row> rows = new ArrayList<>();
+        buckets.writeHourly((bucketStart, minutes, count) -> rows.add(new Row(bucketStart, minutes, count)));
+        return rows;
+    }
+
+    private static List<Row> daily(UsageBuckets buckets) {
+        List<Row> rows = new ArrayList<>();
+        buckets.writeDaily((bucketStart, minutes, count) -> rows.add(new Row(bucketStart, minutes, count)));
+        return rows;
+    }
+
+    private record Row(LocalDateTime bucketStart, long minutes, int count) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.coworking.reservationservice.service;
+
+import com.coworking.reservationservice.dto.SpaceDto;
+import com.coworking.reservationservice.event.ReservationChangedEvent;
+import com.coworking.reservationservice.event.WaitlistPromotedEvent;
+import com.coworking.reservationservice.mapper.WaitlistMapper;
+import com.coworking.reservationservice.model.Reservation;
+import com.coworking.reservationservice.model.WaitlistEntry;
+import com.coworking.reservationservice.repository.PartitionLayoutRepository;
+import com.coworking.reservationservice.repository.ReservationPartitions;
+import com.coworking.reservationservice.repository.ReservationRepository;
+import com.coworking.reservationservice.repository.WaitlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WaitlistServiceTest {
+
+    private static final Long SPACE_ID = 1L;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private PartitionLayoutRepository partitionLayoutRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    private ReservationPartitions partitions;
+
+    private WaitlistService waitlistService;
+
+    private LocalDateTime slot;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        waitlistRepository.deleteAll();
+        partitionLayoutRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        partitions = new ReservationPartitions(reservationRepository, waitlistRepository, partitionLayoutRepository,
+                transactionTemplate, ChronoUnit.MONTHS, 1, Duration.ofDays(31));
+        partitions.afterSingletonsInstantiated();
+        DirectoryLookup directoryLookup = mock(DirectoryLookup.class);
+        when(directoryLookup.findSpace(SPACE_ID)).thenReturn(Optional.of(
+                SpaceDto.builder().id(SPACE_ID).pricePerHour(new BigDecimal("12.50")).build()));
+        waitlistService = new WaitlistService(waitlistRepository, reservationRepository, partitions,
+                mock(ReservationService.class), directoryLookup, Mappers.getMapper(WaitlistMapper.class), events::add);
+        slot = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void promote_WithSeveralFittingEntries_ShouldPromoteTheOldestFirst() {
+        // Arrange: both want the freed 9-11 slot
+        WaitlistEntry younger = waiting(2L, slot, slot.plusHours(2), 1);
+        WaitlistEntry older = waiting(3L, slot, slot.plusHours(2), 2);
+
+        // Act
+        int promoted = promote(slot, slot.plusHours(2));
+
+        // Assert
+        assertEquals(1, promoted);
+        WaitlistEntry winner = waitlistRepository.findById(older.getId()).orElseThrow();
+        assertEquals("PROMOTED", winner.getStatus());
+        assertEquals("WAITING", waitlistRepository.findById(younger.getId()).orElseThrow().getStatus());
+        Reservation reservation = reservationRepository.findById(winner.getReservationId()).orElseThrow();
+        assertEquals(3L, reservation.getUserId());
+        assertEquals(new BigDecimal("12.50"), reservation.getPricePerHour());
+    }
+
+    @Test
+    void promote_ShouldConfirmTheBookingSoHoldExpiryLeavesItAlone() {
+        // Arrange
+        WaitlistEntry entry = waiting(2L, slot, slot.plusHours(2), 1);
+
+        // Act
+        promote(slot, slot.plusHours(2));
+
+        // Assert
+        Long reservationId = waitlistRepository.findById(entry.getId()).orElseThrow().getReservationId();
+        assertEquals("CONFIRMED", reservationRepository.findById(reservationId).orElseThrow().getStatus());
+        assertTrue(reservationRepository.findStaleHolds(LocalDateTime.now().plusDays(1), Limit.of(10)).isEmpty());
+        assertEquals(2, events.size());
+        assertInstanceOf(ReservationChangedEvent.class, events.get(0));
+        assertEquals(entry.getId(), ((WaitlistPromotedEvent) events.get(1)).waitlistEntryId());
+    }
+
+    @Test
+    void promote_WhenOldestStillConflicts_ShouldSkipItForOneThatFits() {
+        // Arrange: only 9-10 was freed, 10-11 is still booked and touching counts as overlap
+        reservationRepository.save(new Reservation(null, 9L, SPACE_ID, slot.plusHours(1), slot.plusHours(2),
+                "CONFIRMED", null, slot, slot, partitions.keyOf(slot), null));
+        WaitlistEntry tooLong = waiting(2L, slot, slot.plusHours(2), 2);
+        WaitlistEntry fits = waiting(3L, slot, slot.plusMinutes(30), 1);
+
+        // Act
+        int promoted = promote(slot, slot.plusHours(1));
+
+        // Assert
+        assertEquals(1, promoted);
+        assertEquals("WAITING", waitlistRepository.findById(tooLong.getId()).orElseThrow().getStatus());
+        assertEquals("PROMOTED", waitlistRepository.findById(fits.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void promote_WithOverlappingEntries_ShouldNeverPromoteBoth() {
+        // Arrange: 9-11 and 10-12 cannot both hold the slot
+        WaitlistEntry first = waiting(2L, slot, slot.plusHours(2), 2);
+        WaitlistEntry second = waiting(3L, slot.plusHours(1), slot.plusHours(3), 1);
+
+        // Act: a second promotion of the same interval finds it taken
+        int promoted = promote(slot, slot.plusHours(3));
+        int again = promote(slot, slot.plusHours(3));
+
+        // Assert
+        assertEquals(1, promoted);
+        assertEquals(0, again);
+        assertEquals("PROMOTED", waitlistRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals("WAITING", waitlistRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals(1, partitions.findOverlapping(SPACE_ID, slot, slot.plusHours(3)).size());
+    }
+
+    private int promote(LocalDateTime start, LocalDateTime end) {
+        return transactionTemplate.execute(status -> waitlistService.promote(SPACE_ID, start, end));
+    }
+
+    private WaitlistEntry waiting(Long userId, LocalDateTime start, LocalDateTime end, int hoursAgo) {
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(hoursAgo);
+        return waitlistRepository.save(new WaitlistEntry(null, userId, SPACE_ID, start, end, partitions.keyOf(start),
+                "WAITING", null, null, createdAt, null));
+    }
+}
@@ -2,14 +2,20 @@ package com.coworking.spaceservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 public class SpaceServiceApplication {
 
+    private static final int STARTUP_STEPS = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(SpaceServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(SpaceServiceApplication.class);
+        // Startup steps are served by the actuator "startup" endpoint
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
 
@@ -0,0 +1,22 @@
+package com.coworking.spaceservice.config;
+
+import com.coworking.spaceservice.service.CatalogChangeFeed;
+import com.coworking.spaceservice.service.SpaceService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+
+@Configuration
+public class CatalogConfig {
+    
+    @Bean
+    public CatalogChangeFeed catalogChangeFeed(
+            SpaceService spaceService,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${coworking.catalog.changes.max-wait-ms:30000}") long maxWaitMs,
+            @Value("${coworking.catalog.changes.max-batch-size:1000}") int maxBatchSize) {
+        return new CatalogChangeFeed(spaceService, taskExecutor, maxWaitMs, maxBatchSize);
+    }
+}
@@ -0,0 +1,22 @@
+package com.coworking.spaceservice.config;
+
+import com.coworking.spaceservice.observability.WarmupHealthIndicator;
+import com.coworking.spaceservice.service.ChangeCounterService;
+import com.coworking.spaceservice.search.SpaceSearchIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager under the "lazy" profile: the warmup health check
+ * waits for them, and the change counter rows are created on startup.
+ */
+@Configuration
+public class LazyInitializationConfig {
+    
+    @Bean
+    public static LazyInitializationExcludeFilter warmupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(WarmupHealthIndicator.class, SpaceSearchIndex.class,
+                ChangeCounterService.class);
+    }
+}
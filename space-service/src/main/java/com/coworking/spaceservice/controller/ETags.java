@@ -0,0 +1,29 @@
+package com.coworking.spaceservice.controller;
+
+import com.coworking.common.web.FieldSelection;
+
+import java.util.TreeSet;
+
+final class ETags {
+    
+    private ETags() {
+    }
+    
+    static String forVersion(Long version) {
+        return version != null ? "\"v" + version + "\"" : null;
+    }
+    
+    static String forCollection(String name, long changeCounter) {
+        return "\"" + name + "-" + changeCounter + "\"";
+    }
+    
+    // A sparse response is a different representation and needs its own tag;
+    // sorted, so ?fields=a,b and ?fields=b,a share one
+    static String forFields(String eTag, FieldSelection fields) {
+        if (eTag == null || fields.isAll()) {
+            return eTag;
+        }
+        String selection = String.join(",", new TreeSet<>(fields.getFields()));
+        return eTag.substring(0, eTag.length() - 1) + "-f" + Integer.toHexString(selection.hashCode()) + "\"";
+    }
+}
@@ -0,0 +1,37 @@
+package com.coworking.spaceservice.controller;
+
+import com.coworking.spaceservice.rpc.SpaceRpcCodec;
+import com.coworking.spaceservice.service.SpaceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Binary lookups for other services, advertised through the Eureka
+ * instance metadata. Not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/rpc/spaces")
+@RequiredArgsConstructor
+public class InternalSpaceRpcController {
+    
+    private static final int MAX_BATCH_SIZE = 1000;
+    
+    private final SpaceService spaceService;
+    
+    @GetMapping(value = "/{id}", produces = SpaceRpcCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getSpace(@PathVariable Long id) {
+        return ResponseEntity.ok(SpaceRpcCodec.encodeSpace(spaceService.getSpaceById(id)));
+    }
+    
+    @PostMapping(value = "/batch", consumes = SpaceRpcCodec.MEDIA_TYPE, produces = SpaceRpcCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getSpaces(@RequestBody byte[] request) {
+        List<Long> ids = SpaceRpcCodec.decodeIds(request);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+        return ResponseEntity.ok(SpaceRpcCodec.encodeSpaces(spaceService.getActiveSpacesByIds(ids)));
+    }
+}
@@ -1,16 +1,22 @@
 package com.coworking.spaceservice.controller;
 
+import com.coworking.common.web.FieldSelection;
+import com.coworking.spaceservice.dto.CatalogChanges;
+import com.coworking.spaceservice.dto.CatalogSnapshot;
 import com.coworking.spaceservice.dto.CreateSpaceRequest;
 import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.dto.SpaceSearchCriteria;
 import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.service.CatalogChangeFeed;
 import com.coworking.spaceservice.service.SpaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/api/spaces")
@@ -18,25 +24,80 @@ import java.util.List;
 public class SpaceController {
     
     private final SpaceService spaceService;
+    private final CatalogChangeFeed catalogChangeFeed;
+    private final ObjectMapper objectMapper;
     
+    // Read endpoints take ?fields=id,name,... and return only those fields
     @GetMapping
-    public ResponseEntity<List<SpaceDto>> getAllSpaces() {
-        return ResponseEntity.ok(spaceService.getAllSpaces());
+    public ResponseEntity<?> getAllSpaces(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, SpaceDto.class);
+        String eTag = ETags.forFields(
+                ETags.forCollection(SpaceService.CHANGE_COUNTER, spaceService.getChangeCounter()), selection);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(selection.apply(spaceService.getAllSpaces(selection), objectMapper));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<SpaceDto> getSpaceById(@PathVariable Long id) {
-        return ResponseEntity.ok(spaceService.getSpaceById(id));
+    public ResponseEntity<?> getSpaceById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                          WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, SpaceDto.class);
+        SpaceDto space = spaceService.getSpaceById(id);
+        String eTag = ETags.forFields(ETags.forVersion(space.getVersion()), selection);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(selection.apply(space, objectMapper));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<?> searchSpaces(@Valid SpaceSearchCriteria criteria, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, SpaceDto.class);
+        return ResponseEntity.ok(selection.apply(spaceService.searchSpaces(criteria), objectMapper));
+    }
+    
+    @GetMapping("/snapshot")
+    public ResponseEntity<CatalogSnapshot> getCatalogSnapshot(WebRequest request) {
+        if (request.checkNotModified(ETags.forCollection(SpaceService.CHANGE_COUNTER, spaceService.getChangeCounter()))) {
+            return null;
+        }
+        CatalogSnapshot snapshot = spaceService.getCatalogSnapshot();
+        return ResponseEntity.ok()
+                .eTag(ETags.forCollection(SpaceService.CHANGE_COUNTER, snapshot.getVersion()))
+                .body(snapshot);
+    }
+    
+    @GetMapping("/changes")
+    public DeferredResult<CatalogChanges> getCatalogChanges(@RequestParam long since,
+                                                            @RequestParam(defaultValue = "500") int limit,
+                                                            @RequestParam(defaultValue = "0") long waitMs) {
+        return catalogChangeFeed.poll(since, limit, waitMs);
     }
     
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<SpaceDto>> getSpacesByType(@PathVariable Space.SpaceType type) {
-        return ResponseEntity.ok(spaceService.getSpacesByType(type));
+    public ResponseEntity<?> getSpacesByType(@PathVariable Space.SpaceType type,
+                                             @RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, SpaceDto.class);
+        String eTag = ETags.forFields(
+                ETags.forCollection(SpaceService.CHANGE_COUNTER, spaceService.getChangeCounter()), selection);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(selection.apply(spaceService.getSpacesByType(type, selection), objectMapper));
     }
     
     @GetMapping("/capacity/{capacity}")
-    public ResponseEntity<List<SpaceDto>> getSpacesByMinCapacity(@PathVariable Integer capacity) {
-        return ResponseEntity.ok(spaceService.getSpacesByMinCapacity(capacity));
+    public ResponseEntity<?> getSpacesByMinCapacity(@PathVariable Integer capacity,
+                                                    @RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, SpaceDto.class);
+        String eTag = ETags.forFields(
+                ETags.forCollection(SpaceService.CHANGE_COUNTER, spaceService.getChangeCounter()), selection);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag)
+                .body(selection.apply(spaceService.getSpacesByMinCapacity(capacity, selection), objectMapper));
     }
     
     @PostMapping
@@ -56,4 +117,3 @@ public class SpaceController {
         return ResponseEntity.noContent().build();
     }
 }
-
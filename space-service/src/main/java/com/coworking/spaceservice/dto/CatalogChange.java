@@ -0,0 +1,17 @@
+package com.coworking.spaceservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogChange {
+    private long catalogVersion;
+    private Long id;
+    private boolean deleted;
+    private SpaceDto space;
+}
@@ -0,0 +1,17 @@
+package com.coworking.spaceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChanges {
+    private long since;
+    private long version;
+    private boolean hasMore;
+    private List<CatalogChange> changes;
+}
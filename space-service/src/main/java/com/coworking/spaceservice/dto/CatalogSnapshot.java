@@ -0,0 +1,15 @@
+package com.coworking.spaceservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshot {
+    private long version;
+    private List<SpaceDto> spaces;
+}
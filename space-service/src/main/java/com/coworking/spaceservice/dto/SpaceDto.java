@@ -1,17 +1,33 @@
 package com.coworking.spaceservice.dto;
 
+import com.coworking.spaceservice.model.Space;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.Set;
+
 @Data
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class SpaceDto {
     private Long id;
     private String name;
-    private String type;
     private Integer capacity;
-    private String location;
+    private Space.SpaceType type;
+    private Set<String> amenities;
+    private LocalTime openingTime;
+    private LocalTime closingTime;
+    private BigDecimal pricePerHour;
+    private String description;
+    private boolean active;
+    private Long catalogVersion;
+    
+    @JsonIgnore
+    private Long version;
 }
-
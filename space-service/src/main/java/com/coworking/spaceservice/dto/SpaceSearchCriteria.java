@@ -0,0 +1,34 @@
+package com.coworking.spaceservice.dto;
+
+import com.coworking.spaceservice.model.Space;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpaceSearchCriteria {
+    
+    private Space.SpaceType type;
+    
+    private Set<String> amenities;
+    
+    @PositiveOrZero(message = "Minimum capacity must not be negative")
+    private Integer minCapacity;
+    
+    @PositiveOrZero(message = "Maximum capacity must not be negative")
+    private Integer maxCapacity;
+    
+    @PositiveOrZero(message = "Minimum price must not be negative")
+    private BigDecimal minPrice;
+    
+    @PositiveOrZero(message = "Maximum price must not be negative")
+    private BigDecimal maxPrice;
+}
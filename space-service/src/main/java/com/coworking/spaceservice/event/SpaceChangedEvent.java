@@ -0,0 +1,6 @@
+package com.coworking.spaceservice.event;
+
+import com.coworking.spaceservice.dto.SpaceDto;
+
+public record SpaceChangedEvent(SpaceDto space) {
+}
@@ -3,6 +3,7 @@ package com.coworking.spaceservice.mapper;
 import com.coworking.spaceservice.dto.CreateSpaceRequest;
 import com.coworking.spaceservice.dto.SpaceDto;
 import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.repository.SpaceSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -12,11 +13,21 @@ public interface SpaceMapper {
     
     SpaceDto toDto(Space space);
     
+    @Mapping(target = "amenities", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    SpaceDto toDto(SpaceSummary spaceSummary);
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "active", constant = "true")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
     Space toEntity(CreateSpaceRequest createSpaceRequest);
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
     void updateSpaceFromDto(CreateSpaceRequest updateSpaceRequest, @MappingTarget Space space);
 }
 
@@ -0,0 +1,23 @@
+package com.coworking.spaceservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "change_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeCounter {
+    
+    @Id
+    private String name;
+    
+    @Column(name = "counter_value", nullable = false)
+    private Long value;
+}
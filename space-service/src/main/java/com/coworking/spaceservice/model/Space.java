@@ -1,5 +1,6 @@
 package com.coworking.spaceservice.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -8,7 +9,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -16,6 +20,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
@@ -23,7 +29,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "spaces")
+@Table(name = "spaces", indexes = @Index(name = "idx_spaces_catalog_version", columnList = "catalogVersion"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "spaces")
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,15 +39,58 @@ import java.util.Set;
 public class Space {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "spaces_seq")
+    @SequenceGenerator(name = "spaces_seq", sequenceName = "spaces_seq", allocationSize = 50)
     private Long id;
     
+    @NotBlank
+    @Column(nullable = false)
     private String name;
     
-    private String type;
-    
+    @NotNull
+    @Positive
+    @Column(nullable = false)
     private Integer capacity;
     
-    private String location;
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SpaceType type;
+    
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "spaces.amenities")
+    @Builder.Default
+    private Set<String> amenities = new HashSet<>();
+    
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime openingTime;
+    
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime closingTime;
+    
+    @NotNull
+    @Positive
+    @Column(nullable = false)
+    private BigDecimal pricePerHour;
+    
+    @Column(length = 1000)
+    private String description;
+    
+    @Builder.Default
+    private boolean active = true;
+    
+    @Version
+    private Long version;
+    
+    private Long catalogVersion;
+    
+    public enum SpaceType {
+        DESK,
+        MEETING_ROOM,
+        PRIVATE_OFFICE,
+        CONFERENCE_ROOM,
+        EVENT_SPACE
+    }
 }
-
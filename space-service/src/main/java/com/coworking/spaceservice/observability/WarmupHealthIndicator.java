@@ -0,0 +1,28 @@
+package com.coworking.spaceservice.observability;
+
+import com.coworking.spaceservice.search.SpaceSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE until the search index is loaded, so neither the
+ * readiness probe nor Eureka send searches that would fall back to the
+ * database. Loading the index also fills the second-level entity cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    
+    private final SpaceSearchIndex spaceSearchIndex;
+    
+    @Override
+    public Health health() {
+        boolean ready = spaceSearchIndex.isReady();
+        return (ready ? Health.up() : Health.outOfService())
+                .withDetail("searchIndex", ready ? "ready" : "loading")
+                .withDetail("indexedSpaces", spaceSearchIndex.size())
+                .build();
+    }
+}
@@ -1,20 +1,62 @@
 package com.coworking.spaceservice.repository;
 
 import com.coworking.spaceservice.model.Space;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SpaceRepository extends JpaRepository<Space, Long> {
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
     List<Space> findByActiveTrue();
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
     List<Space> findByTypeAndActiveTrue(Space.SpaceType type);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
     List<Space> findByCapacityGreaterThanEqualAndActiveTrue(Integer capacity);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
+    List<SpaceSummary> findSummariesByActiveTrue();
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
+    List<SpaceSummary> findSummariesByTypeAndActiveTrue(Space.SpaceType type);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "spaces.queries")
+    })
+    List<SpaceSummary> findSummariesByCapacityGreaterThanEqualAndActiveTrue(Integer capacity);
+    
     boolean existsByNameAndActiveTrue(String name);
+    
+    List<Space> findByCatalogVersionGreaterThanOrderByCatalogVersionAsc(Long catalogVersion, Limit limit);
+    
+    // A fetch join with a row limit would page in memory, so pages are read
+    // first and their amenities loaded with this in one more query
+    @EntityGraph(attributePaths = "amenities")
+    List<Space> findWithAmenitiesByIdIn(Collection<Long> ids);
 }
-
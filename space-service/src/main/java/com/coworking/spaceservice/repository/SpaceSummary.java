@@ -0,0 +1,31 @@
+package com.coworking.spaceservice.repository;
+
+import com.coworking.spaceservice.model.Space;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * A space without its amenities and description, so list reads neither load
+ * the amenity collection nor the long text column.
+ */
+public interface SpaceSummary {
+    
+    Long getId();
+    
+    String getName();
+    
+    Integer getCapacity();
+    
+    Space.SpaceType getType();
+    
+    LocalTime getOpeningTime();
+    
+    LocalTime getClosingTime();
+    
+    BigDecimal getPricePerHour();
+    
+    boolean isActive();
+    
+    Long getCatalogVersion();
+}
@@ -0,0 +1,101 @@
+package com.coworking.spaceservice.rpc;
+
+import com.coworking.common.rpc.ProtoReader;
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.spaceservice.dto.SpaceDto;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocol buffers encoding of the internal space lookups. Only the fields
+ * other services need for a reservation are sent.
+ * <pre>
+ * message IdList { repeated int64 ids = 1 [packed = true]; }
+ * message SpaceSummary {
+ *   int64 id = 1;
+ *   string name = 2;
+ *   uint32 opening_second = 3;  // second of day
+ *   uint32 closing_second = 4;
+ *   string price_per_hour = 5;  // exact decimal, e.g. "25.00"
+ * }
+ * message SpaceSummaries { repeated SpaceSummary spaces = 1; }
+ * </pre>
+ */
+public final class SpaceRpcCodec {
+    
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+    
+    private SpaceRpcCodec() {
+    }
+    
+    public static byte[] encodeSpace(SpaceDto space) {
+        return summary(space).toByteArray();
+    }
+    
+    public static byte[] encodeSpaces(List<SpaceDto> spaces) {
+        ProtoWriter writer = new ProtoWriter(spaces.size() * 32 + 16);
+        spaces.forEach(space -> writer.writeMessage(1, summary(space)));
+        return writer.toByteArray();
+    }
+    
+    public static List<Long> decodeIds(byte[] data) {
+        List<Long> ids = new ArrayList<>();
+        ProtoReader reader = new ProtoReader(data);
+        while (reader.hasNext()) {
+            if (reader.nextField() == 1) {
+                reader.readInt64s(ids);
+            } else {
+                reader.skip();
+            }
+        }
+        return ids;
+    }
+    
+    public static SpaceDto decodeSpace(byte[] data) {
+        return decodeSummary(new ProtoReader(data));
+    }
+    
+    public static List<SpaceDto> decodeSpaces(byte[] data) {
+        List<SpaceDto> spaces = new ArrayList<>();
+        ProtoReader reader = new ProtoReader(data);
+        while (reader.hasNext()) {
+            if (reader.nextField() == 1) {
+                spaces.add(decodeSummary(reader.readMessage()));
+            } else {
+                reader.skip();
+            }
+        }
+        return spaces;
+    }
+    
+    private static ProtoWriter summary(SpaceDto space) {
+        return new ProtoWriter()
+                .writeInt64(1, space.getId())
+                .writeString(2, space.getName())
+                .writeInt64(3, space.getOpeningTime() != null ? space.getOpeningTime().toSecondOfDay() : 0)
+                .writeInt64(4, space.getClosingTime() != null ? space.getClosingTime().toSecondOfDay() : 0)
+                .writeString(5, space.getPricePerHour() != null ? space.getPricePerHour().toPlainString() : null);
+    }
+    
+    private static SpaceDto decodeSummary(ProtoReader reader) {
+        SpaceDto space = SpaceDto.builder()
+                .openingTime(LocalTime.MIDNIGHT)
+                .closingTime(LocalTime.MIDNIGHT)
+                .active(true)
+                .build();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case 1 -> space.setId(reader.readInt64());
+                case 2 -> space.setName(reader.readString());
+                case 3 -> space.setOpeningTime(LocalTime.ofSecondOfDay(reader.readInt64()));
+                case 4 -> space.setClosingTime(LocalTime.ofSecondOfDay(reader.readInt64()));
+                case 5 -> space.setPricePerHour(new BigDecimal(reader.readString()));
+                default -> reader.skip();
+            }
+        }
+        return space;
+    }
+}
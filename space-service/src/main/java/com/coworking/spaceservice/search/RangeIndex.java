@@ -0,0 +1,75 @@
+package com.coworking.spaceservice.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Slots sorted by a numeric key, so a key range resolves to a contiguous run
+ * found by binary search. Not thread-safe; guarded by {@link SpaceSearchIndex}.
+ */
+final class RangeIndex {
+    
+    private long[] keys = new long[64];
+    private int[] slots = new int[64];
+    private int size;
+    
+    void add(long key, int slot) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        int position = upperBound(key);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(slots, position, slots, position + 1, size - position);
+        keys[position] = key;
+        slots[position] = slot;
+        size++;
+    }
+    
+    void remove(long key, int slot) {
+        for (int i = lowerBound(key); i < size && keys[i] == key; i++) {
+            if (slots[i] == slot) {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+    
+    BitSet between(long min, long max) {
+        BitSet result = new BitSet();
+        for (int i = lowerBound(min); i < size && keys[i] <= max; i++) {
+            result.set(slots[i]);
+        }
+        return result;
+    }
+    
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int upperBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,214 @@
+package com.coworking.spaceservice.search;
+
+import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.dto.SpaceSearchCriteria;
+import com.coworking.spaceservice.event.SpaceChangedEvent;
+import com.coworking.spaceservice.mapper.SpaceMapper;
+import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.repository.SpaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the active spaces. Every space occupies a
+ * dense slot; type and amenity filters are bitmaps over those slots, capacity
+ * and price are sorted (key, slot) arrays. A search is the intersection of
+ * the bitmaps of all given filters.
+ * <p>
+ * Updates are applied after commit and are guarded by the entity version, so
+ * the startup load and concurrent change events can arrive in any order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SpaceSearchIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final SpaceRepository spaceRepository;
+    private final SpaceMapper spaceMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<Long, Long> versionsById = new HashMap<>();
+    private final List<SpaceDto> spacesBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet occupied = new BitSet();
+    private final Map<Space.SpaceType, BitSet> byType = new EnumMap<>(Space.SpaceType.class);
+    private final Map<String, BitSet> byAmenity = new HashMap<>();
+    private final RangeIndex byCapacity = new RangeIndex();
+    private final RangeIndex byPrice = new RangeIndex();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        List<Space> spaces = spaceRepository.findByActiveTrue();
+        spaces.forEach(space -> apply(spaceMapper.toDto(space)));
+        ready = true;
+        log.info("Space search index loaded {} spaces in {} ms", spaces.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onSpaceChanged(SpaceChangedEvent event) {
+        apply(event.space());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SpaceDto> search(SpaceSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) occupied.clone();
+
+            if (criteria.getType() != null) {
+                result.and(byType.getOrDefault(criteria.getType(), EMPTY));
+            }
+            if (criteria.getAmenities() != null) {
+                for (String amenity : criteria.getAmenities()) {
+                    result.and(byAmenity.getOrDefault(normalize(amenity), EMPTY));
+                }
+            }
+            if (!result.isEmpty() && (criteria.getMinCapacity() != null || criteria.getMaxCapacity() != null)) {
+                result.and(byCapacity.between(
+                        criteria.getMinCapacity() != null ? criteria.getMinCapacity() : Long.MIN_VALUE,
+                        criteria.getMaxCapacity() != null ? criteria.getMaxCapacity() : Long.MAX_VALUE));
+            }
+            if (!result.isEmpty() && (criteria.getMinPrice() != null || criteria.getMaxPrice() != null)) {
+                result.and(byPrice.between(
+                        criteria.getMinPrice() != null ? cents(criteria.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE,
+                        criteria.getMaxPrice() != null ? cents(criteria.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE));
+            }
+
+            List<SpaceDto> spaces = new ArrayList<>(result.cardinality());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                spaces.add(spacesBySlot.get(slot));
+            }
+            return spaces;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(SpaceDto space) {
+        lock.writeLock().lock();
+        try {
+            Long knownVersion = versionsById.get(space.getId());
+            if (knownVersion != null && space.getVersion() != null && knownVersion > space.getVersion()) {
+                return;
+            }
+            if (space.getVersion() != null) {
+                versionsById.put(space.getId(), space.getVersion());
+            }
+
+            Integer slot = slotsById.get(space.getId());
+            if (slot != null) {
+                unindex(slot);
+            }
+
+            if (space.isActive()) {
+                index(slot != null ? slot : allocateSlot(), space);
+            } else if (slot != null) {
+                slotsById.remove(space.getId());
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        spacesBySlot.add(null);
+        return spacesBySlot.size() - 1;
+    }
+
+    private void index(int slot, SpaceDto space) {
+        slotsById.put(space.getId(), slot);
+        spacesBySlot.set(slot, space);
+        occupied.set(slot);
+        if (space.getType() != null) {
+            byType.computeIfAbsent(space.getType(), type -> new BitSet()).set(slot);
+        }
+        if (space.getAmenities() != null) {
+            space.getAmenities().forEach(amenity ->
+                    byAmenity.computeIfAbsent(normalize(amenity), key -> new BitSet()).set(slot));
+        }
+        if (space.getCapacity() != null) {
+            byCapacity.add(space.getCapacity(), slot);
+        }
+        if (space.getPricePerHour() != null) {
+            byPrice.add(cents(space.getPricePerHour(), RoundingMode.HALF_UP), slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        SpaceDto space = spacesBySlot.get(slot);
+        spacesBySlot.set(slot, null);
+        occupied.clear(slot);
+        if (space.getType() != null) {
+            byType.get(space.getType()).clear(slot);
+        }
+        if (space.getAmenities() != null) {
+            space.getAmenities().forEach(amenity -> {
+                String key = normalize(amenity);
+                BitSet slots = byAmenity.get(key);
+                if (slots == null) {
+                    return;
+                }
+                slots.clear(slot);
+                if (slots.isEmpty()) {
+                    byAmenity.remove(key);
+                }
+            });
+        }
+        if (space.getCapacity() != null) {
+            byCapacity.remove(space.getCapacity(), slot);
+        }
+        if (space.getPricePerHour() != null) {
+            byPrice.remove(cents(space.getPricePerHour(), RoundingMode.HALF_UP), slot);
+        }
+    }
+
+    private static String normalize(String amenity) {
+        return amenity.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long cents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+}
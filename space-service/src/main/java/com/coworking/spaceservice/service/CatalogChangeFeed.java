@@ -0,0 +1,99 @@
+package com.coworking.spaceservice.service;
+
+import com.coworking.spaceservice.dto.CatalogChanges;
+import com.coworking.spaceservice.event.SpaceChangedEvent;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Long-poll support for the catalog change feed. A poll that finds nothing
+ * new parks a {@link DeferredResult} instead of a request thread; every
+ * committed space change releases the parked polls, running one query per
+ * distinct cursor no matter how many replicas wait on it.
+ */
+public class CatalogChangeFeed {
+    
+    private final SpaceService spaceService;
+    private final TaskExecutor taskExecutor;
+    private final long maxWaitMs;
+    private final int maxBatchSize;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    
+    public CatalogChangeFeed(SpaceService spaceService, TaskExecutor taskExecutor, long maxWaitMs, int maxBatchSize) {
+        this.spaceService = spaceService;
+        this.taskExecutor = taskExecutor;
+        this.maxWaitMs = maxWaitMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public DeferredResult<CatalogChanges> poll(long since, int limit, long waitMs) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (since > spaceService.getChangeCounter()) {
+            throw new IllegalArgumentException("Version " + since + " is ahead of the catalog, take a new snapshot");
+        }
+        
+        Cursor cursor = new Cursor(since, Math.min(limit, maxBatchSize));
+        long timeout = Math.min(Math.max(waitMs, 0), maxWaitMs);
+        CatalogChanges changes = spaceService.getCatalogChanges(cursor.since(), cursor.limit());
+        if (!changes.getChanges().isEmpty() || timeout == 0) {
+            DeferredResult<CatalogChanges> result = new DeferredResult<>();
+            result.setResult(changes);
+            return result;
+        }
+        
+        // On timeout the client gets the empty change set and polls again
+        DeferredResult<CatalogChanges> result = new DeferredResult<>(timeout, changes);
+        Waiter waiter = new Waiter(cursor, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        
+        // A change committed between the query and the registration above
+        // would otherwise only be seen after the next one
+        if (spaceService.getChangeCounter() > since) {
+            taskExecutor.execute(this::release);
+        }
+        return result;
+    }
+    
+    public int getWaiting() {
+        return waiters.size();
+    }
+    
+    @TransactionalEventListener
+    public void onSpaceChanged(SpaceChangedEvent event) {
+        if (!waiters.isEmpty()) {
+            taskExecutor.execute(this::release);
+        }
+    }
+    
+    private void release() {
+        Map<Cursor, CatalogChanges> changesByCursor = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            CatalogChanges changes = changesByCursor.computeIfAbsent(waiter.cursor(),
+                    cursor -> spaceService.getCatalogChanges(cursor.since(), cursor.limit()));
+            if (!changes.getChanges().isEmpty()) {
+                waiter.result().setResult(changes);
+            }
+        }
+    }
+    
+    private record Cursor(long since, int limit) {
+    }
+    
+    private record Waiter(Cursor cursor, DeferredResult<CatalogChanges> result) {
+    }
+}
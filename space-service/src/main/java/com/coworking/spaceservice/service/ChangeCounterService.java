@@ -0,0 +1,61 @@
+package com.coworking.spaceservice.service;
+
+import com.coworking.spaceservice.model.ChangeCounter;
+import com.coworking.spaceservice.repository.ChangeCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Table-level change counters. A counter is bumped inside the writing
+ * transaction, so its row lock orders concurrent writers and a reader never
+ * sees a counter value whose changes are not yet committed.
+ * <p>
+ * The rows are created at startup, before the web server accepts requests,
+ * so concurrent first writes only ever update and never race to insert.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeCounterService implements SmartInitializingSingleton {
+    
+    private static final List<String> COUNTERS = List.of(SpaceService.CHANGE_COUNTER);
+    
+    private final ChangeCounterRepository changeCounterRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (String name : COUNTERS) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (changeCounterRepository.findValueByName(name).isEmpty()) {
+                        changeCounterRepository.saveAndFlush(new ChangeCounter(name, 0L));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another instance sharing the database created it first
+            }
+        }
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long increment(String name) {
+        if (changeCounterRepository.increment(name) == 0) {
+            throw new IllegalStateException("Unknown change counter " + name);
+        }
+        return changeCounterRepository.findValueByName(name).orElseThrow();
+    }
+    
+    @Transactional(readOnly = true)
+    public long current(String name) {
+        return changeCounterRepository.findValueByName(name).orElse(0L);
+    }
+}
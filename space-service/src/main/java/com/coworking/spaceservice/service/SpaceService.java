@@ -1,28 +1,58 @@
 package com.coworking.spaceservice.service;
 
+import com.coworking.common.web.FieldSelection;
+import com.coworking.spaceservice.dto.CatalogChange;
+import com.coworking.spaceservice.dto.CatalogChanges;
+import com.coworking.spaceservice.dto.CatalogSnapshot;
 import com.coworking.spaceservice.dto.CreateSpaceRequest;
 import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.dto.SpaceSearchCriteria;
+import com.coworking.spaceservice.event.SpaceChangedEvent;
 import com.coworking.spaceservice.exception.SpaceAlreadyExistsException;
 import com.coworking.spaceservice.exception.SpaceNotFoundException;
 import com.coworking.spaceservice.mapper.SpaceMapper;
 import com.coworking.spaceservice.model.Space;
 import com.coworking.spaceservice.repository.SpaceRepository;
+import com.coworking.spaceservice.repository.SpaceSummary;
+import com.coworking.spaceservice.search.SpaceSearchIndex;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "space.service")
 public class SpaceService {
     
+    public static final String CHANGE_COUNTER = "spaces";
+    
+    // List reads that need none of these load a SpaceSummary projection
+    private static final Set<String> DETAIL_FIELDS = Set.of("amenities", "description");
+    
     private final SpaceRepository spaceRepository;
     private final SpaceMapper spaceMapper;
+    private final ChangeCounterService changeCounterService;
+    private final SpaceSearchIndex spaceSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public long getChangeCounter() {
+        return changeCounterService.current(CHANGE_COUNTER);
+    }
     
     @Transactional(readOnly = true)
-    public List<SpaceDto> getAllSpaces() {
+    public List<SpaceDto> getAllSpaces(FieldSelection fields) {
+        if (!fields.includesAny(DETAIL_FIELDS)) {
+            return summariesToDtos(spaceRepository.findSummariesByActiveTrue());
+        }
         return spaceRepository.findByActiveTrue()
                 .stream()
                 .map(spaceMapper::toDto)
@@ -42,7 +72,19 @@ public class SpaceService {
     }
     
     @Transactional(readOnly = true)
-    public List<SpaceDto> getSpacesByType(Space.SpaceType type) {
+    public List<SpaceDto> getActiveSpacesByIds(Collection<Long> ids) {
+        return spaceRepository.findAllById(ids)
+                .stream()
+                .filter(Space::isActive)
+                .map(spaceMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<SpaceDto> getSpacesByType(Space.SpaceType type, FieldSelection fields) {
+        if (!fields.includesAny(DETAIL_FIELDS)) {
+            return summariesToDtos(spaceRepository.findSummariesByTypeAndActiveTrue(type));
+        }
         return spaceRepository.findByTypeAndActiveTrue(type)
                 .stream()
                 .map(spaceMapper::toDto)
@@ -50,13 +92,71 @@ public class SpaceService {
     }
     
     @Transactional(readOnly = true)
-    public List<SpaceDto> getSpacesByMinCapacity(Integer capacity) {
+    public List<SpaceDto> getSpacesByMinCapacity(Integer capacity, FieldSelection fields) {
+        if (!fields.includesAny(DETAIL_FIELDS)) {
+            return summariesToDtos(spaceRepository.findSummariesByCapacityGreaterThanEqualAndActiveTrue(capacity));
+        }
         return spaceRepository.findByCapacityGreaterThanEqualAndActiveTrue(capacity)
                 .stream()
                 .map(spaceMapper::toDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<SpaceDto> searchSpaces(SpaceSearchCriteria criteria) {
+        if (criteria.getMinCapacity() != null && criteria.getMaxCapacity() != null
+                && criteria.getMinCapacity() > criteria.getMaxCapacity()) {
+            throw new IllegalArgumentException("Minimum capacity must not exceed maximum capacity");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price must not exceed maximum price");
+        }
+        
+        if (spaceSearchIndex.isReady()) {
+            return spaceSearchIndex.search(criteria);
+        }
+        
+        // Index still loading, answer from the database
+        return spaceRepository.findByActiveTrue()
+                .stream()
+                .map(spaceMapper::toDto)
+                .filter(space -> matches(space, criteria))
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public CatalogSnapshot getCatalogSnapshot() {
+        // Version is read first: a write racing with the snapshot shows up
+        // again in the change feed, where clients apply it idempotently
+        long version = changeCounterService.current(CHANGE_COUNTER);
+        return new CatalogSnapshot(version, getAllSpaces(FieldSelection.ALL));
+    }
+    
+    @Transactional(readOnly = true)
+    public CatalogChanges getCatalogChanges(long since, int limit) {
+        List<Space> spaces = spaceRepository.findByCatalogVersionGreaterThanOrderByCatalogVersionAsc(since, Limit.of(limit + 1));
+        boolean hasMore = spaces.size() > limit;
+        if (hasMore) {
+            spaces = spaces.subList(0, limit);
+        }
+        
+        // Initializes the amenities of the spaces above in place; they keep
+        // the catalog versions read with the page
+        List<Long> activeIds = spaces.stream().filter(Space::isActive).map(Space::getId).toList();
+        if (!activeIds.isEmpty()) {
+            spaceRepository.findWithAmenitiesByIdIn(activeIds);
+        }
+        
+        List<CatalogChange> changes = spaces.stream()
+                .map(space -> space.isActive()
+                        ? new CatalogChange(space.getCatalogVersion(), space.getId(), false, spaceMapper.toDto(space))
+                        : new CatalogChange(space.getCatalogVersion(), space.getId(), true, null))
+                .collect(Collectors.toList());
+        long version = changes.isEmpty() ? since : changes.get(changes.size() - 1).getCatalogVersion();
+        return new CatalogChanges(since, version, hasMore, changes);
+    }
+    
     @Transactional
     public SpaceDto createSpace(CreateSpaceRequest createSpaceRequest) {
         if (spaceRepository.existsByNameAndActiveTrue(createSpaceRequest.getName())) {
@@ -64,8 +164,12 @@ public class SpaceService {
         }
         
         Space space = spaceMapper.toEntity(createSpaceRequest);
+        space.setCatalogVersion(changeCounterService.increment(CHANGE_COUNTER));
         Space savedSpace = spaceRepository.save(space);
-        return spaceMapper.toDto(savedSpace);
+        
+        SpaceDto spaceDto = spaceMapper.toDto(savedSpace);
+        eventPublisher.publishEvent(new SpaceChangedEvent(spaceDto));
+        return spaceDto;
     }
     
     @Transactional
@@ -84,8 +188,12 @@ public class SpaceService {
         }
         
         spaceMapper.updateSpaceFromDto(updateSpaceRequest, space);
-        Space updatedSpace = spaceRepository.save(space);
-        return spaceMapper.toDto(updatedSpace);
+        space.setCatalogVersion(changeCounterService.increment(CHANGE_COUNTER));
+        Space updatedSpace = spaceRepository.saveAndFlush(space);
+        
+        SpaceDto spaceDto = spaceMapper.toDto(updatedSpace);
+        eventPublisher.publishEvent(new SpaceChangedEvent(spaceDto));
+        return spaceDto;
     }
     
     @Transactional
@@ -99,7 +207,43 @@ public class SpaceService {
         
         // Soft delete
         space.setActive(false);
-        spaceRepository.save(space);
+        space.setCatalogVersion(changeCounterService.increment(CHANGE_COUNTER));
+        Space deletedSpace = spaceRepository.saveAndFlush(space);
+        
+        eventPublisher.publishEvent(new SpaceChangedEvent(spaceMapper.toDto(deletedSpace)));
+    }
+    
+    private List<SpaceDto> summariesToDtos(List<SpaceSummary> summaries) {
+        return summaries.stream()
+                .map(spaceMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
+    private boolean matches(SpaceDto space, SpaceSearchCriteria criteria) {
+        if (criteria.getType() != null && criteria.getType() != space.getType()) {
+            return false;
+        }
+        if (criteria.getAmenities() != null && !criteria.getAmenities().isEmpty()) {
+            Set<String> amenities = space.getAmenities() == null ? Set.of() : space.getAmenities().stream()
+                    .map(amenity -> amenity.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            boolean hasAll = criteria.getAmenities().stream()
+                    .map(amenity -> amenity.trim().toLowerCase(Locale.ROOT))
+                    .allMatch(amenities::contains);
+            if (!hasAll) {
+                return false;
+            }
+        }
+        if (criteria.getMinCapacity() != null && space.getCapacity() < criteria.getMinCapacity()) {
+            return false;
+        }
+        if (criteria.getMaxCapacity() != null && space.getCapacity() > criteria.getMaxCapacity()) {
+            return false;
+        }
+        if (criteria.getMinPrice() != null && space.getPricePerHour().compareTo(criteria.getMinPrice()) < 0) {
+            return false;
+        }
+        return criteria.getMaxPrice() == null || space.getPricePerHour().compareTo(criteria.getMaxPrice()) <= 0;
     }
 }
 
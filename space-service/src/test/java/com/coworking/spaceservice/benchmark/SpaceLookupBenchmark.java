@@ -0,0 +1,178 @@
+package com.coworking.spaceservice.benchmark;
+
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.spaceservice.SpaceServiceApplication;
+import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.repository.SpaceRepository;
+import com.coworking.spaceservice.rpc.SpaceRpcCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the JSON lookups reservation-service makes through Feign with the
+ * protobuf lookups under {@code /internal/rpc}: bytes on the wire, latency and
+ * process CPU per lookup, including encoding on the server and decoding on
+ * the client.
+ * Run with {@code ./gradlew benchmark}; tune with -Dbenchmark.iterations and
+ * -Dbenchmark.batch-size.
+ */
+@Tag("benchmark")
+public class SpaceLookupBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5_000);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 100);
+    private static final int SPACES = 1_000;
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    @Test
+    void lookups() throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpaceServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-lookups",
+                        "logging.level.root=WARN");
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            List<Long> ids = seed(context.getBean(SpaceRepository.class));
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient json = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpClient rpc = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+            Lookup jsonSingle = i -> {
+                byte[] body = get(json, baseUri + "/api/spaces/" + ids.get(i % ids.size()));
+                objectMapper.readValue(body, SpaceDto.class);
+                return body.length;
+            };
+            Lookup rpcSingle = i -> {
+                byte[] body = get(rpc, baseUri + "/internal/rpc/spaces/" + ids.get(i % ids.size()));
+                SpaceRpcCodec.decodeSpace(body);
+                return body.length;
+            };
+            Lookup jsonBatch = i -> {
+                int bytes = 0;
+                for (long id : batch(ids, i)) {
+                    byte[] body = get(json, baseUri + "/api/spaces/" + id);
+                    objectMapper.readValue(body, SpaceDto.class);
+                    bytes += body.length;
+                }
+                return bytes;
+            };
+            Lookup rpcBatch = i -> {
+                byte[] request = new ProtoWriter().writePackedInt64(1, batch(ids, i)).toByteArray();
+                byte[] body = post(rpc, baseUri + "/internal/rpc/spaces/batch", request);
+                SpaceRpcCodec.decodeSpaces(body);
+                return request.length + body.length;
+            };
+
+            report("JSON GET /api/spaces/{id}", run(jsonSingle, ITERATIONS));
+            report("RPC  GET /internal/rpc/spaces/{id}", run(rpcSingle, ITERATIONS));
+            report("JSON " + BATCH_SIZE + " x GET /api/spaces/{id}", run(jsonBatch, ITERATIONS / BATCH_SIZE));
+            report("RPC  POST /internal/rpc/spaces/batch (" + BATCH_SIZE + " ids)", run(rpcBatch, ITERATIONS / BATCH_SIZE));
+        }
+    }
+
+    private List<Long> seed(SpaceRepository spaceRepository) {
+        List<Space> spaces = new ArrayList<>(SPACES);
+        for (int i = 0; i < SPACES; i++) {
+            spaces.add(Space.builder()
+                    .name("Space " + i)
+                    .capacity(4 + i % 20)
+                    .type(Space.SpaceType.values()[i % Space.SpaceType.values().length])
+                    .amenities(new HashSet<>(Set.of("wifi", "projector", "whiteboard", "coffee", "standing desks")))
+                    .openingTime(LocalTime.of(8, 0))
+                    .closingTime(LocalTime.of(20, 0))
+                    .pricePerHour(new BigDecimal("25.00").add(BigDecimal.valueOf(i % 10)))
+                    .description("Bright room on floor " + (i % 5 + 1) + " with natural light, "
+                            + "height-adjustable desks and a video conferencing setup.")
+                    .build());
+        }
+        return spaceRepository.saveAll(spaces).stream().map(Space::getId).toList();
+    }
+
+    private Result run(Lookup lookup, int iterations) throws Exception {
+        // Warm up the JIT and the connections before measuring
+        for (int i = 0; i < Math.max(1, iterations / 5); i++) {
+            lookup.run(i);
+        }
+
+        long[] latencies = new long[iterations];
+        long bytes = 0;
+        long cpuStart = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long sent = System.nanoTime();
+            bytes += lookup.run(i);
+            latencies[i] = System.nanoTime() - sent;
+        }
+        return new Result(iterations, bytes, System.nanoTime() - start, os.getProcessCpuTime() - cpuStart, latencies);
+    }
+
+    private void report(String scenario, Result result) {
+        long[] sorted = result.latencies().clone();
+        Arrays.sort(sorted);
+        System.out.printf("[benchmark] %s: %d bytes/op, p50 %.2f ms, p99 %.2f ms, %.1f us CPU/op, %.0f ops/s%n",
+                scenario, result.bytes() / result.iterations(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                result.cpuNanos() / 1_000.0 / result.iterations(),
+                result.iterations() / (result.elapsedNanos() / 1_000_000_000.0));
+    }
+
+    private static List<Long> batch(List<Long> ids, int iteration) {
+        int from = iteration * BATCH_SIZE % ids.size();
+        return LongStream.range(0, BATCH_SIZE).mapToObj(i -> ids.get((int) ((from + i) % ids.size()))).toList();
+    }
+
+    private static byte[] get(HttpClient client, String uri) throws Exception {
+        return send(client, HttpRequest.newBuilder(URI.create(uri)).GET());
+    }
+
+    private static byte[] post(HttpClient client, String uri, byte[] body) throws Exception {
+        return send(client, HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", SpaceRpcCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+    }
+
+    private static byte[] send(HttpClient client, HttpRequest.Builder request) throws Exception {
+        HttpResponse<byte[]> response = client.send(request.timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.build().uri() + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        int run(int iteration) throws Exception;
+    }
+
+    private record Result(int iterations, long bytes, long elapsedNanos, long cpuNanos, long[] latencies) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.coworking.spaceservice.repository;
+
+import com.coworking.spaceservice.model.Space;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cached query results must not outlive the writes that change them. Every
+ * repository call runs in its own transaction, as it does behind the service.
+ */
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SpaceRepositoryCacheTest {
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        spaceRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByActiveTrue_WhenRepeated_ShouldBeServedFromQueryCache() {
+        // Arrange
+        spaceRepository.save(space("Desk 1"));
+
+        // Act
+        spaceRepository.findByActiveTrue();
+        spaceRepository.findByActiveTrue();
+
+        // Assert
+        assertEquals(1, statistics.getQueryCachePutCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void save_ShouldInvalidateCachedQueryResults() {
+        // Arrange
+        spaceRepository.save(space("Desk 1"));
+        assertEquals(1, spaceRepository.findByActiveTrue().size());
+
+        // Act
+        spaceRepository.save(space("Desk 2"));
+
+        // Assert
+        assertEquals(List.of("Desk 1", "Desk 2"), names(spaceRepository.findByActiveTrue()));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void softDelete_ShouldInvalidateCachedQueryResultsAndEntity() {
+        // Arrange
+        Space space = spaceRepository.save(space("Desk 1"));
+        spaceRepository.save(space("Desk 2"));
+        assertEquals(2, spaceRepository.findByActiveTrue().size());
+        assertEquals(2, spaceRepository.findByCapacityGreaterThanEqualAndActiveTrue(1).size());
+
+        // Act: the service soft-deletes this way
+        space.setActive(false);
+        spaceRepository.saveAndFlush(space);
+
+        // Assert
+        assertEquals(List.of("Desk 2"), names(spaceRepository.findByActiveTrue()));
+        assertEquals(List.of("Desk 2"), names(spaceRepository.findByCapacityGreaterThanEqualAndActiveTrue(1)));
+        assertFalse(spaceRepository.findById(space.getId()).orElseThrow().isActive());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    private static List<String> names(List<Space> spaces) {
+        return spaces.stream().map(Space::getName).sorted().toList();
+    }
+
+    private static Space space(String name) {
+        return Space.builder()
+                .name(name)
+                .capacity(4)
+                .type(Space.SpaceType.DESK)
+                .openingTime(LocalTime.of(8, 0))
+                .closingTime(LocalTime.of(20, 0))
+                .pricePerHour(new BigDecimal("10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.coworking.spaceservice.rpc;
+
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.model.Space;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceRpcCodecTest {
+
+    @Test
+    void encodeSpace_ShouldRoundTripTheSummaryFields() {
+        // Arrange
+        SpaceDto space = space(7L, "Room 7", "25.50");
+
+        // Act
+        SpaceDto decoded = SpaceRpcCodec.decodeSpace(SpaceRpcCodec.encodeSpace(space));
+
+        // Assert
+        assertEquals(7L, decoded.getId());
+        assertEquals("Room 7", decoded.getName());
+        assertEquals(LocalTime.of(8, 30), decoded.getOpeningTime());
+        assertEquals(LocalTime.of(20, 0), decoded.getClosingTime());
+        assertEquals(new BigDecimal("25.50"), decoded.getPricePerHour());
+        assertTrue(decoded.isActive());
+        // Not part of the summary
+        assertNull(decoded.getAmenities());
+        assertNull(decoded.getCapacity());
+    }
+
+    @Test
+    void encodeSpace_ShouldKeepThePriceScale() {
+        // Act
+        SpaceDto decoded = SpaceRpcCodec.decodeSpace(SpaceRpcCodec.encodeSpace(space(1L, "Desk 1", "10")));
+
+        // Assert: exact decimal, not a float, so 10 and 10.00 stay distinct
+        assertEquals("10", decoded.getPricePerHour().toPlainString());
+    }
+
+    @Test
+    void encodeSpace_WithMidnightOpening_ShouldDecodeAsMidnight() {
+        // Arrange: second of day 0 is the default value and not sent
+        SpaceDto space = space(1L, "Desk 1", "10.00");
+        space.setOpeningTime(LocalTime.MIDNIGHT);
+
+        // Act
+        SpaceDto decoded = SpaceRpcCodec.decodeSpace(SpaceRpcCodec.encodeSpace(space));
+
+        // Assert
+        assertEquals(LocalTime.MIDNIGHT, decoded.getOpeningTime());
+    }
+
+    @Test
+    void encodeSpaces_ShouldRoundTripInOrder() {
+        // Arrange
+        List<SpaceDto> spaces = List.of(space(3L, "Room 3", "40.00"), space(1L, "Desk 1", "10.00"));
+
+        // Act
+        List<SpaceDto> decoded = SpaceRpcCodec.decodeSpaces(SpaceRpcCodec.encodeSpaces(spaces));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), decoded.stream().map(SpaceDto::getId).toList());
+        assertEquals("Desk 1", decoded.get(1).getName());
+    }
+
+    @Test
+    void encodeSpaces_WithNoSpaces_ShouldBeEmpty() {
+        // Act & Assert
+        assertEquals(0, SpaceRpcCodec.encodeSpaces(List.of()).length);
+        assertTrue(SpaceRpcCodec.decodeSpaces(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void decodeIds_ShouldReadPackedIdsAsReservationServiceSendsThem() {
+        // Arrange
+        byte[] data = new ProtoWriter().writePackedInt64(1, List.of(7L, 300L, 7L)).toByteArray();
+
+        // Act & Assert
+        assertEquals(List.of(7L, 300L, 7L), SpaceRpcCodec.decodeIds(data));
+    }
+
+    @Test
+    void decodeIds_WithMalformedBody_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SpaceRpcCodec.decodeIds(new byte[] {0x0A, 0x05, 0x01}));
+    }
+
+    private static SpaceDto space(Long id, String name, String price) {
+        return SpaceDto.builder()
+                .id(id)
+                .name(name)
+                .capacity(4)
+                .type(Space.SpaceType.MEETING_ROOM)
+                .amenities(Set.of("wifi"))
+                .openingTime(LocalTime.of(8, 30))
+                .closingTime(LocalTime.of(20, 0))
+                .pricePerHour(new BigDecimal(price))
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.coworking.spaceservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeIndexTest {
+
+    private RangeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RangeIndex();
+        index.add(20, 2);
+        index.add(10, 1);
+        index.add(30, 3);
+    }
+
+    @Test
+    void between_ShouldIncludeBothBounds() {
+        // Act & Assert
+        assertEquals(slots(1, 2, 3), index.between(10, 30));
+        assertEquals(slots(2), index.between(20, 20));
+        assertEquals(slots(2), index.between(11, 29));
+    }
+
+    @Test
+    void between_WithBoundsOutsideTheKeys_ShouldMatchNothingOrEverything() {
+        // Act & Assert
+        assertTrue(index.between(31, Long.MAX_VALUE).isEmpty());
+        assertTrue(index.between(Long.MIN_VALUE, 9).isEmpty());
+        assertTrue(index.between(21, 29).isEmpty());
+        assertTrue(index.between(30, 10).isEmpty());
+        assertEquals(slots(1, 2, 3), index.between(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void remove_WithSharedKey_ShouldOnlyDropThatSlot() {
+        // Arrange
+        index.add(20, 4);
+        index.add(20, 5);
+
+        // Act
+        index.remove(20, 4);
+
+        // Assert
+        assertEquals(slots(2, 5), index.between(20, 20));
+        assertEquals(slots(1, 2, 3, 5), index.between(10, 30));
+    }
+
+    @Test
+    void remove_WithUnknownSlot_ShouldChangeNothing() {
+        // Act
+        index.remove(20, 9);
+        index.remove(25, 2);
+
+        // Assert
+        assertEquals(slots(1, 2, 3), index.between(10, 30));
+    }
+
+    @Test
+    void add_BeyondInitialCapacity_ShouldKeepKeysSorted() {
+        // Arrange: descending inserts, so every add shifts the whole array
+        RangeIndex large = new RangeIndex();
+        for (int slot = 0; slot < 200; slot++) {
+            large.add(1000 - slot, slot);
+        }
+
+        // Act
+        BitSet top = large.between(951, 1000);
+
+        // Assert
+        assertEquals(50, top.cardinality());
+        assertEquals(0, top.nextSetBit(0));
+        assertEquals(49, top.length() - 1);
+        assertEquals(200, large.between(Long.MIN_VALUE, Long.MAX_VALUE).cardinality());
+    }
+
+    private static BitSet slots(int... slots) {
+        BitSet result = new BitSet();
+        for (int slot : slots) {
+            result.set(slot);
+        }
+        return result;
+    }
+}
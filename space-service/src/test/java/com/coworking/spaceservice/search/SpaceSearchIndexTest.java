@@ -0,0 +1,211 @@
+package com.coworking.spaceservice.search;
+
+import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.dto.SpaceSearchCriteria;
+import com.coworking.spaceservice.event.SpaceChangedEvent;
+import com.coworking.spaceservice.mapper.SpaceMapper;
+import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.repository.SpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SpaceSearchIndexTest {
+
+    @Mock
+    private SpaceRepository spaceRepository;
+
+    private SpaceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpaceSearchIndex(spaceRepository, Mappers.getMapper(SpaceMapper.class));
+        change(space(1L, Space.SpaceType.DESK, 1, "10.00", Set.of("WiFi")));
+        change(space(2L, Space.SpaceType.MEETING_ROOM, 8, "40.00", Set.of("wifi", "Projector")));
+        change(space(3L, Space.SpaceType.MEETING_ROOM, 12, "55.50", Set.of("projector")));
+    }
+
+    @Test
+    void load_ShouldIndexTheActiveSpacesAndBecomeReady() {
+        // Arrange
+        SpaceSearchIndex loaded = new SpaceSearchIndex(spaceRepository, Mappers.getMapper(SpaceMapper.class));
+        when(spaceRepository.findByActiveTrue()).thenReturn(List.of(
+                Space.builder().id(4L).name("Desk 4").capacity(1).type(Space.SpaceType.DESK)
+                        .pricePerHour(new BigDecimal("12.00")).version(0L).build()));
+        assertFalse(loaded.isReady());
+
+        // Act
+        loaded.load();
+
+        // Assert
+        assertTrue(loaded.isReady());
+        assertEquals(List.of(4L), ids(loaded.search(new SpaceSearchCriteria())));
+    }
+
+    @Test
+    void search_WithoutFilters_ShouldReturnEveryActiveSpace() {
+        // Act & Assert
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search(new SpaceSearchCriteria())));
+    }
+
+    @Test
+    void search_WithCombinedFilters_ShouldIntersectThem() {
+        // Arrange: amenities match regardless of case and surrounding blanks
+        SpaceSearchCriteria criteria = SpaceSearchCriteria.builder()
+                .type(Space.SpaceType.MEETING_ROOM)
+                .amenities(Set.of(" WIFI", "projector"))
+                .minCapacity(4)
+                .maxPrice(new BigDecimal("50"))
+                .build();
+
+        // Act & Assert
+        assertEquals(List.of(2L), ids(index.search(criteria)));
+    }
+
+    @Test
+    void search_WithUnknownAmenity_ShouldReturnNothing() {
+        // Act & Assert
+        assertTrue(index.search(SpaceSearchCriteria.builder().amenities(Set.of("sauna")).build()).isEmpty());
+    }
+
+    @Test
+    void search_WithCapacityRange_ShouldIncludeBothBounds() {
+        // Act & Assert
+        assertEquals(List.of(2L, 3L), ids(index.search(SpaceSearchCriteria.builder().minCapacity(8).maxCapacity(12).build())));
+        assertEquals(List.of(3L), ids(index.search(SpaceSearchCriteria.builder().minCapacity(9).build())));
+        assertEquals(List.of(1L), ids(index.search(SpaceSearchCriteria.builder().maxCapacity(7).build())));
+        assertTrue(index.search(SpaceSearchCriteria.builder().minCapacity(13).build()).isEmpty());
+    }
+
+    @Test
+    void search_WithPriceRange_ShouldIncludeBothBoundsToTheCent() {
+        // Act & Assert
+        assertEquals(List.of(2L), ids(index.search(priceBetween("40.00", "40.00"))));
+        assertEquals(List.of(2L, 3L), ids(index.search(priceBetween("40", "55.50"))));
+        assertEquals(List.of(3L), ids(index.search(priceBetween("40.01", null))));
+        assertEquals(List.of(1L), ids(index.search(priceBetween(null, "39.99"))));
+    }
+
+    @Test
+    void search_WithFractionalCentBounds_ShouldOnlyWidenToWholeCentsInside() {
+        // Act & Assert: a min rounds up and a max rounds down, never past the bound
+        assertEquals(List.of(2L), ids(index.search(priceBetween("39.999", "40.001"))));
+        assertTrue(index.search(priceBetween("40.001", "40.009")).isEmpty());
+    }
+
+    @Test
+    void onSpaceChanged_WithFractionalCentPrice_ShouldIndexItRoundedHalfUp() {
+        // Arrange
+        change(space(4L, Space.SpaceType.DESK, 1, "12.345", Set.of()));
+
+        // Act & Assert: stored as 12.35
+        assertEquals(List.of(4L), ids(index.search(priceBetween("12.35", "12.35"))));
+    }
+
+    @Test
+    void onSpaceChanged_WhenUpdated_ShouldReindexEveryAttribute() {
+        // Arrange
+        SpaceDto updated = space(2L, Space.SpaceType.DESK, 2, "20.00", Set.of("locker"));
+        updated.setVersion(1L);
+
+        // Act
+        change(updated);
+
+        // Assert
+        assertEquals(3, index.size());
+        assertEquals(List.of(3L), ids(index.search(SpaceSearchCriteria.builder().type(Space.SpaceType.MEETING_ROOM).build())));
+        assertEquals(List.of(1L, 2L), ids(index.search(SpaceSearchCriteria.builder().type(Space.SpaceType.DESK).build())));
+        assertEquals(List.of(1L), ids(index.search(SpaceSearchCriteria.builder().amenities(Set.of("wifi")).build())));
+        assertEquals(List.of(2L), ids(index.search(SpaceSearchCriteria.builder().amenities(Set.of("locker")).build())));
+        assertTrue(index.search(priceBetween("40.00", "40.00")).isEmpty());
+        assertEquals(List.of(2L), ids(index.search(SpaceSearchCriteria.builder().minCapacity(2).maxCapacity(2).build())));
+    }
+
+    @Test
+    void onSpaceChanged_WhenSoftDeleted_ShouldDropTheSpaceAndReuseItsSlot() {
+        // Arrange
+        SpaceDto deleted = space(2L, Space.SpaceType.MEETING_ROOM, 8, "40.00", Set.of("wifi", "Projector"));
+        deleted.setActive(false);
+        deleted.setVersion(1L);
+
+        // Act
+        change(deleted);
+        change(space(4L, Space.SpaceType.EVENT_SPACE, 80, "300.00", Set.of()));
+
+        // Assert: results come in slot order, so the new space sits where the deleted one was
+        assertEquals(3, index.size());
+        assertEquals(List.of(1L, 4L, 3L), ids(index.search(new SpaceSearchCriteria())));
+        assertEquals(List.of(3L), ids(index.search(SpaceSearchCriteria.builder().amenities(Set.of("projector")).build())));
+        assertEquals(List.of(3L), ids(index.search(SpaceSearchCriteria.builder().minCapacity(8).maxCapacity(12).build())));
+    }
+
+    @Test
+    void onSpaceChanged_WithOlderVersion_ShouldBeIgnored() {
+        // Arrange
+        SpaceDto current = space(2L, Space.SpaceType.DESK, 2, "20.00", Set.of());
+        current.setVersion(3L);
+        change(current);
+        SpaceDto stale = space(2L, Space.SpaceType.MEETING_ROOM, 8, "40.00", Set.of());
+        stale.setVersion(2L);
+
+        // Act
+        change(stale);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(index.search(SpaceSearchCriteria.builder().type(Space.SpaceType.DESK).build())));
+    }
+
+    @Test
+    void onSpaceChanged_WithOlderVersionAfterDelete_ShouldNotResurrectTheSpace() {
+        // Arrange: the startup load can read a row before a delete commits
+        SpaceDto deleted = space(3L, Space.SpaceType.MEETING_ROOM, 12, "55.50", Set.of());
+        deleted.setActive(false);
+        deleted.setVersion(1L);
+        change(deleted);
+
+        // Act
+        change(space(3L, Space.SpaceType.MEETING_ROOM, 12, "55.50", Set.of()));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(index.search(new SpaceSearchCriteria())));
+    }
+
+    private void change(SpaceDto space) {
+        index.onSpaceChanged(new SpaceChangedEvent(space));
+    }
+
+    private static SpaceSearchCriteria priceBetween(String min, String max) {
+        return SpaceSearchCriteria.builder()
+                .minPrice(min != null ? new BigDecimal(min) : null)
+                .maxPrice(max != null ? new BigDecimal(max) : null)
+                .build();
+    }
+
+    private static List<Long> ids(List<SpaceDto> spaces) {
+        return spaces.stream().map(SpaceDto::getId).toList();
+    }
+
+    private static SpaceDto space(Long id, Space.SpaceType type, int capacity, String price, Set<String> amenities) {
+        return SpaceDto.builder()
+                .id(id)
+                .name("Space " + id)
+                .type(type)
+                .capacity(capacity)
+                .pricePerHour(new BigDecimal(price))
+                .amenities(amenities)
+                .active(true)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.coworking.spaceservice.service;
+
+import com.coworking.spaceservice.dto.CatalogChange;
+import com.coworking.spaceservice.dto.CatalogChanges;
+import com.coworking.spaceservice.dto.SpaceDto;
+import com.coworking.spaceservice.event.SpaceChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogChangeFeedTest {
+
+    @Mock
+    private SpaceService spaceService;
+
+    private CatalogChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new CatalogChangeFeed(spaceService, Runnable::run, 30_000, 100);
+    }
+
+    @Test
+    void poll_WhenChangesExist_ShouldAnswerImmediately() {
+        // Arrange
+        CatalogChanges changes = changes(5, 6);
+        when(spaceService.getChangeCounter()).thenReturn(6L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes);
+
+        // Act
+        DeferredResult<CatalogChanges> result = feed.poll(5, 10, 30_000);
+
+        // Assert
+        assertSame(changes, result.getResult());
+        assertEquals(0, feed.getWaiting());
+    }
+
+    @Test
+    void poll_WithoutWait_ShouldAnswerEmptyImmediately() {
+        // Arrange
+        when(spaceService.getChangeCounter()).thenReturn(5L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 5));
+
+        // Act
+        DeferredResult<CatalogChanges> result = feed.poll(5, 10, 0);
+
+        // Assert
+        assertTrue(((CatalogChanges) result.getResult()).getChanges().isEmpty());
+        assertEquals(0, feed.getWaiting());
+    }
+
+    @Test
+    void poll_WhenNothingNew_ShouldParkUntilAChangeCommits() {
+        // Arrange
+        when(spaceService.getChangeCounter()).thenReturn(5L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 5), changes(5, 6));
+        DeferredResult<CatalogChanges> result = feed.poll(5, 10, 60_000);
+        assertFalse(result.hasResult());
+        assertEquals(1, feed.getWaiting());
+
+        // Act
+        feed.onSpaceChanged(new SpaceChangedEvent(SpaceDto.builder().id(1L).build()));
+
+        // Assert: the wait is capped at the configured maximum
+        assertEquals(6, ((CatalogChanges) result.getResult()).getVersion());
+        assertEquals(30_000L, result.getTimeoutValue());
+    }
+
+    @Test
+    void poll_WhenChangeCommitsWhileRegistering_ShouldReleaseAtOnce() {
+        // Arrange: the counter moves between the query and the registration
+        when(spaceService.getChangeCounter()).thenReturn(5L, 6L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 5), changes(5, 6));
+
+        // Act
+        DeferredResult<CatalogChanges> result = feed.poll(5, 10, 30_000);
+
+        // Assert
+        assertEquals(6, ((CatalogChanges) result.getResult()).getVersion());
+    }
+
+    @Test
+    void onSpaceChanged_WithWaitersOnSameCursor_ShouldQueryOnce() {
+        // Arrange
+        when(spaceService.getChangeCounter()).thenReturn(5L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 5));
+        when(spaceService.getCatalogChanges(4, 10)).thenReturn(changes(4, 4));
+        DeferredResult<CatalogChanges> first = feed.poll(5, 10, 30_000);
+        DeferredResult<CatalogChanges> second = feed.poll(5, 10, 30_000);
+        DeferredResult<CatalogChanges> other = feed.poll(4, 10, 30_000);
+        when(spaceService.getCatalogChanges(4, 10)).thenReturn(changes(4, 6));
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 6));
+        clearInvocations(spaceService);
+
+        // Act
+        feed.onSpaceChanged(new SpaceChangedEvent(SpaceDto.builder().id(1L).build()));
+
+        // Assert
+        verify(spaceService, times(1)).getCatalogChanges(5, 10);
+        verify(spaceService, times(1)).getCatalogChanges(4, 10);
+        assertTrue(first.hasResult());
+        assertTrue(second.hasResult());
+        assertTrue(other.hasResult());
+    }
+
+    @Test
+    void onSpaceChanged_WhenCursorStillEmpty_ShouldKeepWaiting() {
+        // Arrange: a change the waiter has already seen
+        when(spaceService.getChangeCounter()).thenReturn(5L);
+        when(spaceService.getCatalogChanges(5, 10)).thenReturn(changes(5, 5));
+        DeferredResult<CatalogChanges> result = feed.poll(5, 10, 30_000);
+
+        // Act
+        feed.onSpaceChanged(new SpaceChangedEvent(SpaceDto.builder().id(1L).build()));
+
+        // Assert
+        assertFalse(result.hasResult());
+    }
+
+    @Test
+    void onSpaceChanged_WithoutWaiters_ShouldNotQuery() {
+        // Act
+        feed.onSpaceChanged(new SpaceChangedEvent(SpaceDto.builder().id(1L).build()));
+
+        // Assert
+        verifyNoInteractions(spaceService);
+    }
+
+    @Test
+    void poll_WithLimitAboveBatchSize_ShouldCapIt() {
+        // Arrange
+        when(spaceService.getChangeCounter()).thenReturn(6L);
+        when(spaceService.getCatalogChanges(5, 100)).thenReturn(changes(5, 6));
+
+        // Act
+        feed.poll(5, 5_000, 0);
+
+        // Assert
+        verify(spaceService).getCatalogChanges(5, 100);
+    }
+
+    @Test
+    void poll_WithInvalidCursor_ShouldThrow() {
+        // Arrange
+        when(spaceService.getChangeCounter()).thenReturn(5L);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> feed.poll(-1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> feed.poll(5, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> feed.poll(6, 10, 0));
+    }
+
+    private static CatalogChanges changes(long since, long version) {
+        List<CatalogChange> changes = version > since
+                ? List.of(new CatalogChange(version, 1L, true, null))
+                : List.of();
+        return new CatalogChanges(since, version, false, changes);
+    }
+}
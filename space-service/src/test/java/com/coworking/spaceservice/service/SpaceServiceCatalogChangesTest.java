@@ -0,0 +1,139 @@
+package com.coworking.spaceservice.service;
+
+import com.coworking.spaceservice.dto.CatalogChange;
+import com.coworking.spaceservice.dto.CatalogChanges;
+import com.coworking.spaceservice.mapper.SpaceMapperImpl;
+import com.coworking.spaceservice.model.Space;
+import com.coworking.spaceservice.repository.SpaceRepository;
+import com.coworking.spaceservice.search.SpaceSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Import({SpaceService.class, ChangeCounterService.class, SpaceSearchIndex.class, SpaceMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SpaceServiceCatalogChangesTest {
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        spaceRepository.deleteAll();
+    }
+
+    @Test
+    void getCatalogChanges_WhenMoreThanLimit_ShouldPageInCatalogOrder() {
+        // Arrange
+        spaceRepository.save(space("Desk 3", 3L, true));
+        spaceRepository.save(space("Desk 1", 1L, true));
+        spaceRepository.save(space("Desk 2", 2L, true));
+
+        // Act
+        CatalogChanges first = spaceService.getCatalogChanges(0, 2);
+        CatalogChanges second = spaceService.getCatalogChanges(first.getVersion(), 2);
+        CatalogChanges caughtUp = spaceService.getCatalogChanges(second.getVersion(), 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), versions(first));
+        assertTrue(first.isHasMore());
+        assertEquals(2, first.getVersion());
+        assertEquals(List.of(3L), versions(second));
+        assertFalse(second.isHasMore());
+        assertEquals(3, second.getVersion());
+        assertTrue(caughtUp.getChanges().isEmpty());
+        assertEquals(3, caughtUp.getSince());
+        assertEquals(3, caughtUp.getVersion());
+    }
+
+    @Test
+    void getCatalogChanges_WhenExactlyLimit_ShouldNotReportMore() {
+        // Arrange
+        spaceRepository.save(space("Desk 1", 1L, true));
+        spaceRepository.save(space("Desk 2", 2L, true));
+
+        // Act
+        CatalogChanges changes = spaceService.getCatalogChanges(0, 2);
+
+        // Assert
+        assertEquals(2, changes.getChanges().size());
+        assertFalse(changes.isHasMore());
+    }
+
+    @Test
+    void getCatalogChanges_WithInactiveSpace_ShouldReturnTombstone() {
+        // Arrange
+        Space deleted = spaceRepository.save(space("Desk 1", 1L, false));
+        spaceRepository.save(space("Desk 2", 2L, true));
+
+        // Act
+        List<CatalogChange> changes = spaceService.getCatalogChanges(0, 10).getChanges();
+
+        // Assert
+        assertEquals(deleted.getId(), changes.get(0).getId());
+        assertTrue(changes.get(0).isDeleted());
+        assertNull(changes.get(0).getSpace());
+        assertFalse(changes.get(1).isDeleted());
+        assertEquals("Desk 2", changes.get(1).getSpace().getName());
+    }
+
+    @Test
+    void getCatalogChanges_ShouldLoadAmenitiesWithoutQueryPerSpace() {
+        // Arrange: nothing served from the second-level cache
+        for (long version = 1; version <= 5; version++) {
+            spaceRepository.save(space("Desk " + version, version, true));
+        }
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        CatalogChanges changes = spaceService.getCatalogChanges(0, 10);
+
+        // Assert: the page and one amenities query for all of it
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(5, changes.getChanges().size());
+        changes.getChanges().forEach(change ->
+                assertEquals(Set.of("wifi", "locker"), change.getSpace().getAmenities()));
+    }
+
+    private static List<Long> versions(CatalogChanges changes) {
+        return changes.getChanges().stream().map(CatalogChange::getCatalogVersion).toList();
+    }
+
+    private static Space space(String name, Long catalogVersion, boolean active) {
+        return Space.builder()
+                .name(name)
+                .capacity(1)
+                .type(Space.SpaceType.DESK)
+                .amenities(new HashSet<>(Set.of("wifi", "locker")))
+                .openingTime(LocalTime.of(8, 0))
+                .closingTime(LocalTime.of(20, 0))
+                .pricePerHour(new BigDecimal("10.00"))
+                .catalogVersion(catalogVersion)
+                .active(active)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.coworking.userservice.config;
+
+import com.coworking.userservice.repository.UserRepository;
+import com.coworking.userservice.service.EmailBloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EmailFilterConfig {
+    
+    @Bean
+    public EmailBloomFilter emailBloomFilter(
+            UserRepository userRepository,
+            @Value("${coworking.users.email-filter.expected-insertions:100000}") long expectedInsertions,
+            @Value("${coworking.users.email-filter.fpp:0.01}") double fpp,
+            MeterRegistry meterRegistry) {
+        return new EmailBloomFilter(userRepository, expectedInsertions, fpp, meterRegistry);
+    }
+}
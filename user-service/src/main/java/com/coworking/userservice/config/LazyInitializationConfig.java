@@ -0,0 +1,22 @@
+package com.coworking.userservice.config;
+
+import com.coworking.userservice.observability.WarmupHealthIndicator;
+import com.coworking.userservice.service.ChangeCounterService;
+import com.coworking.userservice.service.EmailBloomFilter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager under the "lazy" profile: the warmup health check
+ * waits for them, and the change counter rows are created on startup.
+ */
+@Configuration
+public class LazyInitializationConfig {
+    
+    @Bean
+    public static LazyInitializationExcludeFilter warmupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(WarmupHealthIndicator.class, EmailBloomFilter.class,
+                ChangeCounterService.class);
+    }
+}
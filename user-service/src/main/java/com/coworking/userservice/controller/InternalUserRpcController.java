@@ -0,0 +1,37 @@
+package com.coworking.userservice.controller;
+
+import com.coworking.userservice.rpc.UserRpcCodec;
+import com.coworking.userservice.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Binary lookups for other services, advertised through the Eureka
+ * instance metadata. Not routed by the gateway.
+ */
+@RestController
+@RequestMapping("/internal/rpc/users")
+@RequiredArgsConstructor
+public class InternalUserRpcController {
+    
+    private static final int MAX_BATCH_SIZE = 1000;
+    
+    private final UserService userService;
+    
+    @GetMapping(value = "/{id}", produces = UserRpcCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getUser(@PathVariable Long id) {
+        return ResponseEntity.ok(UserRpcCodec.encodeUser(userService.getUserById(id)));
+    }
+    
+    @PostMapping(value = "/batch", consumes = UserRpcCodec.MEDIA_TYPE, produces = UserRpcCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getUsers(@RequestBody byte[] request) {
+        List<Long> ids = UserRpcCodec.decodeIds(request);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+        return ResponseEntity.ok(UserRpcCodec.encodeUsers(userService.getUsersByIds(ids)));
+    }
+}
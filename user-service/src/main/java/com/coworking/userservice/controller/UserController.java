@@ -1,31 +1,65 @@
 package com.coworking.userservice.controller;
 
+import com.coworking.common.web.FieldSelection;
 import com.coworking.userservice.dto.CreateUserRequest;
 import com.coworking.userservice.dto.UserDto;
+import com.coworking.userservice.dto.UserImportResult;
+import com.coworking.userservice.dto.UserImportSummary;
+import com.coworking.userservice.service.UserImportService;
 import com.coworking.userservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
     
+    private static final String TEXT_CSV = "text/csv";
+    
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
     
+    // Read endpoints take ?fields=id,name,... and return only those fields
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, UserDto.class);
+        String eTag = ETags.forFields(
+                ETags.forCollection(UserService.CHANGE_COUNTER, userService.getChangeCounter()), selection);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(selection.apply(userService.getAllUsers(), objectMapper));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, UserDto.class);
+        UserDto user = userService.getUserById(id);
+        String eTag = ETags.forFields(ETags.forVersion(user.getVersion()), selection);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(selection.apply(user, objectMapper));
     }
     
     @PostMapping
@@ -33,6 +67,39 @@ public class UserController {
         return new ResponseEntity<>(userService.createUser(createUserRequest), HttpStatus.CREATED);
     }
     
+    /**
+     * Streams CSV (with an email,name header) or NDJSON rows in and one NDJSON
+     * result per row out, followed by a summary line.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.valueOf(TEXT_CSV))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+        
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        
+        UserImportSummary summary = userImportService.importUsers(reader, format, results -> {
+            try {
+                for (UserImportResult result : results) {
+                    writeLine(writer, result);
+                }
+                writer.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writeLine(writer, summary);
+        writer.flush();
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(@PathVariable Long id, 
                                              @Valid @RequestBody CreateUserRequest updateUserRequest) {
@@ -44,5 +111,10 @@ public class UserController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+    
+    private void writeLine(BufferedWriter writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
 }
 
@@ -1,15 +1,21 @@
 package com.coworking.userservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserDto {
     private Long id;
     private String email;
     private String name;
+    
+    @JsonIgnore
+    private Long version;
 }
 
@@ -0,0 +1,16 @@
+package com.coworking.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportSummary {
+    private long rows;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+}
@@ -12,6 +12,7 @@ public interface UserMapper {
     UserDto toDto(User user);
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User toEntity(CreateUserRequest createUserRequest);
 }
 
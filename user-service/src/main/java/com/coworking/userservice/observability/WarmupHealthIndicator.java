@@ -0,0 +1,27 @@
+package com.coworking.userservice.observability;
+
+import com.coworking.userservice.service.EmailBloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE until the email filter is built, so neither the
+ * readiness probe nor Eureka send traffic that would take the database
+ * path for every email check.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+    
+    private final EmailBloomFilter emailBloomFilter;
+    
+    @Override
+    public Health health() {
+        boolean ready = emailBloomFilter.isReady();
+        return (ready ? Health.up() : Health.outOfService())
+                .withDetail("emailFilter", ready ? "ready" : "loading")
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.coworking.userservice.repository;
+
+import com.coworking.userservice.model.ChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeCounterRepository extends JpaRepository<ChangeCounter, String> {
+    
+    @Modifying
+    @Query("UPDATE ChangeCounter c SET c.value = c.value + 1 WHERE c.name = :name")
+    int increment(@Param("name") String name);
+    
+    @Query("SELECT c.value FROM ChangeCounter c WHERE c.name = :name")
+    Optional<Long> findValueByName(@Param("name") String name);
+}
@@ -0,0 +1,58 @@
+package com.coworking.userservice.rpc;
+
+import com.coworking.common.rpc.ProtoReader;
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.userservice.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocol buffers encoding of the internal user lookups.
+ * <pre>
+ * message IdList { repeated int64 ids = 1 [packed = true]; }
+ * message UserSummary {
+ *   int64 id = 1;
+ *   string name = 2;
+ *   string email = 3;
+ * }
+ * message UserSummaries { repeated UserSummary users = 1; }
+ * </pre>
+ */
+public final class UserRpcCodec {
+    
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+    
+    private UserRpcCodec() {
+    }
+    
+    public static byte[] encodeUser(UserDto user) {
+        return summary(user).toByteArray();
+    }
+    
+    public static byte[] encodeUsers(List<UserDto> users) {
+        ProtoWriter writer = new ProtoWriter(users.size() * 48 + 16);
+        users.forEach(user -> writer.writeMessage(1, summary(user)));
+        return writer.toByteArray();
+    }
+    
+    public static List<Long> decodeIds(byte[] data) {
+        List<Long> ids = new ArrayList<>();
+        ProtoReader reader = new ProtoReader(data);
+        while (reader.hasNext()) {
+            if (reader.nextField() == 1) {
+                reader.readInt64s(ids);
+            } else {
+                reader.skip();
+            }
+        }
+        return ids;
+    }
+    
+    private static ProtoWriter summary(UserDto user) {
+        return new ProtoWriter()
+                .writeInt64(1, user.getId())
+                .writeString(2, user.getName())
+                .writeString(3, user.getEmail());
+    }
+}
@@ -0,0 +1,180 @@
+package com.coworking.userservice.service;
+
+import com.coworking.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over the registered emails. A negative answer means the email
+ * is definitely unused and the uniqueness query can be skipped; a positive one
+ * still has to be confirmed against the database. Deleted users are never
+ * removed, they only raise the false-positive rate until the next rebuild.
+ * <p>
+ * The filter only ever shortcuts the lookup: the unique index on
+ * {@code users.email} remains the authority for concurrent registrations.
+ */
+@Slf4j
+public class EmailBloomFilter {
+    
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double targetFpp;
+    
+    private final Counter negatives;
+    private final Counter truePositives;
+    private final Counter falsePositives;
+    
+    private volatile Bits bits;
+    private volatile Bits building;
+    private volatile boolean ready;
+    
+    public EmailBloomFilter(UserRepository userRepository, long expectedInsertions, double targetFpp,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.targetFpp = targetFpp;
+        this.bits = new Bits(expectedInsertions, targetFpp);
+        
+        this.negatives = lookups(meterRegistry, "negative");
+        this.truePositives = lookups(meterRegistry, "true_positive");
+        this.falsePositives = lookups(meterRegistry, "false_positive");
+        Gauge.builder("users.email_filter.expected_fpp", this, filter -> filter.bits.expectedFpp())
+                .description("False-positive rate predicted from the filter's fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("users.email_filter.observed_fpp", this, EmailBloomFilter::observedFpp)
+                .description("Share of unused emails the filter could not rule out")
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long count = userRepository.count();
+        // Leave room for growth so the filter stays near its target rate
+        Bits fresh = new Bits(Math.max(expectedInsertions, count * 2), targetFpp);
+        building = fresh;
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(fresh::put);
+        }
+        bits = fresh;
+        building = null;
+        ready = true;
+        log.info("Email filter built from {} users in {} ms ({} bits, {} hashes)",
+                count, (System.nanoTime() - start) / 1_000_000, fresh.size, fresh.hashes);
+    }
+    
+    public boolean mightContain(String email) {
+        if (!ready) {
+            return true;
+        }
+        boolean mightContain = bits.mightContain(email);
+        if (!mightContain) {
+            negatives.increment();
+        }
+        return mightContain;
+    }
+    
+    public void recordConfirmed(boolean exists) {
+        if (ready) {
+            (exists ? truePositives : falsePositives).increment();
+        }
+    }
+    
+    public void put(String email) {
+        bits.put(email);
+        Bits next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    private double observedFpp() {
+        double unused = falsePositives.count() + negatives.count();
+        return unused == 0 ? 0.0 : falsePositives.count() / unused;
+    }
+    
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.email_filter.lookups")
+                .description("Email uniqueness checks by filter outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private static final class Bits {
+        
+        private final long size;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final LongAdder bitCount = new LongAdder();
+        
+        private Bits(long expectedInsertions, double fpp) {
+            long n = Math.max(expectedInsertions, 1);
+            this.size = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact((size + 63) / 64));
+        }
+        
+        private void put(String email) {
+            long h1 = hash(email);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, size);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                if ((words.getAndAccumulate(word, mask, (current, bit) -> current | bit) & mask) == 0) {
+                    bitCount.increment();
+                }
+            }
+        }
+        
+        private boolean mightContain(String email) {
+            long h1 = hash(email);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, size);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private double expectedFpp() {
+            return Math.pow((double) bitCount.sum() / size, hashes);
+        }
+        
+        // FNV-1a over the UTF-8 bytes, finished with the murmur3 mixer
+        private static long hash(String email) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
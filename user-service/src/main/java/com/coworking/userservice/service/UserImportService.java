@@ -0,0 +1,283 @@
+package com.coworking.userservice.service;
+
+import com.coworking.userservice.dto.CreateUserRequest;
+import com.coworking.userservice.dto.UserImportResult;
+import com.coworking.userservice.dto.UserImportSummary;
+import com.coworking.userservice.mapper.UserMapper;
+import com.coworking.userservice.model.User;
+import com.coworking.userservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. Rows are read one line at a time and handled in chunks:
+ * each chunk costs one lookup for already registered emails and one batched
+ * insert in its own transaction, and its results are handed to the caller
+ * before the next chunk is read, so memory does not grow with the input.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+    
+    static final int CHUNK_SIZE = 500;
+    
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ChangeCounterService changeCounterService;
+    private final EmailBloomFilter emailBloomFilter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+    
+    public UserImportSummary importUsers(BufferedReader reader, Format format,
+                                         Consumer<List<UserImportResult>> chunkListener) throws IOException {
+        long start = System.nanoTime();
+        UserImportSummary summary = new UserImportSummary();
+        CsvColumns columns = null;
+        Chunk chunk = new Chunk();
+        long lineNumber = 0;
+        
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = CsvColumns.fromHeader(line);
+                continue;
+            }
+            
+            try {
+                chunk.add(lineNumber, format == Format.CSV ? columns.parse(line) : parseJson(line));
+            } catch (IllegalArgumentException ex) {
+                chunk.reject(lineNumber, ex.getMessage());
+            }
+            if (chunk.isFull()) {
+                complete(chunk, summary, chunkListener);
+                chunk = new Chunk();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            complete(chunk, summary, chunkListener);
+        }
+        
+        log.info("Imported {} of {} rows in {} ms", summary.getCreated(), summary.getRows(),
+                (System.nanoTime() - start) / 1_000_000);
+        return summary;
+    }
+    
+    private void complete(Chunk chunk, UserImportSummary summary, Consumer<List<UserImportResult>> chunkListener) {
+        if (!chunk.pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk.pending, true));
+            } catch (DataAccessException ex) {
+                // Typically a concurrent registration took one of the emails
+                // after the lookup, or it was written past the email filter;
+                // the retry looks up every email and reports a duplicate
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(chunk.pending, false));
+                } catch (DataAccessException retryEx) {
+                    log.warn("Import chunk failed: {}", retryEx.getMessage());
+                    chunk.pending.stream()
+                            .map(PendingRow::result)
+                            .filter(result -> result.getStatus() != UserImportResult.Status.DUPLICATE)
+                            .forEach(result -> {
+                                result.setStatus(UserImportResult.Status.FAILED);
+                                result.setId(null);
+                                result.setMessage("Could not be stored, retry the row");
+                            });
+                }
+            }
+        }
+        
+        for (UserImportResult result : chunk.results) {
+            summary.setRows(summary.getRows() + 1);
+            switch (result.getStatus()) {
+                case CREATED -> summary.setCreated(summary.getCreated() + 1);
+                case DUPLICATE -> summary.setDuplicates(summary.getDuplicates() + 1);
+                case INVALID -> summary.setInvalid(summary.getInvalid() + 1);
+                case FAILED -> summary.setFailed(summary.getFailed() + 1);
+            }
+        }
+        chunkListener.accept(chunk.results);
+    }
+    
+    private void insert(List<PendingRow> rows, boolean useFilter) {
+        // Imported users would only push hot entries out of the entity cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        
+        List<String> candidates = rows.stream()
+                .map(row -> row.request().getEmail())
+                .filter(email -> !useFilter || emailBloomFilter.mightContain(email))
+                .toList();
+        Set<String> existing = candidates.isEmpty() ? Set.of() : userRepository.findExistingEmails(candidates);
+        if (useFilter) {
+            candidates.forEach(email -> emailBloomFilter.recordConfirmed(existing.contains(email)));
+        } else {
+            existing.forEach(emailBloomFilter::put);
+        }
+        
+        List<User> users = new ArrayList<>(rows.size());
+        List<PendingRow> inserted = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            if (existing.contains(row.request().getEmail())) {
+                row.result().setStatus(UserImportResult.Status.DUPLICATE);
+                row.result().setMessage("Email already exists");
+            } else {
+                users.add(userMapper.toEntity(row.request()));
+                inserted.add(row);
+            }
+        }
+        
+        if (!users.isEmpty()) {
+            users.forEach(user -> emailBloomFilter.put(user.getEmail()));
+            userRepository.saveAllAndFlush(users);
+            changeCounterService.increment(UserService.CHANGE_COUNTER);
+            for (int i = 0; i < users.size(); i++) {
+                UserImportResult result = inserted.get(i).result();
+                result.setStatus(UserImportResult.Status.CREATED);
+                result.setId(users.get(i).getId());
+                result.setMessage(null);
+            }
+        }
+        entityManager.clear();
+    }
+    
+    private CreateUserRequest parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateUserRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+    }
+    
+    private String validate(CreateUserRequest request) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private record PendingRow(CreateUserRequest request, UserImportResult result) {
+    }
+    
+    private final class Chunk {
+        
+        private final List<UserImportResult> results = new ArrayList<>(CHUNK_SIZE);
+        private final List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+        private final Set<String> emails = new HashSet<>();
+        
+        private void add(long row, CreateUserRequest request) {
+            UserImportResult result = new UserImportResult(row, request.getEmail(), null, null, null);
+            results.add(result);
+            
+            String error = validate(request);
+            if (error != null) {
+                result.setStatus(UserImportResult.Status.INVALID);
+                result.setMessage(error);
+            } else if (!emails.add(request.getEmail())) {
+                result.setStatus(UserImportResult.Status.DUPLICATE);
+                result.setMessage("Email appears earlier in the import");
+            } else {
+                pending.add(new PendingRow(request, result));
+            }
+        }
+        
+        private void reject(long row, String message) {
+            results.add(new UserImportResult(row, null, UserImportResult.Status.INVALID, null, message));
+        }
+        
+        private boolean isFull() {
+            return results.size() >= CHUNK_SIZE;
+        }
+        
+        private boolean isEmpty() {
+            return results.isEmpty();
+        }
+    }
+    
+    private record CsvColumns(int email, int name) {
+        
+        private static CsvColumns fromHeader(String header) {
+            List<String> columns = split(header).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            if (!columns.contains("email") || !columns.contains("name")) {
+                throw new IllegalArgumentException("CSV header must contain email and name columns");
+            }
+            return new CsvColumns(columns.indexOf("email"), columns.indexOf("name"));
+        }
+        
+        private CreateUserRequest parse(String line) {
+            List<String> fields = split(line);
+            if (fields.size() <= Math.max(email, name)) {
+                throw new IllegalArgumentException("Expected at least " + (Math.max(email, name) + 1) + " columns");
+            }
+            return new CreateUserRequest(fields.get(email).trim(), fields.get(name).trim());
+        }
+        
+        // RFC 4180 fields on a single line: quoted fields may contain commas and "" escapes
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -7,19 +7,33 @@ import com.coworking.userservice.exception.UserNotFoundException;
 import com.coworking.userservice.mapper.UserMapper;
 import com.coworking.userservice.model.User;
 import com.coworking.userservice.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "user.service")
 public class UserService {
     
+    public static final String CHANGE_COUNTER = "users";
+    
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ChangeCounterService changeCounterService;
+    private final EmailBloomFilter emailBloomFilter;
+    
+    public long getChangeCounter() {
+        return changeCounterService.current(CHANGE_COUNTER);
+    }
     
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
@@ -36,14 +50,23 @@ public class UserService {
         return userMapper.toDto(user);
     }
     
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids)
+                .stream()
+                .map(userMapper::toDto)
+                .collect(Collectors.toList());
+    }
+    
     @Transactional
     public UserDto createUser(CreateUserRequest createUserRequest) {
-        if (userRepository.existsByEmail(createUserRequest.getEmail())) {
+        if (emailExists(createUserRequest.getEmail())) {
             throw new EmailAlreadyExistsException("Email already exists: " + createUserRequest.getEmail());
         }
         
         User user = userMapper.toEntity(createUserRequest);
-        User savedUser = userRepository.save(user);
+        User savedUser = saveUser(user);
+        changeCounterService.increment(CHANGE_COUNTER);
         return userMapper.toDto(savedUser);
     }
     
@@ -54,14 +77,15 @@ public class UserService {
         
         // Check if email is being changed and if it already exists
         if (!user.getEmail().equals(updateUserRequest.getEmail()) && 
-                userRepository.existsByEmail(updateUserRequest.getEmail())) {
+                emailExists(updateUserRequest.getEmail())) {
             throw new EmailAlreadyExistsException("Email already exists: " + updateUserRequest.getEmail());
         }
         
         user.setEmail(updateUserRequest.getEmail());
         user.setName(updateUserRequest.getName());
         
-        User updatedUser = userRepository.save(user);
+        User updatedUser = saveUser(user);
+        changeCounterService.increment(CHANGE_COUNTER);
         return userMapper.toDto(updatedUser);
     }
     
@@ -71,6 +95,35 @@ public class UserService {
             throw new UserNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        changeCounterService.increment(CHANGE_COUNTER);
+    }
+    
+    private boolean emailExists(String email) {
+        // A filter miss means the email was never registered
+        if (!emailBloomFilter.mightContain(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        emailBloomFilter.recordConfirmed(exists);
+        return exists;
+    }
+    
+    private User saveUser(User user) {
+        emailBloomFilter.put(user.getEmail());
+        try {
+            // Flush so a registration racing past the check hits the unique index here
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateEmail(ex)) {
+                throw new EmailAlreadyExistsException("Email already exists: " + user.getEmail());
+            }
+            throw ex;
+        }
+    }
+    
+    private static boolean isDuplicateEmail(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
     }
 }
-
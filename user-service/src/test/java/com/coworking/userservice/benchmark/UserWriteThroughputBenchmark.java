@@ -0,0 +1,88 @@
+package com.coworking.userservice.benchmark;
+
+import com.coworking.userservice.model.User;
+import com.coworking.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write throughput of the file-backed "prod" storage profile.
+ * Run with {@code ./gradlew benchmark}; row count can be changed with -Dbenchmark.rows.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "STORAGE_DIR=${java.io.tmpdir}/coworking-benchmark/${random.uuid}"
+})
+@ActiveProfiles("prod")
+@Tag("benchmark")
+public class UserWriteThroughputBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        insertChunked(1_000);
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void chunkedBatchInserts() {
+        long start = System.nanoTime();
+        insertChunked(ROWS);
+        report("chunked batch inserts (" + CHUNK_SIZE + " rows/tx)", ROWS, System.nanoTime() - start);
+    }
+
+    @Test
+    void singleRowTransactions() {
+        int rows = ROWS / 10;
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            userRepository.save(newUser());
+        }
+        report("single-row transactions", rows, System.nanoTime() - start);
+    }
+
+    private void insertChunked(int rows) {
+        for (int offset = 0; offset < rows; offset += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, rows - offset);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> chunk = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    chunk.add(newUser());
+                }
+                userRepository.saveAll(chunk);
+            });
+        }
+    }
+
+    private User newUser() {
+        String id = UUID.randomUUID().toString();
+        return User.builder()
+                .email(id + "@benchmark.example.com")
+                .name("Benchmark " + id)
+                .build();
+    }
+
+    private void report(String scenario, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[benchmark] %s: %d rows in %.2f s -> %.0f rows/s%n",
+                scenario, rows, seconds, rows / seconds);
+    }
+}
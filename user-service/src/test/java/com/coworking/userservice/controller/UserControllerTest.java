@@ -4,6 +4,7 @@ import com.coworking.userservice.dto.CreateUserRequest;
 import com.coworking.userservice.dto.UserDto;
 import com.coworking.userservice.exception.EmailAlreadyExistsException;
 import com.coworking.userservice.exception.UserNotFoundException;
+import com.coworking.userservice.service.UserImportService;
 import com.coworking.userservice.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,11 +21,16 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +46,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserImportService userImportService;
+
     private UserDto userDto;
     private CreateUserRequest createUserRequest;
 
@@ -86,6 +96,57 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.name", is("Test User")));
     }
 
+    @Test
+    void getUserById_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        // Arrange
+        userDto.setVersion(3L);
+        when(userService.getUserById(1L)).thenReturn(userDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/1")
+                .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.name", is("Test User")))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, not("\"v3\"")));
+    }
+
+    @Test
+    void getAllUsers_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                .param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void getUserById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        userDto.setVersion(3L);
+        when(userService.getUserById(1L)).thenReturn(userDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllUsers_WithCurrentCollectionETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(userService.getChangeCounter()).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"users-7\""))
+                .andExpect(status().isNotModified());
+        verify(userService, never()).getAllUsers();
+    }
+
     @Test
     void getUserById_WhenUserDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Arrange
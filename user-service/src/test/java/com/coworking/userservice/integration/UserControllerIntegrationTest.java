@@ -14,9 +14,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -116,5 +119,34 @@ public class UserControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    void importUsers() throws Exception {
+        User existing = new User();
+        existing.setEmail("existing@example.com");
+        existing.setName("Existing");
+        userRepository.save(existing);
+
+        String csv = """
+                email,name
+                first@example.com,First
+                existing@example.com,Existing Again
+                not-an-email,Broken
+                first@example.com,First Again
+                "second@example.com","Second, Jr."
+                """;
+
+        mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"row\":2,\"email\":\"first@example.com\",\"status\":\"CREATED\"")))
+                .andExpect(content().string(containsString("\"row\":3,\"email\":\"existing@example.com\",\"status\":\"DUPLICATE\"")))
+                .andExpect(content().string(containsString("\"row\":4,\"email\":\"not-an-email\",\"status\":\"INVALID\"")))
+                .andExpect(content().string(containsString("\"row\":5,\"email\":\"first@example.com\",\"status\":\"DUPLICATE\"")))
+                .andExpect(content().string(containsString("{\"rows\":5,\"created\":2,\"duplicates\":2,\"invalid\":1,\"failed\":0}")));
+
+        assertEquals("Second, Jr.", userRepository.findByEmail("second@example.com").orElseThrow().getName());
+        assertEquals(3, userRepository.count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.coworking.userservice.rpc;
+
+import com.coworking.common.rpc.ProtoReader;
+import com.coworking.common.rpc.ProtoWriter;
+import com.coworking.userservice.dto.UserDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRpcCodecTest {
+
+    @Test
+    void encodeUser_ShouldWriteTheSummarySchema() {
+        // Arrange
+        UserDto user = UserDto.builder().id(3L).name("Test User").email("test@example.com").version(4L).build();
+
+        // Act
+        UserDto decoded = decodeUser(new ProtoReader(UserRpcCodec.encodeUser(user)));
+
+        // Assert
+        assertEquals(3L, decoded.getId());
+        assertEquals("Test User", decoded.getName());
+        assertEquals("test@example.com", decoded.getEmail());
+        assertNull(decoded.getVersion());
+    }
+
+    @Test
+    void encodeUsers_ShouldWriteOneRepeatedMessagePerUser() {
+        // Arrange
+        List<UserDto> users = List.of(
+                UserDto.builder().id(3L).name("Test User").email("test@example.com").build(),
+                UserDto.builder().id(5L).name("Other User").email("other@example.com").build());
+
+        // Act
+        List<UserDto> decoded = new ArrayList<>();
+        ProtoReader reader = new ProtoReader(UserRpcCodec.encodeUsers(users));
+        while (reader.hasNext()) {
+            assertEquals(1, reader.nextField());
+            decoded.add(decodeUser(reader.readMessage()));
+        }
+
+        // Assert
+        assertEquals(users, decoded);
+    }
+
+    @Test
+    void decodeIds_ShouldReadPackedAndUnpackedIds() {
+        // Arrange
+        byte[] data = new ProtoWriter()
+                .writePackedInt64(1, List.of(3L, 5L))
+                .writeInt64(1, 8)
+                .toByteArray();
+
+        // Act & Assert
+        assertEquals(List.of(3L, 5L, 8L), UserRpcCodec.decodeIds(data));
+    }
+
+    @Test
+    void decodeIds_ShouldSkipUnknownFields() {
+        // Arrange
+        byte[] data = new ProtoWriter()
+                .writeString(2, "added later")
+                .writePackedInt64(1, List.of(3L))
+                .toByteArray();
+
+        // Act & Assert
+        assertEquals(List.of(3L), UserRpcCodec.decodeIds(data));
+    }
+
+    @Test
+    void decodeIds_WithMalformedBody_ShouldThrowIllegalArgument() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> UserRpcCodec.decodeIds(new byte[] {0x0A, (byte) 0x80}));
+    }
+
+    // The decoding side lives in reservation-service's DirectoryRpcCodec
+    private static UserDto decodeUser(ProtoReader reader) {
+        UserDto user = new UserDto();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case 1 -> user.setId(reader.readInt64());
+                case 2 -> user.setName(reader.readString());
+                case 3 -> user.setEmail(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return user;
+    }
+}
@@ -7,13 +7,16 @@ import com.coworking.userservice.exception.UserNotFoundException;
 import com.coworking.userservice.mapper.UserMapper;
 import com.coworking.userservice.model.User;
 import com.coworking.userservice.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +34,12 @@ public class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ChangeCounterService changeCounterService;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
     @InjectMocks
     private UserService userService;
 
@@ -101,9 +110,10 @@ public class UserServiceTest {
     @Test
     void createUser_WhenEmailDoesNotExist_ShouldCreateUser() {
         // Arrange
+        when(emailBloomFilter.mightContain(createUserRequest.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(createUserRequest.getEmail())).thenReturn(false);
         when(userMapper.toEntity(createUserRequest)).thenReturn(user);
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(userDto);
 
         // Act
@@ -112,25 +122,60 @@ public class UserServiceTest {
         // Assert
         assertEquals(userDto, result);
         verify(userRepository).existsByEmail(createUserRequest.getEmail());
-        verify(userRepository).save(user);
+        verify(emailBloomFilter).recordConfirmed(false);
+        verify(emailBloomFilter).put(user.getEmail());
+        verify(userRepository).saveAndFlush(user);
+        verify(changeCounterService).increment(UserService.CHANGE_COUNTER);
+    }
+
+    @Test
+    void createUser_WhenFilterRulesOutEmail_ShouldSkipLookup() {
+        // Arrange
+        when(emailBloomFilter.mightContain(createUserRequest.getEmail())).thenReturn(false);
+        when(userMapper.toEntity(createUserRequest)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+        when(userMapper.toDto(user)).thenReturn(userDto);
+
+        // Act
+        UserDto result = userService.createUser(createUserRequest);
+
+        // Assert
+        assertEquals(userDto, result);
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository).saveAndFlush(user);
     }
 
     @Test
     void createUser_WhenEmailExists_ShouldThrowException() {
         // Arrange
+        when(emailBloomFilter.mightContain(createUserRequest.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(createUserRequest.getEmail())).thenReturn(true);
 
         // Act & Assert
         assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(createUserRequest));
         verify(userRepository).existsByEmail(createUserRequest.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        verify(emailBloomFilter).recordConfirmed(true);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void createUser_WhenUniqueIndexRejectsEmail_ShouldThrowException() {
+        // Arrange
+        when(emailBloomFilter.mightContain(createUserRequest.getEmail())).thenReturn(false);
+        when(userMapper.toEntity(createUserRequest)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.UK_USERS_EMAIL")));
+
+        // Act & Assert
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(createUserRequest));
+        verify(changeCounterService, never()).increment(any());
     }
 
     @Test
     void updateUser_WhenUserExistsAndEmailNotChanged_ShouldUpdateUser() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(userDto);
 
         // Act
@@ -139,7 +184,8 @@ public class UserServiceTest {
         // Assert
         assertEquals(userDto, result);
         verify(userRepository).findById(1L);
-        verify(userRepository).save(user);
+        verify(emailBloomFilter, never()).mightContain(any());
+        verify(userRepository).saveAndFlush(user);
     }
 
     @Test
@@ -150,7 +196,7 @@ public class UserServiceTest {
         // Act & Assert
         assertThrows(UserNotFoundException.class, () -> userService.updateUser(1L, createUserRequest));
         verify(userRepository).findById(1L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -164,6 +210,7 @@ public class UserServiceTest {
         // Assert
         verify(userRepository).existsById(1L);
         verify(userRepository).deleteById(1L);
+        verify(changeCounterService).increment(UserService.CHANGE_COUNTER);
     }
 
     @Test